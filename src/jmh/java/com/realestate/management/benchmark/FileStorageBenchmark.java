@@ -0,0 +1,77 @@
+package com.realestate.management.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.realestate.management.service.FileStorageService;
+
+/**
+ * Upload storage of {@code size}-byte images, either all distinct ({@code unique}) or the
+ * same bytes every time ({@code duplicate}, which content-addressed storage deduplicates).
+ * Compare storage layouts with {@code -p storageMode=content-addressed,uuid}. Stored files
+ * are removed after every iteration so long runs do not fill the disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FileStorageBenchmark {
+
+    @Param({ "unique", "duplicate" })
+    public String content;
+
+    @Param("65536")
+    public int size;
+
+    private FileStorageService fileStorageService;
+    private Path uploadDir;
+    private byte[] image;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        fileStorageService = app.bean(FileStorageService.class);
+        uploadDir = app.uploadDir;
+        image = new byte[size];
+        new SplittableRandom(42).nextBytes(image);
+    }
+
+    @Benchmark
+    public String storeFile() {
+        if (content.equals("unique")) {
+            long n = ++counter;
+            for (int i = 0; i < Long.BYTES; i++) {
+                image[i] = (byte) (n >>> (8 * i));
+            }
+        }
+        return fileStorageService.storeFile(new MockMultipartFile("file", "photo.jpg", "image/jpeg", image));
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeStoredFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            files.filter(Files::isRegularFile).forEach(path -> path.toFile().delete());
+        }
+    }
+}
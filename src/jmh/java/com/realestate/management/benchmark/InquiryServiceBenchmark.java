@@ -0,0 +1,50 @@
+package com.realestate.management.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.realestate.management.entity.Inquiry;
+import com.realestate.management.service.InquiryService;
+
+/**
+ * One committed inquiry per invocation from a random customer on a random property,
+ * including the after-commit statistics updates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class InquiryServiceBenchmark {
+
+    private InquiryService inquiryService;
+    private long[] propertyIds;
+    private long[] customerIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        inquiryService = app.bean(InquiryService.class);
+        propertyIds = app.propertyIds;
+        customerIds = app.customerIds;
+    }
+
+    @Benchmark
+    public Inquiry createInquiry() {
+        return inquiryService.createInquiry(customerIds[random.nextInt(customerIds.length)],
+                propertyIds[random.nextInt(propertyIds.length)], "Is this property still available?");
+    }
+}
@@ -0,0 +1,161 @@
+package com.realestate.management.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.realestate.management.service.LocationIndex;
+
+/**
+ * Location search paths over {@code rows} listings in an in-memory H2 database in MySQL
+ * mode, without the application: the original {@code location LIKE %:location%} scan
+ * versus a {@link LocationIndex} lookup followed by a primary-key IN-list, both returning
+ * one page, and the index's match count. Fragments range from common cities and a suffix
+ * many locations share to rare districts near the tail and a fragment nothing matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LocationSearchBenchmark {
+
+    private static final int PAGE_SIZE = 13;
+
+    @Param({ "100000", "1000000" })
+    public int rows;
+
+    @Param({ "austin", "beach", ", ca", "ville", "district 377", "nowhere" })
+    public String fragment;
+
+    private Connection connection;
+    private LocationIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:location-bench;MODE=MySQL;IGNORECASE=TRUE", "sa", "");
+        index = new LocationIndex();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE properties");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int likePage() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT id, location, type, price FROM properties WHERE location LIKE ? ORDER BY id LIMIT ?")) {
+            query.setString(1, "%" + fragment + "%");
+            query.setInt(2, PAGE_SIZE);
+            return drain(query);
+        }
+    }
+
+    @Benchmark
+    public int indexedPage() throws SQLException {
+        long[] candidates = index.idsAfter(fragment, 0L, PAGE_SIZE);
+        int n = candidates.length;
+        if (n == 0) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("SELECT id, location, type, price FROM properties WHERE id IN (");
+        for (int i = 0; i < n; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        sql.append(") ORDER BY id LIMIT ?");
+        try (PreparedStatement query = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < n; i++) {
+                query.setLong(i + 1, candidates[i]);
+            }
+            query.setInt(n + 1, PAGE_SIZE);
+            return drain(query);
+        }
+    }
+
+    @Benchmark
+    public int indexedCount() {
+        return index.count(fragment);
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private void seed() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE properties (id BIGINT PRIMARY KEY, location VARCHAR(255) NOT NULL, "
+                    + "type VARCHAR(255) NOT NULL, price DOUBLE NOT NULL)");
+        }
+
+        String[] cities = cities();
+        String[] types = { "House", "Apartment", "Villa", "Commercial", "Land" };
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO properties (id, location, type, price) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                // Skewed: a few cities hold most listings.
+                int city = (int) Math.min(cities.length - 1, Math.abs(random.nextGaussian()) * cities.length / 4);
+                String location = cities[city];
+                insert.setLong(1, id);
+                insert.setString(2, location);
+                insert.setString(3, types[random.nextInt(types.length)]);
+                insert.setDouble(4, 50_000 + random.nextInt(5_000_000));
+                insert.addBatch();
+                index.put((long) id, location);
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        index.markWarm();
+    }
+
+    private static int drain(PreparedStatement query) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String[] cities() {
+        String[] base = { "Austin, TX", "New York, NY", "Miami, FL", "Seattle, WA", "Denver, CO", "Boston, MA",
+                "Chicago, IL", "Phoenix, AZ", "San Francisco, CA", "Beverly Hills, CA", "Long Beach, CA",
+                "Nashville, TN", "Jacksonville, FL", "Louisville, KY", "Portland, OR", "Atlanta, GA" };
+        String[] cities = new String[400];
+        for (int i = 0; i < cities.length; i++) {
+            cities[i] = i < base.length ? base[i] : "District " + i + ", " + base[i % base.length];
+        }
+        return cities;
+    }
+}
@@ -0,0 +1,61 @@
+package com.realestate.management.benchmark;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Anonymous requests for the public listing page, through the security filter chain,
+ * controller and Thymeleaf rendering of {@code public/properties}, without the network.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PropertyPageRenderBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) app.context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Benchmark
+    public String firstPage() throws Exception {
+        return render("/properties");
+    }
+
+    @Benchmark
+    public String locationSearchPage() throws Exception {
+        return render("/properties?location=Austin&type=House");
+    }
+
+    private String render(String url) throws Exception {
+        String html = mockMvc.perform(get(url)).andReturn().getResponse().getContentAsString();
+        if (html.isEmpty()) {
+            throw new IllegalStateException("Empty response for " + url);
+        }
+        return html;
+    }
+}
@@ -0,0 +1,58 @@
+package com.realestate.management.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.service.PropertyService;
+
+/**
+ * Property lookups: search by location (trigram index), by type and price band, and
+ * single-property reads through the property cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PropertyServiceBenchmark {
+
+    private PropertyService propertyService;
+    private long[] propertyIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        propertyService = app.bean(PropertyService.class);
+        propertyIds = app.propertyIds;
+    }
+
+    @Benchmark
+    public List<Property> searchByLocation() {
+        return propertyService.searchProperties(null, "Austin", null, null);
+    }
+
+    @Benchmark
+    public List<Property> searchByTypeAndPrice() {
+        return propertyService.searchProperties("Villa", null, 1_000_000.0, 2_000_000.0);
+    }
+
+    @Benchmark
+    public Property getPropertyById() {
+        return propertyService.getPropertyById(propertyIds[random.nextInt(propertyIds.length)]);
+    }
+}
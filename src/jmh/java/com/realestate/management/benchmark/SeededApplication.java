@@ -0,0 +1,89 @@
+package com.realestate.management.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.realestate.management.RealEstateManagementApplication;
+
+/**
+ * The full application on an in-memory H2 database in MySQL mode, seeded by the
+ * {@code loadtest} generator at {@code properties} listings (users, agents and inquiries
+ * scale with it in the ratios of application-loadtest.properties). One instance is
+ * started per fork and shared by every benchmark thread; {@code storageMode} selects the
+ * upload layout.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    @Param("10000")
+    public int properties;
+
+    @Param("content-addressed")
+    public String storageMode;
+
+    ConfigurableApplicationContext context;
+    Path uploadDir;
+    long[] propertyIds;
+    long[] customerIds;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        int users = Math.max(100, properties / 20);
+        int agents = Math.max(2, users / 50);
+        uploadDir = Files.createTempDirectory("benchmark-uploads");
+
+        context = new SpringApplicationBuilder(RealEstateManagementApplication.class)
+                .profiles("loadtest")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--server.port=0",
+                        "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                        "--file.upload-dir=" + uploadDir,
+                        "--file.storage.mode=" + storageMode,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.realestate.management=WARN",
+                        // One generator worker: H2 2.2 in MySQL mode can assign the same identity value twice
+                        // when several sessions insert into tables with foreign keys at once
+                        "--loadtest.threads=1",
+                        "--loadtest.users=" + users,
+                        "--loadtest.agents=" + agents,
+                        "--loadtest.properties=" + properties,
+                        "--loadtest.inquiries=" + (long) properties * 5);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        propertyIds = jdbcTemplate.queryForList("SELECT id FROM properties ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        customerIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'CUSTOMER' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,33 @@
+package com.realestate.management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics beyond what Actuator binds by itself (HTTP requests per mapping, Hikari pools,
+ * JVM, and Hibernate statistics when they are generated). {@code metrics.detailed.enabled}
+ * switches off the parts that cost something on every call: the {@code @Timed} service
+ * method timers here, and the latency histograms and Hibernate statistics configured in
+ * application.properties. Counters and gauges stay on either way.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "metrics.detailed.enabled", matchIfMissing = true)
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> applicationTag(
+            @Value("${spring.application.name}") String application) {
+        return registry -> registry.config().commonTags("application", application);
+    }
+}
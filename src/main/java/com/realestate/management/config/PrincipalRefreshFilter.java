@@ -0,0 +1,64 @@
+package com.realestate.management.config;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.realestate.management.dto.UserPrincipal;
+import com.realestate.management.service.UserPrincipalCache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Keeps session principals in step with the user table through UserPrincipalCache: a
+ * changed name or role replaces the principal, and a deleted user is signed out. A cache
+ * hit costs no database round trip, so this runs on every authenticated request.
+ */
+public class PrincipalRefreshFilter extends OncePerRequestFilter {
+
+    private final UserPrincipalCache principalCache;
+    private final SecurityContextRepository contextRepository = new HttpSessionSecurityContextRepository();
+
+    public PrincipalRefreshFilter(UserPrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal current) {
+            Optional<UserPrincipal> latest = principalCache.get(current.getEmail());
+            if (latest.isEmpty() || !latest.get().getId().equals(current.getId())) {
+                SecurityContextHolder.clearContext();
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    session.invalidate();
+                }
+            } else if (!latest.get().sameAs(current)) {
+                UserPrincipal refreshed = latest.get().withoutPassword();
+                UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken
+                        .authenticated(refreshed, null, refreshed.getAuthorities());
+                token.setDetails(authentication.getDetails());
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(token);
+                SecurityContextHolder.setContext(context);
+                contextRepository.saveContext(context, request, response);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
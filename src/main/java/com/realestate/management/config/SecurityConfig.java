@@ -1,40 +1,45 @@
 package com.realestate.management.config;
 
-import java.util.Collections;
-
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 
-import com.realestate.management.repository.UserRepository;
+import com.realestate.management.service.UserPrincipalCache;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
-    public SecurityConfig(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public SecurityConfig(UserPrincipalCache principalCache) {
+        this.principalCache = principalCache;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(auth -> auth
+                // Each document question costs an LLM call upstream
+                .requestMatchers("/properties/*/document/**").authenticated()
                 .requestMatchers("/", "/properties", "/properties/**", "/register", "/login",
                         "/css/**", "/js/**", "/uploads/**", "/images/**").permitAll()
+                // Scrapers cannot log in; actuator endpoints live on management.server.port, which
+                // listens on loopback only, so the application port never serves them
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                 .requestMatchers("/admin/**").hasAuthority("ADMIN")
                 .requestMatchers("/agent/**").hasAuthority("AGENT")
                 .requestMatchers("/customer/**").hasAuthority("CUSTOMER")
+                .requestMatchers("/inquiries/update-status").hasAnyAuthority("ADMIN", "AGENT")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -49,19 +54,15 @@ public class SecurityConfig {
                 .logoutSuccessUrl("/login?logout=true")
                 .permitAll()
             )
-            .csrf(csrf -> csrf.disable());
+            .csrf(csrf -> csrf.disable())
+            .addFilterBefore(new PrincipalRefreshFilter(principalCache), AuthorizationFilter.class);
 
         return http.build();
     }
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return email -> userRepository.findByEmail(email)
-            .map(user -> new org.springframework.security.core.userdetails.User(
-                    user.getEmail(),
-                    user.getPassword(),
-                    Collections.singletonList(new SimpleGrantedAuthority(user.getRole()))
-            ))
+        return email -> principalCache.get(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
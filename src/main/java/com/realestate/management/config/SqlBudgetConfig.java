@@ -0,0 +1,43 @@
+package com.realestate.management.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.realestate.management.service.SqlBudgetMonitor;
+import com.realestate.management.util.SqlTrackingDataSource;
+
+/**
+ * Per-request SQL accounting: the application data source is wrapped so statements,
+ * rows and JDBC time are attributed to the current request, and a filter checks every
+ * request against the budget. {@code sql.budget.enabled=false} removes both.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.budget.enabled", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlTrackingDataSource)
+                        ? new SqlTrackingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlBudgetMonitor monitor) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(new SqlBudgetFilter(monitor));
+        // Outside the security chain (order -100), inside request observation.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,52 @@
+package com.realestate.management.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.realestate.management.service.SqlBudgetMonitor;
+import com.realestate.management.util.RequestSqlStats;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link RequestSqlStats} for each request and hands it to the
+ * {@link SqlBudgetMonitor} once the response is done. Registered ahead of the security
+ * filters so their queries count too. Work continued on async threads is not tracked.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetMonitor monitor;
+
+    public SqlBudgetFilter(SqlBudgetMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+            monitor.completed(stats, handlerOf(request), request.getMethod(), request.getRequestURI(),
+                    response.getStatus());
+        }
+    }
+
+    // "Controller#method" for MVC handlers, the handler class otherwise (static resources).
+    private static String handlerOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return handler != null ? handler.getClass().getSimpleName() : "unmapped";
+    }
+}
@@ -1,17 +0,0 @@
-package com.realestate.management.config;
-
-import org.springframework.context.annotation.Configuration;
-import org.springframework.lang.NonNull;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class WebConfig implements WebMvcConfigurer {
-    
-    @Override
-    public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
-        registry
-            .addResourceHandler("/uploads/**")
-            .addResourceLocations("classpath:/static/uploads/");
-    }
-}
\ No newline at end of file
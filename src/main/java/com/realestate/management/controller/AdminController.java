@@ -1,7 +1,23 @@
 package com.realestate.management.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -10,17 +26,35 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.realestate.management.entity.Inquiry;
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.ForgeryVerdict;
+import com.realestate.management.dto.InquiryDto;
+import com.realestate.management.dto.OrphanSweepReport;
+import com.realestate.management.dto.PropertyImportProgress;
 import com.realestate.management.entity.Property;
 import com.realestate.management.entity.User;
+import com.realestate.management.service.DashboardStatisticsService;
+import com.realestate.management.service.DataExportService;
+import com.realestate.management.service.DataFormat;
+import com.realestate.management.service.DocumentQaGateway;
+import com.realestate.management.service.DocumentRetrievalService;
 import com.realestate.management.service.FileStorageService;
+import com.realestate.management.service.ForgeryDetectionClient;
+import com.realestate.management.service.ForgeryVerdictCache;
 import com.realestate.management.service.InquiryService;
+import com.realestate.management.service.OrphanedImageCollector;
+import com.realestate.management.service.PropertyImportService;
 import com.realestate.management.service.PropertyService;
+import com.realestate.management.service.SqlBudgetMonitor;
 import com.realestate.management.service.UserService;
+import com.realestate.management.service.VerificationQueue;
 
 import jakarta.validation.Valid;
 
@@ -32,31 +66,58 @@ public class AdminController {
     private final PropertyService propertyService;
     private final InquiryService inquiryService;
     private final FileStorageService fileStorageService;
+    private final DashboardStatisticsService statistics;
+    private final OrphanedImageCollector orphanedImageCollector;
+    private final PropertyImportService propertyImportService;
+    private final DataExportService dataExportService;
+    private final SqlBudgetMonitor sqlBudgetMonitor;
+    private final ForgeryDetectionClient forgeryDetectionClient;
+    private final VerificationQueue verificationQueue;
+    private final ForgeryVerdictCache forgeryVerdictCache;
+    private final DocumentQaGateway documentQaGateway;
+    private final DocumentRetrievalService documentRetrievalService;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
     public AdminController(UserService userService,
                            PropertyService propertyService,
                            InquiryService inquiryService,
-                           FileStorageService fileStorageService) {
+                           FileStorageService fileStorageService,
+                           DashboardStatisticsService statistics,
+                           OrphanedImageCollector orphanedImageCollector,
+                           PropertyImportService propertyImportService,
+                           DataExportService dataExportService,
+                           SqlBudgetMonitor sqlBudgetMonitor,
+                           ForgeryDetectionClient forgeryDetectionClient,
+                           VerificationQueue verificationQueue,
+                           ForgeryVerdictCache forgeryVerdictCache,
+                           DocumentQaGateway documentQaGateway,
+                           DocumentRetrievalService documentRetrievalService) {
         this.userService = userService;
         this.propertyService = propertyService;
         this.inquiryService = inquiryService;
         this.fileStorageService = fileStorageService;
+        this.statistics = statistics;
+        this.orphanedImageCollector = orphanedImageCollector;
+        this.propertyImportService = propertyImportService;
+        this.dataExportService = dataExportService;
+        this.sqlBudgetMonitor = sqlBudgetMonitor;
+        this.forgeryDetectionClient = forgeryDetectionClient;
+        this.verificationQueue = verificationQueue;
+        this.forgeryVerdictCache = forgeryVerdictCache;
+        this.documentQaGateway = documentQaGateway;
+        this.documentRetrievalService = documentRetrievalService;
     }
 
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
-        long totalUsers = userService.getAllUsers().size();
-        long totalProperties = propertyService.countProperties();
+        long totalUsers = statistics.totalUsers();
+        long totalProperties = statistics.totalProperties();
         long activeInquiries = inquiryService.countActiveInquiries();
 
         model.addAttribute("totalUsers", totalUsers);
         model.addAttribute("totalProperties", totalProperties);
         model.addAttribute("activeInquiries", activeInquiries);
-
-        List<Property> recentProperties = propertyService.getAllProperties();
-        model.addAttribute("recentProperties", recentProperties.size() > 5 ?
-                recentProperties.subList(0, 5) : recentProperties);
+        model.addAttribute("recentProperties", propertyService.getRecentProperties(5));
 
         return "admin/dashboard";
     }
@@ -95,16 +156,22 @@ public class AdminController {
     }
 
     @GetMapping("/properties")
-    public String manageProperties(Model model) {
-        List<Property> properties = propertyService.getAllProperties();
-        model.addAttribute("properties", properties);
+    public String manageProperties(@RequestParam(required = false) Long after,
+                                   @RequestParam(required = false) Long before,
+                                   @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
+                                   Model model) {
+        CursorPage<Property> page = propertyService.getPropertiesPage(after, before, size);
+        model.addAttribute("page", page);
+        model.addAttribute("properties", page.getContent());
         model.addAttribute("property", new Property());
+        model.addAttribute("agents", userService.getAgents());
         return "admin/manage-properties";
     }
 
     @PostMapping("/properties/create")
     public String createProperty(@Valid @ModelAttribute Property property,
                                  BindingResult result,
+                                 @RequestParam(required = false) Long agentId,
                                  @RequestParam(value = "image", required = false) MultipartFile image,
                                  RedirectAttributes redirectAttributes) {
 
@@ -114,12 +181,15 @@ public class AdminController {
         }
 
         try {
+            String fileName = null;
             if (image != null && !image.isEmpty()) {
-                String fileName = fileStorageService.storeFile(image);
-                property.setImageUrl("/uploads/properties/" + fileName);
+                fileName = fileStorageService.storeFile(image);
+                property.setImageUrl(fileStorageService.toPublicUrl(fileName));
             }
-            propertyService.createProperty(property);
+            property.setAgent(agentId != null ? userService.getAgentById(agentId) : null);
+            Property saved = propertyService.createProperty(property);
             redirectAttributes.addFlashAttribute("success", "Property created successfully!");
+            queueVerification(saved, fileName, redirectAttributes);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to create property: " + e.getMessage());
         }
@@ -131,6 +201,7 @@ public class AdminController {
     public String updateProperty(@PathVariable Long id,
                                  @Valid @ModelAttribute Property property,
                                  BindingResult result,
+                                 @RequestParam(required = false) Long agentId,
                                  @RequestParam(value = "image", required = false) MultipartFile image,
                                  RedirectAttributes redirectAttributes) {
 
@@ -140,12 +211,15 @@ public class AdminController {
         }
 
         try {
+            String fileName = null;
             if (image != null && !image.isEmpty()) {
-                String fileName = fileStorageService.storeFile(image);
-                property.setImageUrl("/uploads/properties/" + fileName);
+                fileName = fileStorageService.storeFile(image);
+                property.setImageUrl(fileStorageService.toPublicUrl(fileName));
             }
-            propertyService.updateProperty(id, property);
+            property.setAgent(agentId != null ? userService.getAgentById(agentId) : null);
+            Property saved = propertyService.updateProperty(id, property);
             redirectAttributes.addFlashAttribute("success", "Property updated successfully!");
+            queueVerification(saved, fileName, redirectAttributes);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to update property: " + e.getMessage());
         }
@@ -153,6 +227,15 @@ public class AdminController {
         return "redirect:/admin/properties";
     }
 
+    // A new image is queued for a forgery check; re-uploading the same content keeps its verdict.
+    private void queueVerification(Property saved, String fileName, RedirectAttributes redirectAttributes) {
+        if (fileName != null && saved.getVerificationStatus() == null
+                && !verificationQueue.submit(saved.getId(), fileName)) {
+            redirectAttributes.addFlashAttribute("error",
+                    "The image verification queue is full; request verification again later.");
+        }
+    }
+
     @PostMapping("/properties/delete/{id}")
     public String deleteProperty(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
@@ -164,10 +247,219 @@ public class AdminController {
         return "redirect:/admin/properties";
     }
 
+    // The legal document that questions on the property page are answered from.
+    @PostMapping("/properties/{id}/document")
+    public String uploadPropertyDocument(@PathVariable Long id,
+                                         @RequestParam("document") MultipartFile document,
+                                         RedirectAttributes redirectAttributes) {
+        if (document.isEmpty() || !".pdf".equals(FileStorageService.extensionOf(String.valueOf(document.getOriginalFilename())))) {
+            redirectAttributes.addFlashAttribute("error", "Please choose a PDF document");
+            return "redirect:/admin/properties";
+        }
+        try {
+            String fileName = fileStorageService.storeFile(document);
+            propertyService.attachDocument(id, fileStorageService.toPublicUrl(fileName));
+            redirectAttributes.addFlashAttribute("success", "Document uploaded successfully!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to upload document: " + e.getMessage());
+        }
+        return "redirect:/admin/properties";
+    }
+
+    // ---------------- Image Verification ---------------- //
+
+    // Answered asynchronously: the request thread is released while the detection service works.
+    @PostMapping("/properties/{id}/verify-image")
+    @ResponseBody
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> verifyPropertyImage(@PathVariable Long id) {
+        Property property = propertyService.getPropertyById(id);
+        String fileName = fileStorageService.fileNameOf(property.getImageUrl());
+        if (fileName == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.unprocessableEntity()
+                    .body(Map.of("error", "Property has no uploaded image to verify")));
+        }
+        return forgeryDetectionClient.verify(fileName)
+                .handle((verdict, failure) -> failure == null
+                        ? ResponseEntity.ok(verdictBody(property, verdict))
+                        : verificationFailed(failure));
+    }
+
+    // Queues the current image for a background check; the verdict appears on the properties page.
+    @PostMapping("/properties/{id}/verification")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> queuePropertyVerification(@PathVariable Long id) {
+        Property property = propertyService.getPropertyById(id);
+        String fileName = fileStorageService.fileNameOf(property.getImageUrl());
+        if (fileName == null) {
+            return ResponseEntity.unprocessableEntity()
+                    .body(Map.of("error", "Property has no uploaded image to verify"));
+        }
+        if (!verificationQueue.submit(id, fileName)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Verification queue is full"));
+        }
+        return ResponseEntity.accepted().body(Map.of("propertyId", id, "verificationStatus", "PENDING"));
+    }
+
+    private static Map<String, Object> verdictBody(Property property, ForgeryVerdict verdict) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("propertyId", property.getId());
+        body.put("imageUrl", property.getImageUrl());
+        body.put("forgeryDetected", verdict.isForgeryDetected());
+        body.put("forgeryProbability", verdict.getForgeryProbability());
+        body.put("authenticProbability", verdict.getAuthenticProbability());
+        return body;
+    }
+
+    private static ResponseEntity<Map<String, Object>> verificationFailed(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        HttpStatus status = cause instanceof RejectedExecutionException ? HttpStatus.SERVICE_UNAVAILABLE
+                : cause.getCause() instanceof HttpTimeoutException ? HttpStatus.GATEWAY_TIMEOUT
+                : HttpStatus.BAD_GATEWAY;
+        return ResponseEntity.status(status).body(Map.of("error", String.valueOf(cause.getMessage())));
+    }
+
+    // ---------------- Bulk Import ---------------- //
+
+    // Raw text/csv or application/json body, so feeds are not capped by the multipart size limit.
+    @PostMapping(value = "/properties/import", consumes = { "text/csv", "application/json", "application/x-ndjson" })
+    @ResponseBody
+    public ResponseEntity<PropertyImportProgress> importProperties(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                   InputStream body) throws IOException {
+        PropertyImportProgress progress =
+                propertyImportService.submit(body, DataFormat.fromContentType(contentType));
+        if (progress == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/properties/import/" + progress.getId()))
+                .body(progress);
+    }
+
+    @GetMapping("/properties/import")
+    @ResponseBody
+    public List<PropertyImportProgress> recentImports() {
+        return propertyImportService.getRecentImports();
+    }
+
+    @GetMapping("/properties/import/{id}")
+    @ResponseBody
+    public ResponseEntity<PropertyImportProgress> importProgress(@PathVariable String id) {
+        PropertyImportProgress progress = propertyImportService.getImport(id);
+        return progress != null ? ResponseEntity.ok(progress) : ResponseEntity.notFound().build();
+    }
+
+    // ---------------- Export ---------------- //
+
+    // Streams properties, users or inquiries as CSV or JSON, optionally as a .gz download.
+    @GetMapping("/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        DataExportService.Dataset exported;
+        DataFormat dataFormat;
+        try {
+            exported = DataExportService.Dataset.parse(dataset);
+            dataFormat = DataFormat.parse(format);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = exported.fileName() + "-" + LocalDate.now() + "." + dataFormat.getExtension() + (gzip ? ".gz" : "");
+        // Sync flushes let the periodic flushes reach the client through the compressor too.
+        StreamingResponseBody body = out -> dataExportService.export(exported, dataFormat,
+                gzip ? new GZIPOutputStream(out, 1 << 16, true) : out);
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(dataFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/stats/dashboard")
+    @ResponseBody
+    public Map<String, Object> dashboardStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("usersByRole", statistics.usersByRole());
+        stats.put("propertiesByType", statistics.propertiesByType());
+        stats.put("inquiriesByStatus", statistics.inquiriesByStatus());
+        return stats;
+    }
+
+    @GetMapping("/stats/property-cache")
+    @ResponseBody
+    public Map<String, Object> propertyCacheStats() {
+        return propertyService.getPropertyCacheStats();
+    }
+
+    @GetMapping("/stats/verification")
+    @ResponseBody
+    public Map<String, Object> verificationStats() {
+        return verificationQueue.getStats();
+    }
+
+    // Hit rates of the memory and database tiers in front of the forgery detection service.
+    @GetMapping("/stats/forgery-verdict-cache")
+    @ResponseBody
+    public Map<String, Object> forgeryVerdictCacheStats() {
+        return forgeryVerdictCache.stats();
+    }
+
+    @GetMapping("/stats/document-qa")
+    @ResponseBody
+    public Map<String, Object> documentQaStats() {
+        return documentQaGateway.stats();
+    }
+
+    // How many legal document questions the embedded index answered without the Q&A service.
+    @GetMapping("/stats/document-index")
+    @ResponseBody
+    public Map<String, Object> documentIndexStats() {
+        return documentRetrievalService.stats();
+    }
+
+    // Handlers whose requests went over the SQL budget, most frequent first.
+    @GetMapping("/stats/sql-budget")
+    @ResponseBody
+    public Map<String, Object> sqlBudgetStats() {
+        Map<String, Object> stats = sqlBudgetMonitor.getBudget();
+        stats.put("offenders", sqlBudgetMonitor.getOffenders());
+        return stats;
+    }
+
+    @PostMapping("/stats/sql-budget/reset")
+    @ResponseBody
+    public ResponseEntity<Void> resetSqlBudgetStats() {
+        sqlBudgetMonitor.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Dry-run report of upload files that no property references.
+    @GetMapping("/maintenance/orphaned-images")
+    @ResponseBody
+    public ResponseEntity<OrphanSweepReport> orphanedImagesReport() {
+        return sweepResponse(orphanedImageCollector.sweep(OrphanedImageCollector.Mode.DRY_RUN));
+    }
+
+    @PostMapping("/maintenance/orphaned-images")
+    @ResponseBody
+    public ResponseEntity<OrphanSweepReport> sweepOrphanedImages(@RequestParam(defaultValue = "quarantine") String mode) {
+        return sweepResponse(orphanedImageCollector.sweep(OrphanedImageCollector.parseMode(mode)));
+    }
+
+    private static ResponseEntity<OrphanSweepReport> sweepResponse(OrphanSweepReport report) {
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
     @GetMapping("/inquiries")
-    public String manageInquiries(Model model) {
-        List<Inquiry> inquiries = inquiryService.getAllInquiries();
-        model.addAttribute("inquiries", inquiries);
+    public String manageInquiries(@RequestParam(required = false) Long after,
+                                  @RequestParam(required = false) Long before,
+                                  @RequestParam(defaultValue = "" + InquiryService.DEFAULT_PAGE_SIZE) int size,
+                                  Model model) {
+        CursorPage<InquiryDto> page = inquiryService.getInquiryPage(after, before, size);
+        model.addAttribute("page", page);
+        model.addAttribute("inquiries", page.getContent());
         return "admin/manage-inquiries";
     }
 }
@@ -1,13 +1,15 @@
 package com.realestate.management.controller;
 
-import java.util.List;
-
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import com.realestate.management.entity.Inquiry;
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.InquiryDto;
+import com.realestate.management.dto.UserPrincipal;
 import com.realestate.management.entity.Property;
 import com.realestate.management.service.InquiryService;
 import com.realestate.management.service.PropertyService;
@@ -27,28 +29,35 @@ public class AgentController {
     }
 
     @GetMapping("/dashboard")
-    public String dashboard(Model model) {
-        List<Property> properties = propertyService.getAllProperties();
-        List<Inquiry> inquiries = inquiryService.getAllInquiries();
-
-        model.addAttribute("totalProperties", properties.size());
-        model.addAttribute("totalInquiries", inquiries.size());
-        model.addAttribute("properties", properties);
+    public String dashboard(@AuthenticationPrincipal UserPrincipal agent, Model model) {
+        model.addAttribute("totalProperties", propertyService.countAgentProperties(agent.getId()));
+        model.addAttribute("totalInquiries", inquiryService.countAgentInquiries(agent.getId()));
+        model.addAttribute("properties", propertyService.getRecentAgentProperties(agent.getId(), 6));
 
         return "agent/dashboard";
     }
 
     @GetMapping("/properties")
-    public String myProperties(Model model) {
-        List<Property> properties = propertyService.getAllProperties();
-        model.addAttribute("properties", properties);
+    public String myProperties(@RequestParam(required = false) Long after,
+                               @RequestParam(required = false) Long before,
+                               @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
+                               @AuthenticationPrincipal UserPrincipal agent,
+                               Model model) {
+        CursorPage<Property> page = propertyService.getAgentPropertiesPage(agent.getId(), after, before, size);
+        model.addAttribute("page", page);
+        model.addAttribute("properties", page.getContent());
         return "agent/my-properties";
     }
 
     @GetMapping("/inquiries")
-    public String myInquiries(Model model) {
-        List<Inquiry> inquiries = inquiryService.getAllInquiries();
-        model.addAttribute("inquiries", inquiries);
+    public String myInquiries(@RequestParam(required = false) Long after,
+                              @RequestParam(required = false) Long before,
+                              @RequestParam(defaultValue = "" + InquiryService.DEFAULT_PAGE_SIZE) int size,
+                              @AuthenticationPrincipal UserPrincipal agent,
+                              Model model) {
+        CursorPage<InquiryDto> page = inquiryService.getInquiryPageByAgent(agent.getId(), after, before, size);
+        model.addAttribute("page", page);
+        model.addAttribute("inquiries", page.getContent());
         return "agent/my-inquiries";
     }
 }
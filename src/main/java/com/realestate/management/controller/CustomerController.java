@@ -2,48 +2,53 @@ package com.realestate.management.controller;
 
 import java.util.List;
 
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import com.realestate.management.entity.Inquiry;
-import com.realestate.management.entity.User;
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.InquiryDto;
+import com.realestate.management.dto.UserPrincipal;
 import com.realestate.management.service.InquiryService;
-import com.realestate.management.service.UserService;
 
 @Controller
 @RequestMapping("/customer")
 public class CustomerController {
 
+    private static final int RECENT_INQUIRIES = 5;
+
     private final InquiryService inquiryService;
-    private final UserService userService;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
-    public CustomerController(InquiryService inquiryService, UserService userService) {
+    public CustomerController(InquiryService inquiryService) {
         this.inquiryService = inquiryService;
-        this.userService = userService;
     }
 
     @GetMapping("/dashboard")
-    public String dashboard(Authentication authentication, Model model) {
-        User user = userService.getUserByEmail(authentication.getName());
-        List<Inquiry> inquiries = inquiryService.getInquiriesByUserId(user.getId());
+    public String dashboard(@AuthenticationPrincipal UserPrincipal user, Model model) {
+        List<InquiryDto> recentInquiries = inquiryService
+                .getInquiryPageByUser(user.getId(), null, null, RECENT_INQUIRIES).getContent();
 
         model.addAttribute("user", user);
-        model.addAttribute("inquiries", inquiries);
-        model.addAttribute("totalInquiries", inquiries.size());
+        model.addAttribute("inquiries", recentInquiries);
+        model.addAttribute("totalInquiries", inquiryService.countInquiriesByUserId(user.getId()));
 
         return "customer/dashboard";
     }
 
     @GetMapping("/inquiries")
-    public String myInquiries(Authentication authentication, Model model) {
-        User user = userService.getUserByEmail(authentication.getName());
-        List<Inquiry> inquiries = inquiryService.getInquiriesByUserId(user.getId());
-
-        model.addAttribute("inquiries", inquiries);
+    public String myInquiries(@AuthenticationPrincipal UserPrincipal user,
+                              @RequestParam(required = false) Long after,
+                              @RequestParam(required = false) Long before,
+                              @RequestParam(defaultValue = "" + InquiryService.DEFAULT_PAGE_SIZE) int size,
+                              Model model) {
+        CursorPage<InquiryDto> page = inquiryService.getInquiryPageByUser(user.getId(), after, before, size);
+
+        model.addAttribute("page", page);
+        model.addAttribute("inquiries", page.getContent());
         return "customer/my-inquiries";
     }
 }
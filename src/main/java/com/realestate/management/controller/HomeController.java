@@ -8,23 +8,33 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.PropertySearchCriteria;
 import com.realestate.management.entity.Property;
+import com.realestate.management.service.FeaturedListingsService;
 import com.realestate.management.service.PropertyService;
 
 @Controller
 public class HomeController {
 
+    private static final int FEATURED_FALLBACK_SIZE = 6;
+
     private final PropertyService propertyService;
+    private final FeaturedListingsService featuredListingsService;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
-    public HomeController(PropertyService propertyService) {
+    public HomeController(PropertyService propertyService, FeaturedListingsService featuredListingsService) {
         this.propertyService = propertyService;
+        this.featuredListingsService = featuredListingsService;
     }
 
     @GetMapping("/")
     public String home(Model model) {
-        List<Property> properties = propertyService.getAllProperties();
-        model.addAttribute("properties", properties.size() > 6 ? properties.subList(0, 6) : properties);
+        List<Property> properties = featuredListingsService.getFeaturedListings();
+        if (properties == null) {
+            properties = propertyService.getPropertiesPage(null, null, FEATURED_FALLBACK_SIZE).getContent();
+        }
+        model.addAttribute("properties", properties);
         return "public/index";
     }
 
@@ -34,20 +44,31 @@ public class HomeController {
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minSize,
+            @RequestParam(required = false) Double maxSize,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
             Model model) {
 
-        List<Property> properties;
-        if (type != null || location != null || minPrice != null || maxPrice != null) {
-            properties = propertyService.searchProperties(type, location, minPrice, maxPrice);
+        PropertySearchCriteria criteria =
+                new PropertySearchCriteria(type, location, minPrice, maxPrice, minSize, maxSize);
+
+        CursorPage<Property> page;
+        if (!criteria.isEmpty()) {
+            page = propertyService.searchPropertiesPage(criteria, after, before, size);
         } else {
-            properties = propertyService.getAllProperties();
+            page = propertyService.getPropertiesPage(after, before, size);
         }
 
-        model.addAttribute("properties", properties);
+        model.addAttribute("page", page);
+        model.addAttribute("properties", page.getContent());
         model.addAttribute("selectedType", type);
         model.addAttribute("selectedLocation", location);
         model.addAttribute("minPrice", minPrice);
         model.addAttribute("maxPrice", maxPrice);
+        model.addAttribute("minSize", minSize);
+        model.addAttribute("maxSize", maxSize);
 
         return "public/properties";
     }
@@ -1,36 +1,33 @@
 package com.realestate.management.controller;
 
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.realestate.management.entity.User;
+import com.realestate.management.dto.UserPrincipal;
+import com.realestate.management.exception.UnauthorizedException;
 import com.realestate.management.service.InquiryService;
-import com.realestate.management.service.UserService;
 
 @Controller
 public class InquiryController {
 
     private final InquiryService inquiryService;
-    private final UserService userService;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
-    public InquiryController(InquiryService inquiryService, UserService userService) {
+    public InquiryController(InquiryService inquiryService) {
         this.inquiryService = inquiryService;
-        this.userService = userService;
     }
 
     @PostMapping("/inquiries/create")
     public String createInquiry(
             @RequestParam Long propertyId,
             @RequestParam String message,
-            Authentication authentication,
+            @AuthenticationPrincipal UserPrincipal user,
             RedirectAttributes redirectAttributes) {
 
         try {
-            User user = userService.getUserByEmail(authentication.getName());
             inquiryService.createInquiry(user.getId(), propertyId, message);
             redirectAttributes.addFlashAttribute("success", "Inquiry submitted successfully!");
         } catch (Exception e) {
@@ -45,9 +42,13 @@ public class InquiryController {
             @RequestParam Long id,
             @RequestParam String status,
             @RequestParam(required = false) String returnUrl,
+            @AuthenticationPrincipal UserPrincipal user,
             RedirectAttributes redirectAttributes) {
 
         try {
+            if (user.hasRole("AGENT") && !inquiryService.isHandledByAgent(id, user.getId())) {
+                throw new UnauthorizedException("Inquiry is not on one of your listings");
+            }
             inquiryService.updateInquiryStatus(id, status);
             redirectAttributes.addFlashAttribute("success", "Inquiry status updated successfully!");
         } catch (Exception e) {
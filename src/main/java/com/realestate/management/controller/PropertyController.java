@@ -1,5 +1,128 @@
 package com.realestate.management.controller;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.realestate.management.dto.DocumentAnswer;
+import com.realestate.management.dto.DocumentPassage;
+import com.realestate.management.entity.Property;
+import com.realestate.management.service.DocumentRetrievalService;
+import com.realestate.management.service.FileStorageService;
+import com.realestate.management.service.PropertyService;
+
+@Controller
 public class PropertyController {
-    
+
+    private static final int MAX_QUESTIONS = 10;
+    private static final int MAX_PASSAGES = 20;
+
+    private final PropertyService propertyService;
+    private final FileStorageService fileStorageService;
+    private final DocumentRetrievalService documentRetrievalService;
+    private final Duration streamTimeout;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public PropertyController(PropertyService propertyService,
+                              FileStorageService fileStorageService,
+                              DocumentRetrievalService documentRetrievalService,
+                              @Value("${rag.stream-timeout:PT5M}") Duration streamTimeout) {
+        this.propertyService = propertyService;
+        this.fileStorageService = fileStorageService;
+        this.documentRetrievalService = documentRetrievalService;
+        this.streamTimeout = streamTimeout;
+    }
+
+    // ---------------- Document Q&A ---------------- //
+
+    /*
+     * Server-Sent Events: "accepted" at once, then one "answer" or "failed" event per question
+     * as soon as it is known (answers from the document index or the cache immediately), then
+     * "done". Not "error": EventSource reserves that name for connection failures.
+     */
+    @GetMapping(value = "/properties/{id}/document/answers", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> answerDocumentQuestions(@PathVariable Long id,
+                                                              @RequestParam("question") List<String> questions) {
+        List<String> asked = questions.stream().map(String::trim).filter(question -> !question.isEmpty()).toList();
+        if (asked.isEmpty() || asked.size() > MAX_QUESTIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        String documentFileName = documentFileNameOf(id);
+        if (documentFileName == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        send(emitter, "accepted", Map.of("propertyId", id, "questions", asked));
+        List<CompletableFuture<DocumentAnswer>> answers = documentRetrievalService.ask(documentFileName, asked);
+        AtomicInteger remaining = new AtomicInteger(answers.size());
+        for (int i = 0; i < answers.size(); i++) {
+            int index = i;
+            answers.get(i).whenComplete((answer, failure) -> {
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("index", index);
+                event.put("question", asked.get(index));
+                if (failure == null) {
+                    event.put("answer", answer.getAnswer());
+                    event.put("cached", answer.isCached());
+                    event.put("source", answer.getSource());
+                    send(emitter, "answer", event);
+                } else {
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                    event.put("error", String.valueOf(cause.getMessage()));
+                    send(emitter, "failed", event);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    send(emitter, "done", Map.of("answered", answers.size()));
+                    emitter.complete();
+                }
+            });
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // The passages of the legal document that best match a question, from the embedded BM25 index.
+    @GetMapping("/properties/{id}/document/passages")
+    @ResponseBody
+    public ResponseEntity<List<DocumentPassage>> documentPassages(@PathVariable Long id,
+                                                                  @RequestParam String question,
+                                                                  @RequestParam(defaultValue = "5") int limit) {
+        String documentFileName = documentFileNameOf(id);
+        if (documentFileName == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        int passages = Math.max(1, Math.min(limit, MAX_PASSAGES));
+        return ResponseEntity.ok(documentRetrievalService.search(documentFileName, question, passages));
+    }
+
+    private String documentFileNameOf(Long id) {
+        Property property = propertyService.getPropertyById(id);
+        return fileStorageService.fileNameOf(property.getDocumentUrl());
+    }
+
+    // A browser that went away only loses the events it would have received; the container ends the request.
+    private static void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException ex) {
+            // Nothing left to tell this client.
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.realestate.management.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final Long prevCursor;
+    private final Long nextCursor;
+
+    public CursorPage(List<T> content, Long prevCursor, Long nextCursor) {
+        this.content = content;
+        this.prevCursor = prevCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    // ---------------- Factories ---------------- //
+
+    // Rows were read in display order with one extra row, which only signals that a next page exists.
+    // backBound is the before-cursor that leads back from the requested position (null on the first
+    // page); an empty page, e.g. past the last row, links back through it.
+    public static <T> CursorPage<T> forward(List<T> rows, int pageSize, Long backBound, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        if (content.isEmpty()) {
+            return new CursorPage<>(content, backBound, null);
+        }
+        Long prev = backBound != null ? idOf.apply(content.get(0)) : null;
+        Long next = hasNext ? idOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(content, prev, next);
+    }
+
+    // Backward seeks read against display order, so the page is reversed before rendering.
+    public static <T> CursorPage<T> backward(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        boolean hasPrevious = rows.size() > pageSize;
+        List<T> content = new ArrayList<>(hasPrevious ? rows.subList(0, pageSize) : rows);
+        Collections.reverse(content);
+        if (content.isEmpty()) {
+            return new CursorPage<>(content, null, null);
+        }
+        Long prev = hasPrevious ? idOf.apply(content.get(0)) : null;
+        Long next = idOf.apply(content.get(content.size() - 1));
+        return new CursorPage<>(content, prev, next);
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Long getPrevCursor() {
+        return prevCursor;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasPrevious() {
+        return prevCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    public int size() {
+        return content.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.realestate.management.dto;
+
+import java.util.List;
+
+/*
+ * One answer about a property's legal document. Source "index" answers come from the embedded
+ * document index with the passages they were taken from; "rag" answers from the document Q&A
+ * service, where cached is true when no upstream call was made for it.
+ */
+public class DocumentAnswer {
+
+    public static final String SOURCE_INDEX = "index";
+    public static final String SOURCE_RAG = "rag";
+
+    private final String question;
+    private final String answer;
+    private final boolean cached;
+    private final String source;
+    private final List<DocumentPassage> passages;
+
+    public DocumentAnswer(String question, String answer, boolean cached) {
+        this(question, answer, cached, SOURCE_RAG, List.of());
+    }
+
+    public DocumentAnswer(String question, String answer, List<DocumentPassage> passages) {
+        this(question, answer, false, SOURCE_INDEX, passages);
+    }
+
+    private DocumentAnswer(String question, String answer, boolean cached, String source,
+                           List<DocumentPassage> passages) {
+        this.question = question;
+        this.answer = answer;
+        this.cached = cached;
+        this.source = source;
+        this.passages = passages;
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public List<DocumentPassage> getPassages() {
+        return passages;
+    }
+}
@@ -0,0 +1,29 @@
+package com.realestate.management.dto;
+
+// A chunk of a property's legal document that matched a question, with its BM25 score.
+public class DocumentPassage {
+
+    private final int chunk;
+    private final double score;
+    private final String text;
+
+    public DocumentPassage(int chunk, double score, String text) {
+        this.chunk = chunk;
+        this.score = score;
+        this.text = text;
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,29 @@
+package com.realestate.management.dto;
+
+// Result of one forgery check by the ELA/CNN service; probabilities are in [0, 1].
+public class ForgeryVerdict {
+
+    private final boolean forgeryDetected;
+    private final double forgeryProbability;
+    private final double authenticProbability;
+
+    public ForgeryVerdict(boolean forgeryDetected, double forgeryProbability, double authenticProbability) {
+        this.forgeryDetected = forgeryDetected;
+        this.forgeryProbability = forgeryProbability;
+        this.authenticProbability = authenticProbability;
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public boolean isForgeryDetected() {
+        return forgeryDetected;
+    }
+
+    public double getForgeryProbability() {
+        return forgeryProbability;
+    }
+
+    public double getAuthenticProbability() {
+        return authenticProbability;
+    }
+}
@@ -1,5 +1,76 @@
 package com.realestate.management.dto;
 
+import java.time.LocalDateTime;
+
+// Read-only view of an inquiry with the user and property columns the listings display,
+// built in a single joined query instead of resolving the lazy associations row by row.
 public class InquiryDto {
-    
+
+    private final Long id;
+    private final String message;
+    private final String status;
+    private final LocalDateTime timestamp;
+    private final Long userId;
+    private final String userName;
+    private final String userEmail;
+    private final Long propertyId;
+    private final String propertyTitle;
+    private final String propertyLocation;
+
+    public InquiryDto(Long id, String message, String status, LocalDateTime timestamp,
+                      Long userId, String userName, String userEmail,
+                      Long propertyId, String propertyTitle, String propertyLocation) {
+        this.id = id;
+        this.message = message;
+        this.status = status;
+        this.timestamp = timestamp;
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.propertyId = propertyId;
+        this.propertyTitle = propertyTitle;
+        this.propertyLocation = propertyLocation;
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public String getPropertyTitle() {
+        return propertyTitle;
+    }
+
+    public String getPropertyLocation() {
+        return propertyLocation;
+    }
 }
@@ -0,0 +1,101 @@
+package com.realestate.management.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one orphaned-image sweep; in dry-run mode "removed" counts what would have been removed.
+public class OrphanSweepReport {
+
+    private static final int MAX_LISTED = 100;
+
+    private final String mode;
+    private long referencedImages;
+    private long scannedFiles;
+    private long orphanedFiles;
+    private long orphanedBytes;
+    private long removedFiles;
+    private long skippedWithinGracePeriod;
+    private long heldByReferenceCount;
+    private long durationMillis;
+    private final List<String> sample = new ArrayList<>();
+
+    public OrphanSweepReport(String mode) {
+        this.mode = mode;
+    }
+
+    public void orphan(String fileName, long size) {
+        orphanedFiles++;
+        orphanedBytes += size;
+        if (sample.size() < MAX_LISTED) {
+            sample.add(fileName);
+        }
+    }
+
+    public void scanned() {
+        scannedFiles++;
+    }
+
+    public void removed() {
+        removedFiles++;
+    }
+
+    public void skippedWithinGracePeriod() {
+        skippedWithinGracePeriod++;
+    }
+
+    public void heldByReferenceCount() {
+        heldByReferenceCount++;
+    }
+
+    // ---------------- Getters & Setters ---------------- //
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getReferencedImages() {
+        return referencedImages;
+    }
+
+    public void setReferencedImages(long referencedImages) {
+        this.referencedImages = referencedImages;
+    }
+
+    public long getScannedFiles() {
+        return scannedFiles;
+    }
+
+    public long getOrphanedFiles() {
+        return orphanedFiles;
+    }
+
+    public long getOrphanedBytes() {
+        return orphanedBytes;
+    }
+
+    public long getRemovedFiles() {
+        return removedFiles;
+    }
+
+    public long getSkippedWithinGracePeriod() {
+        return skippedWithinGracePeriod;
+    }
+
+    public long getHeldByReferenceCount() {
+        return heldByReferenceCount;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    // The first orphans found, for eyeballing a dry run before enabling removal.
+    public List<String> getSample() {
+        return Collections.unmodifiableList(sample);
+    }
+}
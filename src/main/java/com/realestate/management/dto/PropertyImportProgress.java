@@ -0,0 +1,170 @@
+package com.realestate.management.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live state of one bulk property import. The import thread is the only writer; admin
+ * requests poll it, so counters are volatile and the error list is copied on read.
+ */
+public class PropertyImportProgress {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    // A rejected feed row; line is where the record starts in the upload.
+    public static class RowError {
+
+        private final long row;
+        private final long line;
+        private final String message;
+
+        public RowError(long row, long line, String message) {
+            this.row = row;
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final String id;
+    private final String format;
+    private final long totalBytes;
+    private final Instant submittedAt = Instant.now();
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long bytesRead;
+    private volatile long rowsRead;
+    private volatile long inserted;
+    private volatile long updated;
+    private volatile long rejected;
+    private volatile String failure;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public PropertyImportProgress(String id, String format, long totalBytes) {
+        this.id = id;
+        this.format = format;
+        this.totalBytes = totalBytes;
+    }
+
+    public void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    public void completed() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    public void failed(String message) {
+        failure = message;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    public void rowRead(long bytesRead) {
+        this.rowsRead++;
+        this.bytesRead = bytesRead;
+    }
+
+    public void written(long inserted, long updated) {
+        this.inserted += inserted;
+        this.updated += updated;
+    }
+
+    public void rejected(long row, long line, String message) {
+        rejected++;
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(row, line, message));
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public int getPercentComplete() {
+        if (state == State.COMPLETED) {
+            return 100;
+        }
+        return totalBytes > 0 ? (int) Math.min(99, bytesRead * 100 / totalBytes) : 0;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    // The first rejected rows; "rejected" keeps counting past the reported ones.
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+}
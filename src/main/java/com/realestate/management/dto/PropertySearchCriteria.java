@@ -0,0 +1,88 @@
+package com.realestate.management.dto;
+
+import org.springframework.util.StringUtils;
+
+public class PropertySearchCriteria {
+
+    private String type;
+    private String location;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minSize;
+    private Double maxSize;
+
+    public PropertySearchCriteria() { }
+
+    public PropertySearchCriteria(String type, String location, Double minPrice, Double maxPrice,
+                                  Double minSize, Double maxSize) {
+        this.type = type;
+        this.location = location;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    // Blank form fields arrive as empty strings and mean "no filter".
+    public PropertySearchCriteria normalized() {
+        return new PropertySearchCriteria(
+                StringUtils.hasText(type) ? type.trim() : null,
+                StringUtils.hasText(location) ? location.trim() : null,
+                minPrice, maxPrice, minSize, maxSize);
+    }
+
+    public boolean isEmpty() {
+        return !StringUtils.hasText(type) && !StringUtils.hasText(location)
+                && minPrice == null && maxPrice == null && minSize == null && maxSize == null;
+    }
+
+    // ---------------- Getters & Setters ---------------- //
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Double getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(Double minSize) {
+        this.minSize = minSize;
+    }
+
+    public Double getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(Double maxSize) {
+        this.maxSize = maxSize;
+    }
+}
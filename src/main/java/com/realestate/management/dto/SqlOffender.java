@@ -0,0 +1,86 @@
+package com.realestate.management.dto;
+
+import java.time.Instant;
+
+// Running totals for one controller method whose requests went over the SQL budget.
+public class SqlOffender {
+
+    private final String handler;
+    private long occurrences;
+    private int maxStatements;
+    private long maxRows;
+    private long maxElapsedMillis;
+    private long maxJdbcMillis;
+    private String worstStatement;
+    private long worstStatementCount;
+    private Instant lastSeen;
+
+    public SqlOffender(String handler) {
+        this.handler = handler;
+    }
+
+    public SqlOffender(SqlOffender other) {
+        this.handler = other.handler;
+        this.occurrences = other.occurrences;
+        this.maxStatements = other.maxStatements;
+        this.maxRows = other.maxRows;
+        this.maxElapsedMillis = other.maxElapsedMillis;
+        this.maxJdbcMillis = other.maxJdbcMillis;
+        this.worstStatement = other.worstStatement;
+        this.worstStatementCount = other.worstStatementCount;
+        this.lastSeen = other.lastSeen;
+    }
+
+    public void record(int statements, long rows, long elapsedMillis, long jdbcMillis,
+                       String topStatement, long topStatementCount) {
+        occurrences++;
+        maxStatements = Math.max(maxStatements, statements);
+        maxRows = Math.max(maxRows, rows);
+        maxElapsedMillis = Math.max(maxElapsedMillis, elapsedMillis);
+        maxJdbcMillis = Math.max(maxJdbcMillis, jdbcMillis);
+        if (topStatement != null && topStatementCount >= worstStatementCount) {
+            worstStatement = topStatement;
+            worstStatementCount = topStatementCount;
+        }
+        lastSeen = Instant.now();
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    public long getMaxElapsedMillis() {
+        return maxElapsedMillis;
+    }
+
+    public long getMaxJdbcMillis() {
+        return maxJdbcMillis;
+    }
+
+    // Normalized SQL repeated most often within one offending request.
+    public String getWorstStatement() {
+        return worstStatement;
+    }
+
+    public long getWorstStatementCount() {
+        return worstStatementCount;
+    }
+
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+}
@@ -0,0 +1,113 @@
+package com.realestate.management.dto;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.realestate.management.entity.User;
+
+/**
+ * Authenticated user as stored in the security context. Carries the id, name and role so
+ * controllers can act on the current user without looking it up by email again.
+ */
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String role;
+    private String password;
+
+    public UserPrincipal(Long id, String email, String name, String role, String password) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.password = password;
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getPassword());
+    }
+
+    // Spring Security erases credentials on the instance it authenticated, so shared copies hand out clones.
+    public UserPrincipal copy() {
+        return new UserPrincipal(id, email, name, role, password);
+    }
+
+    public UserPrincipal withoutPassword() {
+        return new UserPrincipal(id, email, name, role, null);
+    }
+
+    // Same user, name and role; the password is not compared.
+    public boolean sameAs(UserPrincipal other) {
+        return other != null && id.equals(other.id) && email.equals(other.email)
+                && name.equals(other.name) && role.equals(other.role);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean hasRole(String role) {
+        return this.role.equals(role);
+    }
+
+    // ---------------- UserDetails ---------------- //
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
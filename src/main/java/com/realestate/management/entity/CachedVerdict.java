@@ -0,0 +1,117 @@
+package com.realestate.management.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// A forgery verdict remembered for image content, valid for the model version that produced it.
+@Entity
+@Table(name = "forgery_verdicts", uniqueConstraints =
+        @UniqueConstraint(name = "uk_forgery_verdicts_content", columnNames = { "content_hash", "model_version" }))
+public class CachedVerdict {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // SHA-256 hex of the image bytes
+
+    @Column(name = "model_version", nullable = false, length = 64)
+    private String modelVersion;
+
+    @Column(name = "forgery_detected", nullable = false)
+    private boolean forgeryDetected;
+
+    @Column(name = "forgery_probability", nullable = false)
+    private double forgeryProbability;
+
+    @Column(name = "authentic_probability", nullable = false)
+    private double authenticProbability;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // ---------------- Constructors ---------------- //
+
+    public CachedVerdict() { }
+
+    public CachedVerdict(String contentHash, String modelVersion, boolean forgeryDetected,
+                         double forgeryProbability, double authenticProbability) {
+        this.contentHash = contentHash;
+        this.modelVersion = modelVersion;
+        this.forgeryDetected = forgeryDetected;
+        this.forgeryProbability = forgeryProbability;
+        this.authenticProbability = authenticProbability;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // ---------------- Getters & Setters ---------------- //
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public boolean isForgeryDetected() {
+        return forgeryDetected;
+    }
+
+    public void setForgeryDetected(boolean forgeryDetected) {
+        this.forgeryDetected = forgeryDetected;
+    }
+
+    public double getForgeryProbability() {
+        return forgeryProbability;
+    }
+
+    public void setForgeryProbability(double forgeryProbability) {
+        this.forgeryProbability = forgeryProbability;
+    }
+
+    public double getAuthenticProbability() {
+        return authenticProbability;
+    }
+
+    public void setAuthenticProbability(double authenticProbability) {
+        this.authenticProbability = authenticProbability;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,11 +1,19 @@
 package com.realestate.management.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inquiries")
+@Table(name = "inquiries", indexes = {
+        // Agent inquiry pages and counts walk an agent's properties, then each one's inquiries by status
+        @Index(name = "idx_inquiries_property_status", columnList = "property_id, status, id"),
+        @Index(name = "idx_inquiries_status", columnList = "status, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "inquiries")
 public class Inquiry {
 
     @Id
@@ -1,21 +1,38 @@
 package com.realestate.management.entity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        // Serves an agent's listing pages as a range scan: agent_id = ? AND id > ? ORDER BY id
+        @Index(name = "idx_properties_agent_id", columnList = "agent_id, id")
+}, uniqueConstraints = {
+        // Partner feeds identify listings by their own reference; bulk imports upsert on it
+        @UniqueConstraint(name = "uk_properties_external_ref", columnNames = "external_ref")
+})
+// Not in the second-level cache: single listings are cached by PropertyCache, so only one copy needs invalidating
 public class Property {
 
     @Id
@@ -23,10 +40,12 @@ public class Property {
     private Long id;
 
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     @Column(nullable = false)
     private String title;
 
     @NotBlank(message = "Description is required")
+    @Size(max = 2000, message = "Description must be at most 2000 characters")
     @Column(nullable = false, length = 2000)
     private String description;
 
@@ -36,6 +55,7 @@ public class Property {
     private Double price;
 
     @NotBlank(message = "Location is required")
+    @Size(max = 255, message = "Location must be at most 255 characters")
     @Column(nullable = false)
     private String location;
 
@@ -45,13 +65,52 @@ public class Property {
     private Double size;
 
     @NotBlank(message = "Type is required")
+    @Size(max = 255, message = "Type must be at most 255 characters")
     @Column(nullable = false)
     private String type; // House, Apartment, Villa, Commercial, Land
 
+    @Size(max = 255, message = "Image URL must be at most 255 characters")
     @Column(name = "image_url")
     private String imageUrl;
 
+    // Downscaled copies of an uploaded image, filled in by ImageDerivativeService.
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "card_image_url")
+    private String cardImageUrl;
+
+    @Column(name = "detail_image_url")
+    private String detailImageUrl;
+
+    // Forgery check of the uploaded image, filled in by VerificationQueue: PENDING, AUTHENTIC,
+    // FORGED or FAILED; null while the image was never submitted.
+    @Column(name = "verification_status", length = 20)
+    private String verificationStatus;
+
+    @Column(name = "forgery_probability")
+    private Double forgeryProbability;
+
+    @Column(name = "verified_at")
+    private LocalDateTime verifiedAt;
+
+    // Legal document (a PDF upload) that the document Q&A answers questions about.
+    @Column(name = "document_url")
+    private String documentUrl;
+
+    // Reference assigned by the partner feed a listing was imported from; null for manual entries.
+    @Size(max = 100, message = "External reference must be at most 100 characters")
+    @Column(name = "external_ref", length = 100)
+    private String externalRef;
+
+    // Listing agent; null for properties not yet assigned to anyone.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "agent_id")
+    private User agent;
+
+    // Cached as inquiry ids, resolved against the Inquiry region
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "property-inquiries")
     private List<Inquiry> inquiries;
 
     // ---------------- Constructors ---------------- //
@@ -134,6 +193,97 @@ public class Property {
         this.imageUrl = imageUrl;
     }
 
+    public String getExternalRef() {
+        return externalRef;
+    }
+
+    public void setExternalRef(String externalRef) {
+        this.externalRef = externalRef;
+    }
+
+    public User getAgent() {
+        return agent;
+    }
+
+    public void setAgent(User agent) {
+        this.agent = agent;
+    }
+
+    // Reads the foreign key without initializing a lazy agent proxy.
+    public Long getAgentId() {
+        return agent != null ? agent.getId() : null;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getCardImageUrl() {
+        return cardImageUrl;
+    }
+
+    public void setCardImageUrl(String cardImageUrl) {
+        this.cardImageUrl = cardImageUrl;
+    }
+
+    public String getDetailImageUrl() {
+        return detailImageUrl;
+    }
+
+    public void setDetailImageUrl(String detailImageUrl) {
+        this.detailImageUrl = detailImageUrl;
+    }
+
+    public String getVerificationStatus() {
+        return verificationStatus;
+    }
+
+    public void setVerificationStatus(String verificationStatus) {
+        this.verificationStatus = verificationStatus;
+    }
+
+    public Double getForgeryProbability() {
+        return forgeryProbability;
+    }
+
+    public void setForgeryProbability(Double forgeryProbability) {
+        this.forgeryProbability = forgeryProbability;
+    }
+
+    public LocalDateTime getVerifiedAt() {
+        return verifiedAt;
+    }
+
+    public void setVerifiedAt(LocalDateTime verifiedAt) {
+        this.verifiedAt = verifiedAt;
+    }
+
+    public String getDocumentUrl() {
+        return documentUrl;
+    }
+
+    public void setDocumentUrl(String documentUrl) {
+        this.documentUrl = documentUrl;
+    }
+
+    // Templates use these: the derived variant once processed, otherwise the original image.
+
+    public String getThumbnailImage() {
+        return thumbnailUrl != null ? thumbnailUrl : imageUrl;
+    }
+
+    public String getCardImage() {
+        return cardImageUrl != null ? cardImageUrl : imageUrl;
+    }
+
+    public String getDetailImage() {
+        return detailImageUrl != null ? detailImageUrl : imageUrl;
+    }
+
     public List<Inquiry> getInquiries() {
         return inquiries;
     }
@@ -0,0 +1,77 @@
+package com.realestate.management.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+// One content-addressed upload blob and the number of references held on it.
+@Entity
+@Table(name = "stored_files")
+public class StoredFile {
+
+    @Id
+    @Column(name = "file_name", length = 80)
+    private String fileName; // <sha-256 hex><extension>
+
+    @Column(name = "reference_count", nullable = false)
+    private long referenceCount;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // ---------------- Constructors ---------------- //
+
+    public StoredFile() { }
+
+    public StoredFile(String fileName, long referenceCount, long size) {
+        this.fileName = fileName;
+        this.referenceCount = referenceCount;
+        this.size = size;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // ---------------- Getters & Setters ---------------- //
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getReferenceCount() {
+        return referenceCount;
+    }
+
+    public void setReferenceCount(long referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.realestate.management.exception;
+
+public class DocumentQaException extends RuntimeException {
+
+    // HTTP status returned by the document Q&A service, or 0 when no response was received.
+    private final int status;
+
+    public DocumentQaException(String message) {
+        this(message, 0);
+    }
+
+    public DocumentQaException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public DocumentQaException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,25 @@
+package com.realestate.management.exception;
+
+public class ForgeryDetectionException extends RuntimeException {
+
+    // HTTP status returned by the detection service, or 0 when no response was received.
+    private final int status;
+
+    public ForgeryDetectionException(String message) {
+        this(message, 0);
+    }
+
+    public ForgeryDetectionException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public ForgeryDetectionException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,15 @@
+package com.realestate.management.repository;
+
+import com.realestate.management.entity.CachedVerdict;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CachedVerdictRepository extends JpaRepository<CachedVerdict, Long> {
+
+    Optional<CachedVerdict> findByContentHashAndModelVersion(String contentHash, String modelVersion);
+
+    long countByModelVersion(String modelVersion);
+}
@@ -1,16 +1,89 @@
 // InquiryRepository.java - src/main/java/com/realestate/management/repository/InquiryRepository.java
 package com.realestate.management.repository;
 
+import com.realestate.management.dto.InquiryDto;
 import com.realestate.management.entity.Inquiry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
+
+    // Listings are newest first: "after" seeks to older (smaller) ids, "before" to newer ones.
+    String INQUIRY_VIEW = "SELECT new com.realestate.management.dto.InquiryDto(" +
+            "i.id, i.message, i.status, i.timestamp, u.id, u.name, u.email, p.id, p.title, p.location) " +
+            "FROM Inquiry i JOIN i.user u JOIN i.property p ";
+    String OLDER = "i.id < :cursor ORDER BY i.id DESC";
+    String NEWER = "i.id > :cursor ORDER BY i.id ASC";
+
     List<Inquiry> findByUserId(Long userId);
     List<Inquiry> findByPropertyId(Long propertyId);
     List<Inquiry> findByStatus(String status);
     long countByStatus(String status);
-}
\ No newline at end of file
+    long countByUserId(Long userId);
+    boolean existsByIdAndProperty_Agent_Id(Long id, Long agentId);
+
+    @Query("SELECT i.property.id FROM Inquiry i GROUP BY i.property.id ORDER BY COUNT(i) DESC")
+    List<Long> findMostInquiredPropertyIds(Pageable pageable);
+
+    @Query("SELECT i.status, COUNT(i) FROM Inquiry i GROUP BY i.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT p.agent.id, COUNT(i) FROM Inquiry i JOIN i.property p " +
+           "WHERE p.agent IS NOT NULL GROUP BY p.agent.id")
+    List<Object[]> countGroupedByAgent();
+
+    // ---- Fetch-joined, keyset-paginated listing projections ---- //
+
+    @Query(INQUIRY_VIEW + "WHERE " + OLDER)
+    List<InquiryDto> findViewsOlderThan(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE " + NEWER)
+    List<InquiryDto> findViewsNewerThan(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE i.status = :status AND " + OLDER)
+    List<InquiryDto> findViewsByStatusOlderThan(@Param("status") String status,
+                                                @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE i.status = :status AND " + NEWER)
+    List<InquiryDto> findViewsByStatusNewerThan(@Param("status") String status,
+                                                @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE u.id = :userId AND " + OLDER)
+    List<InquiryDto> findViewsByUserOlderThan(@Param("userId") Long userId,
+                                              @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE u.id = :userId AND " + NEWER)
+    List<InquiryDto> findViewsByUserNewerThan(@Param("userId") Long userId,
+                                              @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE p.id = :propertyId AND " + OLDER)
+    List<InquiryDto> findViewsByPropertyOlderThan(@Param("propertyId") Long propertyId,
+                                                  @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE p.id = :propertyId AND " + NEWER)
+    List<InquiryDto> findViewsByPropertyNewerThan(@Param("propertyId") Long propertyId,
+                                                  @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE p.agent.id = :agentId AND " + OLDER)
+    List<InquiryDto> findViewsByAgentOlderThan(@Param("agentId") Long agentId,
+                                               @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(INQUIRY_VIEW + "WHERE p.agent.id = :agentId AND " + NEWER)
+    List<InquiryDto> findViewsByAgentNewerThan(@Param("agentId") Long agentId,
+                                               @Param("cursor") Long cursor, Pageable pageable);
+
+    // Streamed export; projections are never managed, so there is nothing to detach.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PropertyRepository.EXPORT_FETCH_SIZE))
+    @Query(INQUIRY_VIEW + "ORDER BY i.id")
+    Stream<InquiryDto> streamViewsForExport();
+}
@@ -2,18 +2,36 @@
 package com.realestate.management.repository;
 
 import com.realestate.management.entity.Property;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PropertyRepository extends JpaRepository<Property, Long> {
+
+    // Rows per round trip for streamed exports (MySQL needs useCursorFetch=true to honour it).
+    String EXPORT_FETCH_SIZE = "500";
+
     List<Property> findByType(String type);
     List<Property> findByLocation(String location);
+
+    @Query("SELECT p.type, COUNT(p) FROM Property p GROUP BY p.type")
+    List<Object[]> countGroupedByType();
     
+    // Search and listing pages keep their id lists in the query cache; a write to properties
+    // invalidates them. Queries over in-memory id sets are not cached: their keys rarely repeat.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Property p WHERE " +
            "(:type IS NULL OR p.type = :type) AND " +
            "(:location IS NULL OR p.location LIKE %:location%) AND " +
@@ -25,4 +43,143 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
         @Param("minPrice") Double minPrice,
         @Param("maxPrice") Double maxPrice
     );
+
+    // ---- Keyset pagination: seek on the primary key instead of OFFSET ---- //
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM Property p WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<Property> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM Property p WHERE p.id < :beforeId ORDER BY p.id DESC")
+    List<Property> findPageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM Property p WHERE p.id > :afterId AND " +
+           "(:type IS NULL OR p.type = :type) AND " +
+           "(:location IS NULL OR p.location LIKE %:location%) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minSize IS NULL OR p.size >= :minSize) AND " +
+           "(:maxSize IS NULL OR p.size <= :maxSize) " +
+           "ORDER BY p.id ASC")
+    List<Property> searchPageAfter(
+        @Param("type") String type,
+        @Param("location") String location,
+        @Param("minPrice") Double minPrice,
+        @Param("maxPrice") Double maxPrice,
+        @Param("minSize") Double minSize,
+        @Param("maxSize") Double maxSize,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM Property p WHERE p.id < :beforeId AND " +
+           "(:type IS NULL OR p.type = :type) AND " +
+           "(:location IS NULL OR p.location LIKE %:location%) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minSize IS NULL OR p.size >= :minSize) AND " +
+           "(:maxSize IS NULL OR p.size <= :maxSize) " +
+           "ORDER BY p.id DESC")
+    List<Property> searchPageBefore(
+        @Param("type") String type,
+        @Param("location") String location,
+        @Param("minPrice") Double minPrice,
+        @Param("maxPrice") Double maxPrice,
+        @Param("minSize") Double minSize,
+        @Param("maxSize") Double maxSize,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable
+    );
+
+    // ---- Agent-scoped listings: range scans on (agent_id, id) ---- //
+
+    @Query("SELECT p FROM Property p WHERE p.agent.id = :agentId AND p.id > :afterId ORDER BY p.id ASC")
+    List<Property> findAgentPageAfter(@Param("agentId") Long agentId, @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Query("SELECT p FROM Property p WHERE p.agent.id = :agentId AND p.id < :beforeId ORDER BY p.id DESC")
+    List<Property> findAgentPageBefore(@Param("agentId") Long agentId, @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
+    @Query("SELECT p.agent.id, COUNT(p) FROM Property p WHERE p.agent IS NOT NULL GROUP BY p.agent.id")
+    List<Object[]> countGroupedByAgent();
+
+    @Query("SELECT p.id FROM Property p WHERE p.agent.id = :agentId")
+    List<Long> findIdsByAgentId(@Param("agentId") Long agentId);
+
+    @Modifying
+    @Query("UPDATE Property p SET p.agent = NULL WHERE p.agent.id = :agentId")
+    int unassignAgent(@Param("agentId") Long agentId);
+
+    // Only applies while the property still shows the image the variants were derived from.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Property p SET p.thumbnailUrl = :thumbnailUrl, p.cardImageUrl = :cardImageUrl, " +
+           "p.detailImageUrl = :detailImageUrl WHERE p.id = :id AND p.imageUrl = :imageUrl")
+    int updateImageVariants(
+        @Param("id") Long id,
+        @Param("imageUrl") String imageUrl,
+        @Param("thumbnailUrl") String thumbnailUrl,
+        @Param("cardImageUrl") String cardImageUrl,
+        @Param("detailImageUrl") String detailImageUrl
+    );
+
+    @Query("SELECT DISTINCT p.imageUrl FROM Property p WHERE p.imageUrl LIKE CONCAT(:prefix, '%')")
+    List<String> findImageUrlsStartingWith(@Param("prefix") String prefix);
+
+    // Image and document URLs of properties with either, for the orphaned upload sweep.
+    @Query("SELECT p.id, p.imageUrl, p.documentUrl FROM Property p WHERE p.id > :afterId " +
+           "AND (p.imageUrl IS NOT NULL OR p.documentUrl IS NOT NULL) ORDER BY p.id ASC")
+    List<Object[]> findImageRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Repoints every property showing one image at another, carrying the variant URLs along.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Property p SET p.imageUrl = :newUrl, p.thumbnailUrl = :thumbnailUrl, " +
+           "p.cardImageUrl = :cardImageUrl, p.detailImageUrl = :detailImageUrl WHERE p.imageUrl = :oldUrl")
+    int replaceImage(
+        @Param("oldUrl") String oldUrl,
+        @Param("newUrl") String newUrl,
+        @Param("thumbnailUrl") String thumbnailUrl,
+        @Param("cardImageUrl") String cardImageUrl,
+        @Param("detailImageUrl") String detailImageUrl
+    );
+
+    // ---- Index support: primary-key lookups for ids resolved in memory ---- //
+
+    @Query("SELECT p.id, p.location, p.type, p.price, p.size FROM Property p " +
+           "WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<Object[]> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    List<Property> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT p FROM Property p WHERE p.id IN :ids AND " +
+           "(:type IS NULL OR p.type = :type) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minSize IS NULL OR p.size >= :minSize) AND " +
+           "(:maxSize IS NULL OR p.size <= :maxSize) " +
+           "ORDER BY p.id ASC")
+    List<Property> searchByIds(
+        @Param("ids") Collection<Long> ids,
+        @Param("type") String type,
+        @Param("minPrice") Double minPrice,
+        @Param("maxPrice") Double maxPrice,
+        @Param("minSize") Double minSize,
+        @Param("maxSize") Double maxSize
+    );
+
+    // ---- Streaming export: read-only entities, fetched EXPORT_FETCH_SIZE rows at a time ---- //
+    // CacheMode IGNORE keeps a full-table pass from pushing the hot users out of the second-level cache.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Property p LEFT JOIN FETCH p.agent ORDER BY p.id")
+    Stream<Property> streamAllForExport();
 }
@@ -0,0 +1,27 @@
+// StoredFileRepository.java - src/main/java/com/realestate/management/repository/StoredFileRepository.java
+package com.realestate.management.repository;
+
+import com.realestate.management.entity.StoredFile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // Serializes reference-count changes on one blob across concurrent uploads and deletes.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.fileName = :fileName")
+    Optional<StoredFile> findForUpdate(@Param("fileName") String fileName);
+
+    // File names start with the 64-character hex digest, followed by the original extension.
+    @Query("SELECT f.fileName FROM StoredFile f WHERE f.referenceCount > 0 AND LEFT(f.fileName, 64) IN :digests")
+    List<String> findReferencedNamesByDigest(@Param("digests") Collection<String> digests);
+}
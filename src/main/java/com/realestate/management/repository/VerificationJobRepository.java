@@ -0,0 +1,54 @@
+package com.realestate.management.repository;
+
+import com.realestate.management.entity.VerificationJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VerificationJobRepository extends JpaRepository<VerificationJob, Long> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: rows claimed by another worker are passed over, not waited on.
+    String SKIP_LOCKED = "-2";
+
+    /*
+     * Due queued jobs, plus running ones whose claim is older than the lease (their worker
+     * died). Locked FOR UPDATE SKIP LOCKED, so concurrent workers claim disjoint jobs.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("SELECT j FROM VerificationJob j WHERE " +
+           "(j.status = 'QUEUED' AND j.nextAttemptAt <= :now) OR " +
+           "(j.status = 'RUNNING' AND j.claimedAt < :leaseExpiredBefore) " +
+           "ORDER BY j.id")
+    List<VerificationJob> findClaimable(@Param("now") LocalDateTime now,
+                                        @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore,
+                                        Pageable pageable);
+
+    // The job row locked for writing back a result; waits for a claim in progress to commit.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM VerificationJob j WHERE j.id = :id")
+    Optional<VerificationJob> findByIdForUpdate(@Param("id") Long id);
+
+    long countByStatusIn(Collection<String> statuses);
+
+    boolean existsByPropertyIdAndFileNameAndStatusIn(Long propertyId, String fileName, Collection<String> statuses);
+
+    @Query("SELECT j.status, COUNT(j) FROM VerificationJob j GROUP BY j.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Dead-lettered jobs, newest first, for the admin stats endpoint.
+    List<VerificationJob> findByStatusOrderByIdDesc(String status, Pageable pageable);
+}
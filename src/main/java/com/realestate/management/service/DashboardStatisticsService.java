@@ -0,0 +1,359 @@
+package com.realestate.management.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.realestate.management.repository.InquiryRepository;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.UserRepository;
+
+/**
+ * In-memory counters behind the admin and agent dashboards: users by role, properties by
+ * type, inquiries by status, and listings and inquiries per agent. Seeded with one grouped
+ * query per table, adjusted after commit by the service write paths and periodically
+ * reconciled against the database.
+ *
+ * A transaction collects its adjustments in one synchronization, which holds the read side
+ * of {@code counters} from just before the commit until they have been applied; a reconcile
+ * holds the write side while it counts and swaps the maps. A reconcile therefore never
+ * counts a commit whose adjustment is still pending (which would count it twice), and no
+ * adjustment lands on a map that is being replaced (which would lose it). Writes whose
+ * effect cannot be expressed as a delta (cascades, reassigned listings) only mark the
+ * affected counters stale; {@link #reconcileStale()} re-reads them shortly after, so no
+ * thread ever waits for the write side while it holds the read side.
+ */
+@Service
+public class DashboardStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatisticsService.class);
+
+    private final UserRepository userRepository;
+    private final PropertyRepository propertyRepository;
+    private final InquiryRepository inquiryRepository;
+
+    private volatile Map<String, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+    private volatile Map<String, AtomicLong> propertiesByType = new ConcurrentHashMap<>();
+    private volatile Map<String, AtomicLong> inquiriesByStatus = new ConcurrentHashMap<>();
+    private volatile Map<Long, AtomicLong> propertiesByAgent = new ConcurrentHashMap<>();
+    private volatile Map<Long, AtomicLong> inquiriesByAgent = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock counters = new ReentrantReadWriteLock();
+    private final AtomicBoolean inquiriesStale = new AtomicBoolean();
+    private final AtomicBoolean agentsStale = new AtomicBoolean();
+    private final TransactionTemplate transactionTemplate;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public DashboardStatisticsService(UserRepository userRepository,
+                                      PropertyRepository propertyRepository,
+                                      InquiryRepository inquiryRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.propertyRepository = propertyRepository;
+        this.inquiryRepository = inquiryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // ---------------- Reads ---------------- //
+
+    public long totalUsers() {
+        return sum(usersByRole);
+    }
+
+    public long totalProperties() {
+        return sum(propertiesByType);
+    }
+
+    public long totalInquiries() {
+        return sum(inquiriesByStatus);
+    }
+
+    public long inquiriesWithStatus(String status) {
+        return get(inquiriesByStatus, status);
+    }
+
+    public long agentProperties(Long agentId) {
+        return get(propertiesByAgent, agentId);
+    }
+
+    public long agentInquiries(Long agentId) {
+        return get(inquiriesByAgent, agentId);
+    }
+
+    public Map<String, Long> usersByRole() {
+        return snapshot(usersByRole);
+    }
+
+    public Map<String, Long> propertiesByType() {
+        return snapshot(propertiesByType);
+    }
+
+    public Map<String, Long> inquiriesByStatus() {
+        return snapshot(inquiriesByStatus);
+    }
+
+    // ---------------- Write-Path Hooks ---------------- //
+
+    public void userCreated(String role) {
+        afterCommit(() -> adjust(usersByRole, role, 1));
+    }
+
+    public void userRoleChanged(String oldRole, String newRole) {
+        if (oldRole != null && oldRole.equals(newRole)) {
+            return;
+        }
+        afterCommit(() -> {
+            adjust(usersByRole, oldRole, -1);
+            adjust(usersByRole, newRole, 1);
+        });
+    }
+
+    // Deleting a user cascades to their inquiries and unassigns their listings, so those
+    // counters are re-read.
+    public void userDeleted(String role) {
+        afterCommit(() -> adjust(usersByRole, role, -1), inquiriesStale, agentsStale);
+    }
+
+    public void propertyCreated(String type, Long agentId) {
+        afterCommit(() -> {
+            adjust(propertiesByType, type, 1);
+            adjust(propertiesByAgent, agentId, 1);
+        });
+    }
+
+    // Reassigning a listing moves its inquiries too, so the per-agent counters are re-read.
+    public void propertyUpdated(String oldType, String newType, Long oldAgentId, Long newAgentId) {
+        boolean typeChanged = !Objects.equals(oldType, newType);
+        boolean agentChanged = !Objects.equals(oldAgentId, newAgentId);
+        if (!typeChanged && !agentChanged) {
+            return;
+        }
+        Runnable adjustment = () -> {
+            if (typeChanged) {
+                adjust(propertiesByType, oldType, -1);
+                adjust(propertiesByType, newType, 1);
+            }
+        };
+        if (agentChanged) {
+            afterCommit(adjustment, agentsStale);
+        } else {
+            afterCommit(adjustment);
+        }
+    }
+
+    // Deleting a property cascades to its inquiries, so those counters are re-read.
+    public void propertyDeleted(String type, Long agentId) {
+        Runnable adjustment = () -> adjust(propertiesByType, type, -1);
+        if (agentId != null) {
+            afterCommit(adjustment, inquiriesStale, agentsStale);
+        } else {
+            afterCommit(adjustment, inquiriesStale);
+        }
+    }
+
+    public void inquiryCreated(String status, Long agentId) {
+        afterCommit(() -> {
+            adjust(inquiriesByStatus, status, 1);
+            adjust(inquiriesByAgent, agentId, 1);
+        });
+    }
+
+    public void inquiryStatusChanged(String oldStatus, String newStatus) {
+        if (oldStatus != null && oldStatus.equals(newStatus)) {
+            return;
+        }
+        afterCommit(() -> {
+            adjust(inquiriesByStatus, oldStatus, -1);
+            adjust(inquiriesByStatus, newStatus, 1);
+        });
+    }
+
+    public void inquiryDeleted(String status, Long agentId) {
+        afterCommit(() -> {
+            adjust(inquiriesByStatus, status, -1);
+            adjust(inquiriesByAgent, agentId, -1);
+        });
+    }
+
+    // ---------------- Seeding & Reconciliation ---------------- //
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    // Replaces every counter with a fresh grouped count, correcting any drift from
+    // writes that bypassed the services (e.g. the data seeder or manual SQL).
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconcile-interval:PT10M}",
+               initialDelayString = "${dashboard.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        inquiriesStale.set(false);
+        agentsStale.set(false);
+        reload(() -> {
+            usersByRole = load(userRepository.countGroupedByRole());
+            propertiesByType = load(propertyRepository.countGroupedByType());
+            inquiriesByStatus = load(inquiryRepository.countGroupedByStatus());
+            propertiesByAgent = load(propertyRepository.countGroupedByAgent());
+            inquiriesByAgent = load(inquiryRepository.countGroupedByAgent());
+        });
+        log.debug("Dashboard counters reconciled: users={}, properties={}, inquiries={}",
+                usersByRole(), propertiesByType(), inquiriesByStatus());
+    }
+
+    // Re-reads the counters that cascading deletes and reassignments marked stale.
+    @Scheduled(fixedDelayString = "${dashboard.stats.stale-check-interval:PT5S}")
+    public void reconcileStale() {
+        boolean inquiries = inquiriesStale.getAndSet(false);
+        boolean agents = agentsStale.getAndSet(false);
+        if (!inquiries && !agents) {
+            return;
+        }
+        reload(() -> {
+            if (inquiries) {
+                inquiriesByStatus = load(inquiryRepository.countGroupedByStatus());
+            }
+            if (agents) {
+                propertiesByAgent = load(propertyRepository.countGroupedByAgent());
+                inquiriesByAgent = load(inquiryRepository.countGroupedByAgent());
+            }
+        });
+    }
+
+    // The transaction takes its connection before the write lock: writers waiting for the
+    // read lock still hold theirs, and could otherwise leave none for the reconcile.
+    private void reload(Runnable counts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.writeLock().lock();
+            try {
+                counts.run();
+            } finally {
+                counters.writeLock().unlock();
+            }
+        });
+    }
+
+    // ---------------- Commit Hooks ---------------- //
+
+    // Outside a transaction the adjustment applies at once; inside one it joins the
+    // transaction's pending adjustments and the stale counters are flagged after the commit.
+    private void afterCommit(Runnable adjustment, AtomicBoolean... stale) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counters.readLock().lock();
+            try {
+                adjustment.run();
+            } finally {
+                counters.readLock().unlock();
+            }
+            for (AtomicBoolean flag : stale) {
+                flag.set(true);
+            }
+            return;
+        }
+        PendingAdjustments pending = pendingAdjustments();
+        pending.adjustments.add(adjustment);
+        pending.stale.addAll(List.of(stale));
+    }
+
+    private PendingAdjustments pendingAdjustments() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingAdjustments pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingAdjustments pending = new PendingAdjustments();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    // One per transaction, so the read lock is taken once however many writes it makes.
+    private final class PendingAdjustments implements TransactionSynchronization {
+        private final List<Runnable> adjustments = new ArrayList<>();
+        private final List<AtomicBoolean> stale = new ArrayList<>();
+        private boolean locked;
+
+        private DashboardStatisticsService owner() {
+            return DashboardStatisticsService.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            counters.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            adjustments.forEach(Runnable::run);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (locked) {
+                counters.readLock().unlock();
+            }
+            if (status == STATUS_COMMITTED) {
+                stale.forEach(flag -> flag.set(true));
+            }
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, AtomicLong> load(List<Object[]> rows) {
+        Map<K, AtomicLong> counters = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counters.put((K) row[0], new AtomicLong((Long) row[1]));
+            }
+        }
+        return counters;
+    }
+
+    private static <K> long get(Map<K, AtomicLong> counters, K key) {
+        AtomicLong count = key != null ? counters.get(key) : null;
+        return count != null ? count.get() : 0L;
+    }
+
+    private static <K> void adjust(Map<K, AtomicLong> counters, K key, long delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static long sum(Map<String, AtomicLong> counters) {
+        long total = 0;
+        for (AtomicLong count : counters.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> copy = new TreeMap<>();
+        counters.forEach((key, count) -> copy.put(key, count.get()));
+        return Collections.unmodifiableMap(copy);
+    }
+}
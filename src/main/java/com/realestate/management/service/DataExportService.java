@@ -0,0 +1,147 @@
+package com.realestate.management.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.realestate.management.dto.InquiryDto;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.InquiryRepository;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Streams whole tables to an output stream for admin exports. Rows come from
+ * {@code Stream}-returning repository queries inside one read-only transaction, are
+ * written as they arrive and are detached right after, so heap use stays flat whatever
+ * the table size and the first bytes go out before the query has finished. The entity
+ * queries neither read nor fill the second-level cache, which a full pass would flush.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DataExportService {
+
+    // Rows between explicit flushes, so clients see progress rather than one burst per buffer.
+    private static final int FLUSH_EVERY = 500;
+
+    public enum Dataset {
+        PROPERTIES, USERS, INQUIRIES;
+
+        public static Dataset parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown export '" + name + "', expected properties, users or inquiries");
+            }
+        }
+
+        public String fileName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Property columns match what PropertyImportService reads, so an export can be re-imported.
+    private static final List<String> PROPERTY_COLUMNS = List.of("id", "externalRef", "title", "description",
+            "price", "location", "size", "type", "imageUrl", "agentEmail");
+
+    // Passwords are never exported.
+    private static final List<String> USER_COLUMNS = List.of("id", "name", "email", "role");
+
+    private static final List<String> INQUIRY_COLUMNS = List.of("id", "timestamp", "status", "message",
+            "userId", "userName", "userEmail", "propertyId", "propertyTitle", "propertyLocation");
+
+    private final EntityManager entityManager;
+    private final PropertyRepository propertyRepository;
+    private final UserRepository userRepository;
+    private final InquiryRepository inquiryRepository;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public DataExportService(EntityManager entityManager,
+                             PropertyRepository propertyRepository,
+                             UserRepository userRepository,
+                             InquiryRepository inquiryRepository) {
+        this.entityManager = entityManager;
+        this.propertyRepository = propertyRepository;
+        this.userRepository = userRepository;
+        this.inquiryRepository = inquiryRepository;
+    }
+
+    // Writes the dataset and closes the stream; returns the number of rows written.
+    public long export(Dataset dataset, DataFormat format, OutputStream out) throws IOException {
+        // Rows are loaded while the stream is consumed, after Hibernate has already restored the session
+        // cache mode the queries' CacheMode hint overrode, so the session of this transaction ignores it too.
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        return switch (dataset) {
+            case PROPERTIES -> exportProperties(format, out);
+            case USERS -> exportUsers(format, out);
+            case INQUIRIES -> exportInquiries(format, out);
+        };
+    }
+
+    // ---------------- Datasets ---------------- //
+
+    private long exportProperties(DataFormat format, OutputStream out) throws IOException {
+        try (Stream<Property> rows = propertyRepository.streamAllForExport();
+             ExportWriter writer = ExportWriter.open(format, out, PROPERTY_COLUMNS)) {
+            long count = 0;
+            for (Iterator<Property> it = rows.iterator(); it.hasNext(); ) {
+                Property p = it.next();
+                User agent = p.getAgent();
+                writer.row(p.getId(), p.getExternalRef(), p.getTitle(), p.getDescription(), p.getPrice(),
+                        p.getLocation(), p.getSize(), p.getType(), p.getImageUrl(),
+                        agent != null ? agent.getEmail() : null);
+                entityManager.detach(p);
+                flushPeriodically(writer, ++count);
+            }
+            return count;
+        }
+    }
+
+    private long exportUsers(DataFormat format, OutputStream out) throws IOException {
+        try (Stream<User> rows = userRepository.streamAllForExport();
+             ExportWriter writer = ExportWriter.open(format, out, USER_COLUMNS)) {
+            long count = 0;
+            for (Iterator<User> it = rows.iterator(); it.hasNext(); ) {
+                User u = it.next();
+                writer.row(u.getId(), u.getName(), u.getEmail(), u.getRole());
+                entityManager.detach(u);
+                flushPeriodically(writer, ++count);
+            }
+            return count;
+        }
+    }
+
+    private long exportInquiries(DataFormat format, OutputStream out) throws IOException {
+        try (Stream<InquiryDto> rows = inquiryRepository.streamViewsForExport();
+             ExportWriter writer = ExportWriter.open(format, out, INQUIRY_COLUMNS)) {
+            long count = 0;
+            for (Iterator<InquiryDto> it = rows.iterator(); it.hasNext(); ) {
+                InquiryDto i = it.next();
+                writer.row(i.getId(), i.getTimestamp(), i.getStatus(), i.getMessage(),
+                        i.getUserId(), i.getUserName(), i.getUserEmail(),
+                        i.getPropertyId(), i.getPropertyTitle(), i.getPropertyLocation());
+                flushPeriodically(writer, ++count);
+            }
+            return count;
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private static void flushPeriodically(ExportWriter writer, long count) throws IOException {
+        if (count == 1 || count % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+    }
+}
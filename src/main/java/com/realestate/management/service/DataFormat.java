@@ -0,0 +1,48 @@
+package com.realestate.management.service;
+
+import java.util.Locale;
+
+// Wire formats for bulk import and export.
+public enum DataFormat {
+
+    CSV("text/csv", "csv"),
+    JSON("application/json", "json");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // text/csv is CSV; application/json and application/x-ndjson are JSON.
+    public static DataFormat fromContentType(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/json") || type.startsWith("application/x-ndjson")) {
+            return JSON;
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+
+    // "csv" or "json", case-insensitive.
+    public static DataFormat parse(String name) {
+        for (DataFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown format '" + name + "', expected csv or json");
+    }
+}
@@ -0,0 +1,280 @@
+package com.realestate.management.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable BM25 inverted index over the chunks of one document, in a single file that is
+ * memory-mapped for reading, so a search touches only the postings of the query terms.
+ *
+ * Layout (big-endian): a 48 byte header (magic, version, chunk and term counts, average
+ * chunk length in terms, then the offsets of the term table, postings and text); a chunk
+ * table of (length in terms, text start, text length); the term table of (key start, key
+ * length, postings start, document frequency) sorted by UTF-8 key, followed by the keys;
+ * postings as (chunk, term frequency) pairs; and the chunk texts in UTF-8, sentences
+ * separated by line feeds.
+ */
+final class DocumentIndex {
+
+    private static final int MAGIC = 0x424D3235; // "BM25"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int CHUNK_ENTRY_BYTES = 12;
+    private static final int TERM_ENTRY_BYTES = 16;
+    private static final int POSTING_BYTES = 8;
+
+    // Usual BM25 parameters: term frequency saturation and length normalisation.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Ascending score; ties rank the earlier chunk higher.
+    private static final Comparator<Hit> RANK = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::chunk).reversed());
+
+    static final DocumentIndex EMPTY = new DocumentIndex(ByteBuffer.allocate(HEADER_BYTES), 0, 0, 0f, 0, 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int chunkCount;
+    private final int termCount;
+    private final float averageLength;
+    private final int termsOffset;
+    private final int postingsOffset;
+    private final int textOffset;
+
+    private DocumentIndex(ByteBuffer buffer, int chunkCount, int termCount, float averageLength,
+                          int termsOffset, int postingsOffset, int textOffset) {
+        this.buffer = buffer;
+        this.chunkCount = chunkCount;
+        this.termCount = termCount;
+        this.averageLength = averageLength;
+        this.termsOffset = termsOffset;
+        this.postingsOffset = postingsOffset;
+        this.textOffset = textOffset;
+    }
+
+    record Hit(int chunk, double score) { }
+
+    // ---------------- Writing ---------------- //
+
+    // Each chunk is a list of sentences; its terms are those of all its sentences.
+    static void write(Path file, List<List<String>> chunks) throws IOException {
+        Map<String, List<int[]>> postings = new HashMap<>();
+        int[] lengths = new int[chunks.size()];
+        byte[][] texts = new byte[chunks.size()][];
+        long totalLength = 0;
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            List<String> sentences = chunks.get(chunk);
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String sentence : sentences) {
+                for (String term : DocumentTextAnalyzer.terms(sentence)) {
+                    frequencies.merge(term, 1, Integer::sum);
+                    lengths[chunk]++;
+                }
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new ArrayList<>())
+                        .add(new int[] { chunk, entry.getValue() });
+            }
+            texts[chunk] = String.join("\n", sentences).getBytes(StandardCharsets.UTF_8);
+            totalLength += lengths[chunk];
+        }
+
+        byte[][] keys = postings.keySet().stream()
+                .map(term -> term.getBytes(StandardCharsets.UTF_8))
+                .sorted(Arrays::compareUnsigned)
+                .toArray(byte[][]::new);
+        long keyBytes = Arrays.stream(keys).mapToLong(key -> key.length).sum();
+        long postingCount = postings.values().stream().mapToLong(List::size).sum();
+        long termsOffset = HEADER_BYTES + (long) chunks.size() * CHUNK_ENTRY_BYTES;
+        long postingsOffset = termsOffset + (long) keys.length * TERM_ENTRY_BYTES + keyBytes;
+        long textOffset = postingsOffset + postingCount * POSTING_BYTES;
+        long size = textOffset + Arrays.stream(texts).mapToLong(text -> text.length).sum();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Document index would exceed 2 GB");
+        }
+
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(chunks.size());
+            out.writeInt(keys.length);
+            out.writeFloat(chunks.isEmpty() ? 0f : (float) totalLength / chunks.size());
+            out.writeInt(0);
+            out.writeLong(termsOffset);
+            out.writeLong(postingsOffset);
+            out.writeLong(textOffset);
+
+            int textStart = 0;
+            for (int chunk = 0; chunk < chunks.size(); chunk++) {
+                out.writeInt(lengths[chunk]);
+                out.writeInt(textStart);
+                out.writeInt(texts[chunk].length);
+                textStart += texts[chunk].length;
+            }
+            int keyStart = 0;
+            int postingStart = 0;
+            for (byte[] key : keys) {
+                int documentFrequency = postings.get(new String(key, StandardCharsets.UTF_8)).size();
+                out.writeInt(keyStart);
+                out.writeInt(key.length);
+                out.writeInt(postingStart);
+                out.writeInt(documentFrequency);
+                keyStart += key.length;
+                postingStart += documentFrequency * POSTING_BYTES;
+            }
+            for (byte[] key : keys) {
+                out.write(key);
+            }
+            for (byte[] key : keys) {
+                for (int[] posting : postings.get(new String(key, StandardCharsets.UTF_8))) {
+                    out.writeInt(posting[0]);
+                    out.writeInt(posting[1]);
+                }
+            }
+            for (byte[] text : texts) {
+                out.write(text);
+            }
+        }
+    }
+
+    // ---------------- Reading ---------------- //
+
+    static DocumentIndex open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping outlives the channel; it is released with the buffer.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a document index: " + file);
+        }
+        return new DocumentIndex(buffer, buffer.getInt(8), buffer.getInt(12), buffer.getFloat(16),
+                (int) buffer.getLong(24), (int) buffer.getLong(32), (int) buffer.getLong(40));
+    }
+
+    int chunkCount() {
+        return chunkCount;
+    }
+
+    // Only absolute reads on the shared buffer, so searches need no locking.
+    List<Hit> search(List<String> queryTerms, int limit) {
+        if (chunkCount == 0 || limit <= 0) {
+            return List.of();
+        }
+        double[] scores = new double[chunkCount];
+        for (String term : new LinkedHashSet<>(queryTerms)) {
+            int entry = find(term);
+            if (entry < 0) {
+                continue;
+            }
+            int documentFrequency = buffer.getInt(entry + 12);
+            double idf = idf(documentFrequency);
+            int posting = postingsOffset + buffer.getInt(entry + 8);
+            for (int i = 0; i < documentFrequency; i++, posting += POSTING_BYTES) {
+                int chunk = buffer.getInt(posting);
+                int frequency = buffer.getInt(posting + 4);
+                double norm = 1 - B + B * chunkLength(chunk) / averageLength;
+                scores[chunk] += idf * frequency * (K1 + 1) / (frequency + K1 * norm);
+            }
+        }
+
+        // The weakest of the best `limit` chunks sits on top.
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANK);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            if (scores[chunk] <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(chunk, scores[chunk]));
+            } else if (scores[chunk] > best.peek().score()) {
+                best.poll();
+                best.add(new Hit(chunk, scores[chunk]));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANK.reversed());
+        return hits;
+    }
+
+    // Inverse document frequency of a term; a term the document lacks weighs as the rarest.
+    double idf(String term) {
+        int entry = find(term);
+        return idf(entry < 0 ? 0 : buffer.getInt(entry + 12));
+    }
+
+    boolean contains(String term) {
+        return find(term) >= 0;
+    }
+
+    // In at most half of the chunks, so it tells passages apart.
+    boolean isSelective(String term) {
+        int entry = find(term);
+        return entry >= 0 && buffer.getInt(entry + 12) * 2 <= chunkCount;
+    }
+
+    String text(int chunk) {
+        int entry = HEADER_BYTES + chunk * CHUNK_ENTRY_BYTES;
+        byte[] bytes = new byte[buffer.getInt(entry + 8)];
+        buffer.get(textOffset + buffer.getInt(entry + 4), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (chunkCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private int chunkLength(int chunk) {
+        return buffer.getInt(HEADER_BYTES + chunk * CHUNK_ENTRY_BYTES);
+    }
+
+    // Binary search of the term table; returns the entry's offset or -1.
+    private int find(String term) {
+        byte[] key = term.getBytes(StandardCharsets.UTF_8);
+        int keysOffset = termsOffset + termCount * TERM_ENTRY_BYTES;
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = termsOffset + middle * TERM_ENTRY_BYTES;
+            int compared = compare(keysOffset + buffer.getInt(entry), buffer.getInt(entry + 4), key);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int start, int length, byte[] key) {
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int compared = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+}
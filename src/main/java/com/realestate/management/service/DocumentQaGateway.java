@@ -0,0 +1,335 @@
+package com.realestate.management.service;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.realestate.management.dto.DocumentAnswer;
+import com.realestate.management.exception.DocumentQaException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gateway to the RAGPickerz legal-document Q&A service (POST {@code /api/v1/hackrx/run}
+ * with a multipart PDF {@code file} and repeated {@code questions} fields, answering
+ * {@code {"answers": [...]}}). Answers are cached by the document's SHA-256 and the
+ * normalized question, so rephrasings that differ only in case, spacing or trailing
+ * punctuation share an answer; upstream still sees each question as it was first asked.
+ * A question already on its way upstream is not asked twice:
+ * later callers get the same pending future. Questions about one document that miss the
+ * cache go out in a single call, because the service embeds the whole document each time.
+ * The service keeps one global vector store, so {@code rag.max-concurrent-calls} defaults to
+ * one call at a time; up to {@code rag.queue-capacity} more wait and further calls are refused.
+ */
+@Service
+public class DocumentQaGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentQaGateway.class);
+
+    private static final String RUN_PATH = "/api/v1/hackrx/run";
+    private static final String UPSTREAM_ERROR_PREFIX = "[Error]";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.]+$");
+
+    private final URI endpoint;
+    private final Duration timeout;
+    private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor executor;
+    private final AsyncCache<AnswerKey, String> answers;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public DocumentQaGateway(@Value("${rag.url:http://localhost:8000}") String baseUrl,
+                             @Value("${rag.connect-timeout:PT2S}") Duration connectTimeout,
+                             @Value("${rag.timeout:PT2M}") Duration timeout,
+                             @Value("${rag.max-concurrent-calls:1}") int maxConcurrentCalls,
+                             @Value("${rag.queue-capacity:20}") int queueCapacity,
+                             @Value("${rag.answer-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${rag.answer-cache.expire-after-write:P7D}") Duration expireAfterWrite,
+                             FileStorageService fileStorageService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.endpoint = URI.create(baseUrl.replaceAll("/+$", "") + RUN_PATH);
+        this.timeout = timeout;
+        this.fileStorageService = fileStorageService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "document-qa-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Failed calls are dropped from the cache as they complete, so the next asker retries.
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .buildAsync();
+    }
+
+    /**
+     * Answers questions about a stored PDF (a name returned by {@link FileStorageService}).
+     * Returns one future per question, in order; cached answers are complete already. Futures
+     * fail with {@link RejectedExecutionException} when the call queue is full, and with
+     * {@link DocumentQaException} when the call fails or times out.
+     */
+    public List<CompletableFuture<DocumentAnswer>> ask(String documentFileName, List<String> questions) {
+        Path document;
+        String documentHash;
+        try {
+            document = fileStorageService.resolve(documentFileName);
+            if (!Files.isRegularFile(document)) {
+                throw new DocumentQaException("Stored document not found: " + documentFileName);
+            }
+            documentHash = fileStorageService.contentHashOf(documentFileName);
+        } catch (IOException | RuntimeException ex) {
+            Throwable failure = ex instanceof IOException
+                    ? new DocumentQaException("Could not read stored document " + documentFileName, ex) : ex;
+            return questions.stream().map(question -> CompletableFuture.<DocumentAnswer>failedFuture(failure)).toList();
+        }
+
+        // A placeholder future goes into the cache before the call, so later askers of the same
+        // question wait for it; every placeholder is completed, exceptionally when unanswered.
+        List<CompletableFuture<DocumentAnswer>> results = new ArrayList<>(questions.size());
+        Map<AnswerKey, CompletableFuture<String>> owned = new LinkedHashMap<>();
+        Map<AnswerKey, String> asked = new LinkedHashMap<>();
+        for (String question : questions) {
+            AnswerKey key = new AnswerKey(documentHash, normalize(question));
+            CompletableFuture<String> pending = owned.get(key);
+            if (pending == null) {
+                CompletableFuture<String> placeholder = new CompletableFuture<>();
+                pending = answers.asMap().putIfAbsent(key, placeholder);
+                if (pending == null) {
+                    pending = placeholder;
+                    owned.put(key, placeholder);
+                    asked.put(key, question);
+                }
+            }
+            boolean cached = !owned.containsKey(key) && pending.isDone() && !pending.isCompletedExceptionally();
+            (owned.containsKey(key) ? misses : cached ? hits : coalesced).increment();
+            results.add(pending.thenApply(answer -> new DocumentAnswer(question, answer, cached)));
+        }
+        if (!owned.isEmpty()) {
+            call(document, asked).whenComplete((answered, failure) -> complete(owned, answered, failure));
+        }
+        return results;
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + coalesced.sum() + misses.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cachedAnswers", answers.synchronous().estimatedSize());
+        result.put("lookups", lookups);
+        result.put("hits", hitCount);
+        result.put("coalesced", coalesced.sum());
+        result.put("misses", misses.sum());
+        result.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        result.put("upstreamCalls", upstreamCalls.sum());
+        result.put("queuedCalls", executor.getQueue().size());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Lower case, NFKC, single spaces and no trailing ?!. so trivially different phrasings share a key.
+    static String normalize(String question) {
+        String text = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+        return TRAILING_PUNCTUATION.matcher(text).replaceAll("");
+    }
+
+    // ---------------- Calls ---------------- //
+
+    private record AnswerKey(String documentHash, String question) { }
+
+    // Keys map to the question as the caller phrased it; only the cache key is normalized.
+    private CompletableFuture<Map<AnswerKey, String>> call(Path document, Map<AnswerKey, String> asked) {
+        try {
+            return CompletableFuture.supplyAsync(() -> send(document, asked), executor);
+        } catch (RejectedExecutionException ex) {
+            record("rejected", 0);
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Document Q&A queue is full"));
+        }
+    }
+
+    private static void complete(Map<AnswerKey, CompletableFuture<String>> owned, Map<AnswerKey, String> answered,
+                                 Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        owned.forEach((key, future) -> {
+            String answer = answered != null ? answered.get(key) : null;
+            if (cause != null) {
+                future.completeExceptionally(cause);
+            } else if (answer == null) {
+                future.completeExceptionally(
+                        new DocumentQaException("The document Q&A service could not answer this question"));
+            } else {
+                future.complete(answer);
+            }
+        });
+    }
+
+    private Map<AnswerKey, String> send(Path document, Map<AnswerKey, String> asked) {
+        long started = System.nanoTime();
+        upstreamCalls.increment();
+        HttpResponse<byte[]> response;
+        try {
+            String boundary = "----DocumentQuestion" + UUID.randomUUID().toString().replace("-", "");
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .timeout(timeout)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(multipart(boundary, document, asked.values()))
+                    .build();
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            record("error", System.nanoTime() - started);
+            throw new DocumentQaException("Document Q&A call interrupted", ex);
+        } catch (IOException ex) {
+            record(ex instanceof HttpTimeoutException ? "timeout" : "error", System.nanoTime() - started);
+            throw translate(ex);
+        }
+
+        try {
+            Map<AnswerKey, String> answered = parse(response, asked);
+            record("success", System.nanoTime() - started);
+            return answered;
+        } catch (DocumentQaException ex) {
+            record("error", System.nanoTime() - started);
+            log.warn("Document Q&A call failed: {}", ex.getMessage());
+            throw ex;
+        }
+    }
+
+    // Question parts, then the PDF streamed from disk; every part has a known length.
+    private static HttpRequest.BodyPublisher multipart(String boundary, Path document, Collection<String> questions)
+            throws FileNotFoundException {
+        StringBuilder head = new StringBuilder();
+        for (String question : questions) {
+            head.append("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"questions\"\r\n")
+                    .append("Content-Type: text/plain; charset=UTF-8\r\n\r\n")
+                    .append(question).append("\r\n");
+        }
+        head.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"file\"; filename=\"")
+                .append(document.getFileName()).append("\"\r\n")
+                .append("Content-Type: application/pdf\r\n\r\n");
+        String tail = "\r\n--" + boundary + "--\r\n";
+        return HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head.toString(), StandardCharsets.UTF_8),
+                HttpRequest.BodyPublishers.ofFile(document),
+                HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8));
+    }
+
+    // ---------------- Responses ---------------- //
+
+    /*
+     * The service reports a question it could not answer as an "[Error] ..." answer. Those are
+     * left out of the map; their futures fail, which also drops them from the cache.
+     */
+    private Map<AnswerKey, String> parse(HttpResponse<byte[]> response, Map<AnswerKey, String> asked) {
+        int status = response.statusCode();
+        JsonNode body = readJson(response.body());
+        if (status != 200) {
+            String error = body != null && body.hasNonNull("detail") ? body.get("detail").asText() : "HTTP " + status;
+            throw new DocumentQaException("Document Q&A failed: " + error, status);
+        }
+        JsonNode list = body != null ? body.get("answers") : null;
+        if (list == null || !list.isArray() || list.size() != asked.size()) {
+            throw new DocumentQaException("Unexpected document Q&A response", status);
+        }
+        Map<AnswerKey, String> answered = new HashMap<>();
+        int i = 0;
+        for (Map.Entry<AnswerKey, String> question : asked.entrySet()) {
+            String answer = list.get(i++).asText();
+            if (answer.startsWith(UPSTREAM_ERROR_PREFIX)) {
+                log.warn("Document Q&A could not answer \"{}\": {}", question.getValue(), answer);
+            } else {
+                answered.put(question.getKey(), answer);
+            }
+        }
+        return answered;
+    }
+
+    private JsonNode readJson(byte[] body) {
+        try {
+            return body.length > 0 ? objectMapper.readTree(body) : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private DocumentQaException translate(IOException cause) {
+        if (cause instanceof HttpTimeoutException) {
+            return new DocumentQaException("Document Q&A timed out after " + timeout.toMillis() + " ms", cause);
+        }
+        if (cause instanceof ConnectException) {
+            return new DocumentQaException("Document Q&A service unreachable at " + endpoint, cause);
+        }
+        return new DocumentQaException("Document Q&A call failed: " + cause.getMessage(), cause);
+    }
+
+    private void record(String outcome, long nanos) {
+        Timer.builder("rag.requests")
+                .description("Document Q&A calls by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,408 @@
+package com.realestate.management.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.realestate.management.dto.DocumentAnswer;
+import com.realestate.management.dto.DocumentPassage;
+import com.realestate.management.exception.DocumentQaException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process retrieval over property legal documents. The text of a stored PDF is split into
+ * sentence-aligned chunks of about {@code documents.chunk-words} words that overlap by
+ * {@code documents.chunk-overlap-words}, and indexed into a BM25 {@link DocumentIndex} file
+ * under {@code <upload-dir>/.document-index}, named by the document's SHA-256 so that a
+ * property's index is built once and shared by identical uploads. Open indexes are kept
+ * memory-mapped. Indexes are built by a bounded pool of {@code documents.indexer.threads}
+ * threads, never on a request thread; until a document's index is ready its questions go to
+ * the Q&A service. OrphanedImageCollector removes index files of documents no longer attached.
+ *
+ * Questions are answered from the index when the best sentence of the top passages covers
+ * enough of the question ({@code documents.local-answer.min-confidence}, by IDF weight) and
+ * includes at least one term that is rare in the document; only the rest go to the document
+ * Q&A service through {@link DocumentQaGateway}.
+ */
+@Service
+public class DocumentRetrievalService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentRetrievalService.class);
+
+    public static final String INDEX_DIR = ".document-index";
+    private static final String INDEX_SUFFIX = ".bm25";
+
+    private final FileStorageService fileStorageService;
+    private final DocumentQaGateway documentQaGateway;
+    private final int chunkWords;
+    private final int overlapWords;
+    private final int answerPassages;
+    private final double minConfidence;
+    private final AsyncCache<String, DocumentIndex> indexes;
+    private final ThreadPoolExecutor indexer;
+    private final Timer searchTimer;
+    private final Timer buildTimer;
+    private final Counter indexAnswerCounter;
+    private final Counter ragAnswerCounter;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder indexAnswers = new LongAdder();
+    private final LongAdder ragAnswers = new LongAdder();
+    private final LongAdder indexesBuilt = new LongAdder();
+    private final LongAdder forwardedWhileIndexing = new LongAdder();
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public DocumentRetrievalService(FileStorageService fileStorageService,
+                                    DocumentQaGateway documentQaGateway,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${documents.chunk-words:80}") int chunkWords,
+                                    @Value("${documents.chunk-overlap-words:20}") int overlapWords,
+                                    @Value("${documents.answer-passages:3}") int answerPassages,
+                                    @Value("${documents.local-answer.min-confidence:0.6}") double minConfidence,
+                                    @Value("${documents.index-cache.maximum-size:256}") long maximumSize,
+                                    @Value("${documents.indexer.threads:1}") int indexerThreads,
+                                    @Value("${documents.indexer.queue-capacity:50}") int indexerQueueCapacity) {
+        this.fileStorageService = fileStorageService;
+        this.documentQaGateway = documentQaGateway;
+        this.chunkWords = chunkWords;
+        this.overlapWords = overlapWords;
+        this.answerPassages = answerPassages;
+        this.minConfidence = minConfidence;
+        // Only the pending future is stored under the cache's lock; the build runs on the indexer.
+        // A failed build is dropped from the cache, so the next use tries again.
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .buildAsync();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.indexer = new ThreadPoolExecutor(indexerThreads, indexerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(indexerQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "document-indexer-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.searchTimer = Timer.builder("documents.search")
+                .description("BM25 searches of property legal documents")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("documents.index.build")
+                .description("Text extraction and indexing of property legal documents")
+                .register(meterRegistry);
+        this.indexAnswerCounter = answers(meterRegistry, DocumentAnswer.SOURCE_INDEX);
+        this.ragAnswerCounter = answers(meterRegistry, DocumentAnswer.SOURCE_RAG);
+    }
+
+    // ---------------- Service Methods ---------------- //
+
+    /**
+     * Starts building the index of a stored document in the background, ahead of the first
+     * question. The future completes when the index is ready; it fails when the document cannot
+     * be read or the indexer queue is full, and a later use tries again.
+     */
+    public CompletableFuture<Void> prepare(String documentFileName) {
+        if (documentFileName == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return index(documentFileName)
+                .whenComplete((index, failure) -> {
+                    if (failure != null) {
+                        log.warn("Could not index document {}", documentFileName, unwrap(failure));
+                    }
+                })
+                .thenApply(index -> null);
+    }
+
+    /**
+     * The best passages of a stored document for a question, highest BM25 score first. Passages
+     * have no other source, so this waits for an index that is still being built.
+     */
+    public List<DocumentPassage> search(String documentFileName, String question, int limit) {
+        DocumentIndex index;
+        try {
+            index = index(documentFileName).join();
+        } catch (CompletionException ex) {
+            Throwable cause = unwrap(ex);
+            throw cause instanceof DocumentQaException qa ? qa
+                    : new DocumentQaException("Could not index stored document " + documentFileName, cause);
+        }
+        return passages(index, search(index, DocumentTextAnalyzer.terms(question), limit));
+    }
+
+    /**
+     * Answers questions about a stored PDF like {@link DocumentQaGateway#ask}: one future per
+     * question, in order. Questions the index answers confidently are complete at once; the
+     * others are asked of the document Q&A service in a single call. While the index is still
+     * being built, or cannot be built, every question goes to the Q&A service.
+     */
+    public List<CompletableFuture<DocumentAnswer>> ask(String documentFileName, List<String> questions) {
+        DocumentIndex index = DocumentIndex.EMPTY;
+        CompletableFuture<DocumentIndex> pending = index(documentFileName);
+        if (!pending.isDone()) {
+            forwardedWhileIndexing.add(questions.size());
+        } else {
+            try {
+                index = pending.join();
+            } catch (CompletionException ex) {
+                log.warn("Document index unavailable for {}, asking the document Q&A service", documentFileName,
+                        unwrap(ex));
+            }
+        }
+
+        List<CompletableFuture<DocumentAnswer>> results = new ArrayList<>(Collections.nCopies(questions.size(), null));
+        List<Integer> forwarded = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            Optional<DocumentAnswer> answer = answer(index, questions.get(i));
+            if (answer.isPresent()) {
+                indexAnswers.increment();
+                indexAnswerCounter.increment();
+                results.set(i, CompletableFuture.completedFuture(answer.get()));
+            } else {
+                forwarded.add(i);
+            }
+        }
+        if (!forwarded.isEmpty()) {
+            ragAnswers.add(forwarded.size());
+            ragAnswerCounter.increment(forwarded.size());
+            List<CompletableFuture<DocumentAnswer>> upstream = documentQaGateway.ask(documentFileName,
+                    forwarded.stream().map(questions::get).toList());
+            for (int i = 0; i < forwarded.size(); i++) {
+                results.set(forwarded.get(i), upstream.get(i));
+            }
+        }
+        return results;
+    }
+
+    public Map<String, Object> stats() {
+        long indexCount = indexAnswers.sum();
+        long answered = indexCount + ragAnswers.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("openIndexes", indexes.synchronous().estimatedSize());
+        result.put("indexesBuilt", indexesBuilt.sum());
+        result.put("queuedBuilds", indexer.getQueue().size());
+        result.put("forwardedWhileIndexing", forwardedWhileIndexing.sum());
+        result.put("searches", searches.sum());
+        result.put("meanSearchMillis", searchTimer.mean(TimeUnit.MILLISECONDS));
+        result.put("indexAnswers", indexCount);
+        result.put("ragAnswers", ragAnswers.sum());
+        result.put("indexAnswerRate", answered == 0 ? 0.0 : (double) indexCount / answered);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    // ---------------- Answers ---------------- //
+
+    /*
+     * Every sentence of the top passages (with the labelled lines a lead-in sentence introduces)
+     * is scored by the share of the question's IDF weight it contains. Question words the
+     * document lacks count with the mean weight of those it has, so a missing "money" or
+     * "happens" costs about as much as any other word. Of equally good spans the longer one
+     * wins: a lead-in cut off at the end of one chunk is whole in the next.
+     */
+    private Optional<DocumentAnswer> answer(DocumentIndex index, String question) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(DocumentTextAnalyzer.terms(question)));
+        List<DocumentIndex.Hit> hits = search(index, terms, answerPassages);
+        if (hits.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Double> weights = new HashMap<>();
+        double knownWeight = 0;
+        for (String term : terms) {
+            if (index.contains(term)) {
+                weights.put(term, index.idf(term));
+                knownWeight += weights.get(term);
+            }
+        }
+        double unknownWeight = knownWeight / weights.size();
+        double totalWeight = knownWeight + unknownWeight * (terms.size() - weights.size());
+
+        String best = null;
+        double bestConfidence = 0;
+        int bestLength = 0;
+        for (DocumentIndex.Hit hit : hits) {
+            List<String> sentences = List.of(index.text(hit.chunk()).split("\n"));
+            for (int start = 0; start < sentences.size(); start++) {
+                int end = DocumentTextAnalyzer.leadInEnd(sentences, start);
+                String span = String.join(" ", sentences.subList(start, end));
+                Set<String> spanTerms = new HashSet<>(DocumentTextAnalyzer.terms(span));
+                double covered = 0;
+                boolean selective = false;
+                for (Map.Entry<String, Double> weight : weights.entrySet()) {
+                    if (spanTerms.contains(weight.getKey())) {
+                        covered += weight.getValue();
+                        selective |= index.isSelective(weight.getKey());
+                    }
+                }
+                double confidence = covered / totalWeight;
+                if (selective && (confidence > bestConfidence
+                        || (confidence == bestConfidence && end - start > bestLength))) {
+                    best = span;
+                    bestConfidence = confidence;
+                    bestLength = end - start;
+                }
+            }
+        }
+        if (best == null || bestConfidence < minConfidence) {
+            return Optional.empty();
+        }
+        return Optional.of(new DocumentAnswer(question, best, passages(index, hits)));
+    }
+
+    private List<DocumentIndex.Hit> search(DocumentIndex index, List<String> terms, int limit) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        searches.increment();
+        return searchTimer.record(() -> index.search(terms, limit));
+    }
+
+    private static List<DocumentPassage> passages(DocumentIndex index, List<DocumentIndex.Hit> hits) {
+        return hits.stream()
+                .map(hit -> new DocumentPassage(hit.chunk(), hit.score(), index.text(hit.chunk())))
+                .toList();
+    }
+
+    // ---------------- Indexing ---------------- //
+
+    private CompletableFuture<DocumentIndex> index(String documentFileName) {
+        Path document;
+        String hash;
+        try {
+            document = fileStorageService.resolve(documentFileName);
+            if (!Files.isRegularFile(document)) {
+                throw new DocumentQaException("Stored document not found: " + documentFileName);
+            }
+            hash = fileStorageService.contentHashOf(documentFileName);
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(
+                    new DocumentQaException("Could not index stored document " + documentFileName, ex));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return indexes.get(hash, (key, cacheExecutor) -> {
+            try {
+                return CompletableFuture.supplyAsync(() -> load(document, key), indexer);
+            } catch (RejectedExecutionException ex) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Document indexer queue is full"));
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    // An index file is written once and replaced atomically, so a file that exists is complete.
+    private DocumentIndex load(Path document, String hash) {
+        try {
+            Path directory = fileStorageService.getStorageLocation().resolve(INDEX_DIR);
+            Path file = directory.resolve(hash + INDEX_SUFFIX);
+            if (Files.isRegularFile(file)) {
+                return DocumentIndex.open(file);
+            }
+
+            long started = System.nanoTime();
+            String text;
+            try {
+                text = extractText(document);
+            } catch (IOException ex) {
+                // Not a readable PDF: nothing to index, every question goes to the Q&A service.
+                log.info("No text extracted from {}: {}", document.getFileName(), ex.getMessage());
+                return DocumentIndex.EMPTY;
+            }
+            List<List<String>> chunks = chunk(DocumentTextAnalyzer.sentences(text), chunkWords, overlapWords);
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, ".index-", ".tmp");
+            try {
+                DocumentIndex.write(temp, chunks);
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            buildTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            indexesBuilt.increment();
+            log.info("Indexed {} into {} chunks", document.getFileName(), chunks.size());
+            return DocumentIndex.open(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String extractText(Path document) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(document.toFile())) {
+            return new PDFTextStripper().getText(pdf);
+        }
+    }
+
+    // Whole sentences of at least chunkWords words; each chunk repeats the last overlapWords of the one before.
+    static List<List<String>> chunk(List<String> sentences, int chunkWords, int overlapWords) {
+        List<List<String>> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < sentences.size()) {
+            int end = start;
+            int words = 0;
+            while (end < sentences.size() && (end == start || words < chunkWords)) {
+                words += wordCount(sentences.get(end++));
+            }
+            chunks.add(List.copyOf(sentences.subList(start, end)));
+            if (end == sentences.size()) {
+                break;
+            }
+            int next = end;
+            int overlap = 0;
+            while (next - 1 > start && overlap < overlapWords) {
+                overlap += wordCount(sentences.get(--next));
+            }
+            start = next;
+        }
+        return chunks;
+    }
+
+    private static int wordCount(String sentence) {
+        return sentence.isBlank() ? 0 : sentence.trim().split("\\s+").length;
+    }
+
+    private static Counter answers(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("documents.answers")
+                .description("Legal document questions by where they were answered")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
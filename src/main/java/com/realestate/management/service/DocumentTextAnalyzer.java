@@ -0,0 +1,167 @@
+package com.realestate.management.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text handling shared by indexing and querying of legal documents: sentence units from
+ * extracted PDF text, and index terms (lower-cased, stop words dropped, lightly stemmed so
+ * that "cancels", "cancelled" and "cancellation" meet at "cancel").
+ */
+final class DocumentTextAnalyzer {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Sentence ends inside a line; "Mr. Ramesh" and "Plot No. 17" do not end one.
+    private static final Pattern SENTENCE_END = Pattern.compile(
+            "(?<!\\b(?:Mr|Mrs|Ms|Dr|No|Rs|Sr|Jr|St|Sq|vs)\\.)(?<=[.!?])\\s+(?=[\\p{Lu}\"(])");
+
+    // "Seller: Mr. Ramesh Gupta ..." - a short label and its value.
+    private static final Pattern LABEL = Pattern.compile("^\\p{Lu}[\\p{L} ]{0,40}:(\\s|$)");
+    private static final Pattern LABEL_WITH_VALUE = Pattern.compile("^\\p{Lu}[\\p{L} ]{0,40}:\\s+\\S");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "or", "the", "of", "to", "in", "on", "at", "for", "by", "with", "from", "as",
+            "into", "about", "after", "before", "under", "over", "upon", "any", "all", "each",
+            "is", "are", "was", "were", "be", "been", "being", "am", "will", "shall", "would", "should",
+            "can", "could", "may", "might", "must", "do", "does", "did", "have", "has", "had",
+            "what", "which", "who", "whom", "whose", "when", "where", "why", "how",
+            "this", "that", "these", "those", "there", "then", "than", "so", "such", "it", "its",
+            "i", "me", "my", "we", "us", "our", "you", "your", "he", "him", "his", "she", "her",
+            "they", "them", "their", "if", "much", "many", "get", "also");
+
+    private DocumentTextAnalyzer() {
+    }
+
+    // ---------------- Sentences ---------------- //
+
+    /*
+     * Extracted text keeps the PDF's line breaks. A unit ends where a line ends in . : ; ! or ?,
+     * and headings (mostly capitals) and "Label: value" lines stand on their own, since
+     * key facts of an agreement are often laid out that way without punctuation.
+     */
+    static List<String> sentences(String text) {
+        List<String> units = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String rawLine : text.split("\\R")) {
+            String line = WHITESPACE.matcher(Normalizer.normalize(rawLine, Normalizer.Form.NFKC)).replaceAll(" ").trim();
+            if (line.isEmpty()) {
+                flush(current, units);
+                continue;
+            }
+            if (isHeading(line) || LABEL.matcher(line).find()) {
+                flush(current, units);
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(line);
+            char last = line.charAt(line.length() - 1);
+            if (isHeading(line) || ".:;!?".indexOf(last) >= 0 || LABEL_WITH_VALUE.matcher(line).find()) {
+                flush(current, units);
+            }
+        }
+        flush(current, units);
+        return units;
+    }
+
+    /*
+     * A unit ending in a colon introduces what follows ("... is made on 10/11/2025 between:"),
+     * so it answers together with the labelled lines after it.
+     */
+    static int leadInEnd(List<String> units, int start) {
+        int end = start + 1;
+        if (!units.get(start).endsWith(":")) {
+            return end;
+        }
+        while (end < units.size() && LABEL_WITH_VALUE.matcher(units.get(end)).find()) {
+            end++;
+        }
+        return end;
+    }
+
+    private static void flush(StringBuilder current, List<String> units) {
+        if (current.length() == 0) {
+            return;
+        }
+        for (String sentence : SENTENCE_END.split(current)) {
+            if (!sentence.isBlank()) {
+                units.add(sentence.trim());
+            }
+        }
+        current.setLength(0);
+    }
+
+    // "CLAUSE 4 – REFUND ON CANCELLATION (Clause 7.2)" is a heading too.
+    private static boolean isHeading(String line) {
+        int letters = 0;
+        int upper = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (Character.isUpperCase(c)) {
+                    upper++;
+                }
+            }
+        }
+        return letters > 0 && upper * 5 >= letters * 4;
+    }
+
+    // ---------------- Terms ---------------- //
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (STOP_WORDS.contains(token) || (token.length() == 1 && !Character.isDigit(token.charAt(0)))) {
+                continue;
+            }
+            terms.add(stem(token));
+        }
+        return terms;
+    }
+
+    // Suffix stripping in the spirit of Porter's first steps; stems keep at least three letters.
+    static String stem(String word) {
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        String stem = word;
+        if (word.endsWith("ies")) {
+            stem = word.substring(0, word.length() - 3) + "y";
+        } else if (word.endsWith("ation")) {
+            stem = strip(word, 5);
+        } else if (word.endsWith("ment")) {
+            stem = strip(word, 4);
+        } else if (word.endsWith("ing")) {
+            stem = strip(word, 3);
+        } else if (word.endsWith("eed")) {
+            stem = strip(word, 1);
+        } else if (word.endsWith("ed")) {
+            stem = strip(word, 2);
+        } else if (word.endsWith("sses") || word.endsWith("xes") || word.endsWith("ches") || word.endsWith("shes")) {
+            stem = strip(word, 2);
+        } else if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            stem = strip(word, 1);
+        }
+        // "cancell" (from cancelled, cancelling, cancellation) meets "cancel"; "sell" stays.
+        int length = stem.length();
+        if (!stem.equals(word) && length >= 5 && stem.charAt(length - 1) == stem.charAt(length - 2)
+                && "aeiou".indexOf(stem.charAt(length - 1)) < 0) {
+            stem = stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+
+    private static String strip(String word, int suffixLength) {
+        return word.length() - suffixLength >= 3 ? word.substring(0, word.length() - suffixLength) : word;
+    }
+}
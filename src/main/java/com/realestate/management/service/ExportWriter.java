@@ -0,0 +1,135 @@
+package com.realestate.management.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes export rows as they are produced: CSV with a header line, or a JSON array of
+ * objects keyed by column name. Nothing is buffered beyond the underlying writer, and
+ * {@link #flush()} pushes what has been written so far to the client.
+ */
+public abstract class ExportWriter implements Closeable {
+
+    protected final List<String> columns;
+
+    protected ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static ExportWriter open(DataFormat format, OutputStream out, List<String> columns) throws IOException {
+        return format == DataFormat.CSV ? new Csv(out, columns) : new Json(out, columns);
+    }
+
+    // One value per column, in column order.
+    public abstract void row(Object... values) throws IOException;
+
+    public abstract void flush() throws IOException;
+
+    // ---------------- CSV ---------------- //
+
+    static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            row(columns.toArray());
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(values[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks; double the quotes.
+        private void writeField(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value instanceof Double d ? BigDecimal.valueOf(d).toPlainString() : value.toString();
+            boolean quote = false;
+            for (int i = 0; i < text.length() && !quote; i++) {
+                char c = text.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    // ---------------- JSON ---------------- //
+
+    static final class Json extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        Json(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                generator.writeFieldName(columns.get(i));
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long l) {
+                    generator.writeNumber(l);
+                } else if (value instanceof Double d) {
+                    generator.writeNumber(d);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+        }
+    }
+}
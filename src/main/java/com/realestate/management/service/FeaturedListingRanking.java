@@ -0,0 +1,13 @@
+package com.realestate.management.service;
+
+import java.util.List;
+
+import com.realestate.management.entity.Property;
+
+// Strategy for choosing the home-page featured listings; selected by featured.ranking.
+public interface FeaturedListingRanking {
+
+    String name();
+
+    List<Property> rank(int limit);
+}
@@ -0,0 +1,108 @@
+package com.realestate.management.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.realestate.management.entity.Property;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds an immutable snapshot of the home-page featured listings. The snapshot is swapped
+ * atomically after a background rebuild, so readers never touch the database once it exists.
+ */
+@Service
+public class FeaturedListingsService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeaturedListingsService.class);
+
+    private final FeaturedListingRanking ranking;
+    private final int size;
+
+    private final AtomicReference<List<Property>> snapshot = new AtomicReference<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "featured-listings-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public FeaturedListingsService(List<FeaturedListingRanking> rankings,
+                                   @Value("${featured.ranking:newest}") String rankingName,
+                                   @Value("${featured.size:6}") int size) {
+        Map<String, FeaturedListingRanking> byName = rankings.stream()
+                .collect(Collectors.toMap(FeaturedListingRanking::name, Function.identity()));
+        this.ranking = byName.get(rankingName);
+        if (this.ranking == null) {
+            throw new IllegalStateException("Unknown featured.ranking '" + rankingName
+                    + "', expected one of " + byName.keySet());
+        }
+        this.size = size;
+    }
+
+    // ---------------- Service Methods ---------------- //
+
+    // Null until the first build completes; callers fall back to a bounded query.
+    public List<Property> getFeaturedListings() {
+        return snapshot.get();
+    }
+
+    public void rebuild() {
+        List<Property> listings = List.copyOf(ranking.rank(size));
+        snapshot.set(listings);
+        log.debug("Featured listings rebuilt with ranking '{}' ({} properties)", ranking.name(), listings.size());
+    }
+
+    // Bursts of writes collapse into a single pending rebuild.
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    log.warn("Featured listings rebuild failed; keeping previous snapshot", ex);
+                }
+            });
+        }
+    }
+
+    // ---------------- Triggers ---------------- //
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        requestRebuild();
+    }
+
+    // Rankings such as most-inquiries also drift without property writes.
+    @Scheduled(fixedDelayString = "${featured.refresh-interval:PT5M}",
+               initialDelayString = "${featured.refresh-interval:PT5M}")
+    public void scheduledRefresh() {
+        requestRebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
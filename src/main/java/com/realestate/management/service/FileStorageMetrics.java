@@ -0,0 +1,57 @@
+package com.realestate.management.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Byte counters and latency timers for upload storage. Writes are split into bytes that
+ * reached the disk and bytes that deduplicated onto an existing blob; reads count what the
+ * upload endpoint sent (request latency for it is already in {@code http.server.requests}).
+ */
+@Component
+public class FileStorageMetrics {
+
+    private final Timer storeTimer;
+    private final Timer deleteTimer;
+    private final Counter bytesWritten;
+    private final Counter bytesDeduplicated;
+    private final Counter bytesServed;
+
+    public FileStorageMetrics(MeterRegistry registry) {
+        this.storeTimer = Timer.builder("file.storage.store")
+                .description("Time to store an upload, including hashing and reference counting")
+                .register(registry);
+        this.deleteTimer = Timer.builder("file.storage.delete")
+                .description("Time to release a stored file")
+                .register(registry);
+        this.bytesWritten = bytes(registry, "written", "Upload bytes written to the store");
+        this.bytesDeduplicated = bytes(registry, "deduplicated", "Upload bytes matching an existing blob");
+        this.bytesServed = bytes(registry, "served", "Stored bytes sent to clients");
+    }
+
+    public void stored(long nanos, long size, boolean deduplicated) {
+        storeTimer.record(nanos, TimeUnit.NANOSECONDS);
+        (deduplicated ? bytesDeduplicated : bytesWritten).increment(size);
+    }
+
+    public void deleted(long nanos) {
+        deleteTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void served(long size) {
+        bytesServed.increment(size);
+    }
+
+    private static Counter bytes(MeterRegistry registry, String kind, String description) {
+        return Counter.builder("file.storage.bytes")
+                .tag("kind", kind)
+                .baseUnit("bytes")
+                .description(description)
+                .register(registry);
+    }
+}
@@ -1,63 +1,338 @@
 package com.realestate.management.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.realestate.management.entity.StoredFile;
 import com.realestate.management.exception.FileStorageException;
+import com.realestate.management.repository.StoredFileRepository;
+import com.realestate.management.util.TransactionCallbacks;
 
+/**
+ * Stores uploads in {@code file.upload-dir}. In the default content-addressed mode every
+ * upload is hashed while it streams to disk and kept once as {@code <sha-256><ext>}; a
+ * {@link StoredFile} row counts the references to it, and the blob (with its image
+ * variants) is removed when the last one is released. The legacy {@code uuid} mode names
+ * each upload randomly and deletes it outright.
+ */
 @Service
 public class FileStorageService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(FileStorageService.class);
+
+    // URL prefix under which stored files are served.
+    public static final String PUBLIC_PATH = "/uploads/properties/";
+
+    private static final Pattern CONTENT_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern CONTENT_VARIANT = Pattern.compile("[0-9a-f]{64}-[a-z]+\\.jpg");
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
     private final Path fileStorageLocation;
-    
-    public FileStorageService(@Value("${file.upload-dir}") String uploadDir) {
+    private final boolean contentAddressed;
+    private final StoredFileRepository storedFileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate joinedTransactionTemplate;
+    private final FileStorageMetrics metrics;
+
+    public FileStorageService(@Value("${file.upload-dir}") String uploadDir,
+                              @Value("${file.storage.mode:content-addressed}") String mode,
+                              StoredFileRepository storedFileRepository,
+                              PlatformTransactionManager transactionManager,
+                              FileStorageMetrics metrics) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
         try {
             Files.createDirectories(this.fileStorageLocation);
         } catch (Exception ex) {
             throw new FileStorageException("Could not create upload directory", ex);
         }
+        if (!mode.equals("content-addressed") && !mode.equals("uuid")) {
+            throw new IllegalStateException("Unknown file.storage.mode '" + mode
+                    + "', expected content-addressed or uuid");
+        }
+        this.contentAddressed = mode.equals("content-addressed");
+        this.storedFileRepository = storedFileRepository;
+        this.metrics = metrics;
+
+        // Releases run from after-commit callbacks, so they always need a transaction of their own.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.joinedTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.joinedTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_MANDATORY);
     }
-    
+
     public String storeFile(MultipartFile file) {
         String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        
+
         try {
             if (originalFileName.contains("..")) {
                 throw new FileStorageException("Invalid file path: " + originalFileName);
             }
-            
-            String fileExtension = "";
-            int lastDotIndex = originalFileName.lastIndexOf('.');
-            if (lastDotIndex > 0) {
-                fileExtension = originalFileName.substring(lastDotIndex);
+
+            String fileExtension = extensionOf(originalFileName);
+
+            if (contentAddressed) {
+                try (InputStream in = file.getInputStream()) {
+                    return storeContent(in, fileExtension);
+                }
             }
-            
+
+            long started = System.nanoTime();
             String fileName = UUID.randomUUID().toString() + fileExtension;
             Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            
+            long size = Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            metrics.stored(System.nanoTime() - started, size, false);
+
             return fileName;
         } catch (IOException ex) {
             throw new FileStorageException("Could not store file " + originalFileName, ex);
         }
     }
-    
+
+    /**
+     * Streams content into the store and takes one reference on the resulting blob. The
+     * digest is computed on the way to a temp file, so the content is read exactly once.
+     */
+    public String storeContent(InputStream content, String fileExtension) throws IOException {
+        long started = System.nanoTime();
+        Path temp = Files.createTempFile(this.fileStorageLocation, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String fileName = HexFormat.of().formatHex(digest.digest()) + fileExtension;
+            boolean created = addReferences(fileName, temp, size, 1);
+            metrics.stored(System.nanoTime() - started, size, !created);
+            return fileName;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Moves {@code source} into place as {@code fileName} unless the blob already exists, and
+     * adds {@code count} references to it. A lost insert race is retried as an increment.
+     * Returns whether {@code source} was moved, i.e. the blob was not stored yet.
+     */
+    public boolean addReferences(String fileName, Path source, long size, long count) {
+        try {
+            return addReferencesOnce(fileName, source, size, count);
+        } catch (DataIntegrityViolationException ex) {
+            return addReferencesOnce(fileName, source, size, count);
+        }
+    }
+
+    /**
+     * {@link #addReferences} inside the caller's transaction, so the references commit or roll
+     * back together with the rows that hold them. A lost insert race fails that transaction.
+     */
+    public boolean addReferencesInTransaction(String fileName, Path source, long size, long count) {
+        return addReferencesWith(joinedTransactionTemplate, fileName, source, size, count);
+    }
+
+    private boolean addReferencesOnce(String fileName, Path source, long size, long count) {
+        return addReferencesWith(transactionTemplate, fileName, source, size, count);
+    }
+
+    private boolean addReferencesWith(TransactionTemplate template, String fileName, Path source, long size,
+                                      long count) {
+        return template.execute(status -> {
+            Path target = resolve(fileName);
+            StoredFile stored = storedFileRepository.findForUpdate(fileName).orElse(null);
+            boolean moved = false;
+            try {
+                if (!Files.exists(target)) {
+                    Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                    moved = true;
+                }
+            } catch (IOException ex) {
+                throw new FileStorageException("Could not store file " + fileName, ex);
+            }
+            if (stored == null) {
+                storedFileRepository.saveAndFlush(new StoredFile(fileName, count, size));
+            } else {
+                stored.setReferenceCount(stored.getReferenceCount() + count);
+            }
+            return moved;
+        });
+    }
+
+    public String toPublicUrl(String fileName) {
+        return PUBLIC_PATH + fileName;
+    }
+
+    // Returns the stored file name behind a public URL, or null for external or unknown URLs.
+    public String fileNameOf(String url) {
+        if (url == null || !url.startsWith(PUBLIC_PATH)) {
+            return null;
+        }
+        String fileName = url.substring(PUBLIC_PATH.length());
+        return fileName.isEmpty() || fileName.contains("/") || fileName.contains("..") ? null : fileName;
+    }
+
+    public static boolean isContentName(String fileName) {
+        return CONTENT_NAME.matcher(fileName).matches();
+    }
+
+    // Blobs and their variants are never rewritten under the same name, so caches may keep them forever.
+    public static boolean isImmutable(String fileName) {
+        return isContentName(fileName) || CONTENT_VARIANT.matcher(fileName).matches();
+    }
+
+    // SHA-256 hex of a stored file: read off a content name, computed for uuid-named files.
+    public String contentHashOf(String fileName) throws IOException {
+        if (isContentName(fileName)) {
+            return fileName.substring(0, 64);
+        }
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(resolve(fileName)), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    public Path getStorageLocation() {
+        return fileStorageLocation;
+    }
+
+    public Path resolve(String fileName) {
+        Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+        if (!filePath.startsWith(this.fileStorageLocation)) {
+            throw new FileStorageException("Invalid file path: " + fileName);
+        }
+        return filePath;
+    }
+
+    /**
+     * Drops one reference to a stored file. Content-addressed blobs are deleted, together with
+     * their image variants, only when no reference remains; anything without a reference row
+     * (uuid mode, or files from before the migration) is deleted straight away.
+     *
+     * The files are unlinked only once the row is gone for good. Until the commit they are set
+     * aside under temp names while the row is locked, so a concurrent upload of the same
+     * content stores a fresh blob, and a rollback puts them back.
+     */
     public void deleteFile(String fileName) {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            StoredFile stored = storedFileRepository.findForUpdate(fileName).orElse(null);
+            if (stored != null && stored.getReferenceCount() > 1) {
+                stored.setReferenceCount(stored.getReferenceCount() - 1);
+                return;
+            }
+            if (stored != null) {
+                storedFileRepository.delete(stored);
+            }
+            List<Path[]> setAside = setAsideWithVariants(fileName);
+            TransactionCallbacks.afterCommit(() -> unlink(setAside));
+            TransactionCallbacks.afterRollback(() -> restore(setAside));
+        });
+        metrics.deleted(System.nanoTime() - started);
+    }
+
+    // For after-commit cleanup of a URL that is no longer referenced; failures are only logged.
+    public void release(String url) {
+        String fileName = fileNameOf(url);
+        if (fileName == null) {
+            return;
+        }
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Files.deleteIfExists(filePath);
+            deleteFile(fileName);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release stored file {}", fileName, ex);
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    // Pairs of (original, temp) paths; the temp names are swept by the orphan collector if left behind.
+    private List<Path[]> setAsideWithVariants(String fileName) {
+        List<Path> files = new ArrayList<>();
+        files.add(resolve(fileName));
+        for (ImageVariant variant : ImageVariant.values()) {
+            files.add(resolve(variant.fileNameFor(fileName)));
+        }
+        List<Path[]> setAside = new ArrayList<>();
+        try {
+            for (Path file : files) {
+                if (Files.exists(file)) {
+                    Path temp = fileStorageLocation.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+                    Files.move(file, temp, StandardCopyOption.ATOMIC_MOVE);
+                    setAside.add(new Path[] { file, temp });
+                }
+            }
         } catch (IOException ex) {
+            restore(setAside);
             throw new FileStorageException("Could not delete file " + fileName, ex);
         }
+        return setAside;
+    }
+
+    private static void unlink(List<Path[]> setAside) {
+        for (Path[] file : setAside) {
+            try {
+                Files.deleteIfExists(file[1]);
+            } catch (IOException ex) {
+                log.warn("Could not delete {}; the orphan sweep will", file[1], ex);
+            }
+        }
+    }
+
+    private static void restore(List<Path[]> setAside) {
+        for (Path[] file : setAside) {
+            try {
+                Files.move(file[1], file[0], StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                log.error("Could not restore {} from {}", file[0], file[1], ex);
+            }
+        }
+    }
+
+    // Lower-cased so that re-uploads of "photo.JPG" and "photo.jpg" share one blob.
+    public static String extensionOf(String fileName) {
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex <= 0) {
+            return "";
+        }
+        String extension = fileName.substring(lastDotIndex).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? extension : "";
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
     }
-}
\ No newline at end of file
+}
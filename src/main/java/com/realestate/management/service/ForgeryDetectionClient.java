@@ -0,0 +1,291 @@
+package com.realestate.management.service;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.management.dto.ForgeryVerdict;
+import com.realestate.management.exception.ForgeryDetectionException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Client for the forgery detection service ({@code forgery_detection_api}, POST
+ * {@code /detect-forgery} with a multipart {@code image} field). Calls are asynchronous and
+ * share one HTTP/1.1 client, whose kept-alive connections are reused between calls. At most
+ * {@code forgery.detection.max-connections} calls are in flight; up to
+ * {@code forgery.detection.queue-capacity} more wait for a slot, and anything beyond that is
+ * rejected at once. Stored files are streamed from disk into the request body. Images whose
+ * content was checked before are answered from {@link ForgeryVerdictCache} without a call.
+ */
+@Service
+public class ForgeryDetectionClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ForgeryDetectionClient.class);
+
+    private static final String DETECT_PATH = "/detect-forgery";
+    private static final String IMAGE_FIELD = "image";
+
+    private final URI endpoint;
+    private final Duration timeout;
+    private final FileStorageService fileStorageService;
+    private final ForgeryVerdictCache verdictCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Semaphore connections;
+    private final BlockingQueue<Runnable> waiting;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public ForgeryDetectionClient(@Value("${forgery.detection.url:http://localhost:5000}") String baseUrl,
+                                  @Value("${forgery.detection.connect-timeout:PT2S}") Duration connectTimeout,
+                                  @Value("${forgery.detection.timeout:PT30S}") Duration timeout,
+                                  @Value("${forgery.detection.max-connections:4}") int maxConnections,
+                                  @Value("${forgery.detection.queue-capacity:100}") int queueCapacity,
+                                  FileStorageService fileStorageService,
+                                  ForgeryVerdictCache verdictCache,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.endpoint = URI.create(baseUrl.replaceAll("/+$", "") + DETECT_PATH);
+        this.timeout = timeout;
+        this.fileStorageService = fileStorageService;
+        this.verdictCache = verdictCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.connections = new Semaphore(maxConnections);
+        this.waiting = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(2, maxConnections), r -> {
+            Thread thread = new Thread(r, "forgery-detection-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // HTTP/1.1: the Flask service does not speak h2c, and an upgrade attempt costs a round trip.
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+
+        Gauge.builder("forgery.detection.queue", waiting, Collection::size)
+                .description("Forgery checks waiting for a connection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a stored upload (a name returned by {@link FileStorageService}) for a forgery check.
+     * The content hash and verdict cache lookup run on the client's threads before a connection
+     * slot is taken, and a verdict cached for the same content completes the future without a
+     * call. The future fails with {@link RejectedExecutionException} when the wait queue is full,
+     * and with {@link ForgeryDetectionException} when the call fails or times out.
+     */
+    public CompletableFuture<ForgeryVerdict> verify(String fileName) {
+        Path file;
+        try {
+            file = fileStorageService.resolve(fileName);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (!Files.isRegularFile(file)) {
+            return CompletableFuture.failedFuture(new ForgeryDetectionException("Stored file not found: " + fileName));
+        }
+        // Cheap early answer while the queue is full; the offer after the lookup still decides.
+        if (waiting.remainingCapacity() == 0) {
+            return rejected();
+        }
+
+        long started = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> lookUp(fileName), executor)
+                .thenCompose(lookup -> {
+                    if (lookup.verdict() != null) {
+                        record("cached", System.nanoTime() - started);
+                        return CompletableFuture.completedFuture(lookup.verdict());
+                    }
+                    return enqueue(file, fileName, lookup.contentHash());
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---------------- Calls ---------------- //
+
+    private record Lookup(String contentHash, ForgeryVerdict verdict) { }
+
+    private Lookup lookUp(String fileName) {
+        String contentHash;
+        try {
+            contentHash = fileStorageService.contentHashOf(fileName);
+        } catch (IOException ex) {
+            throw new CompletionException(new ForgeryDetectionException("Could not read stored file " + fileName, ex));
+        }
+        return new Lookup(contentHash, verdictCache.get(contentHash).orElse(null));
+    }
+
+    private CompletableFuture<ForgeryVerdict> enqueue(Path file, String fileName, String contentHash) {
+        CompletableFuture<ForgeryVerdict> result = new CompletableFuture<>();
+        if (!waiting.offer(() -> send(file, fileName, contentHash, result))) {
+            return rejected();
+        }
+        dispatch();
+        return result;
+    }
+
+    private CompletableFuture<ForgeryVerdict> rejected() {
+        record("rejected", 0);
+        return CompletableFuture.failedFuture(new RejectedExecutionException("Forgery detection queue is full"));
+    }
+
+    // Starts waiting calls while connection slots are free.
+    private void dispatch() {
+        while (!waiting.isEmpty() && connections.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                connections.release();
+                return;
+            }
+            next.run();
+        }
+    }
+
+    private void released() {
+        connections.release();
+        dispatch();
+    }
+
+    private void send(Path file, String fileName, String contentHash, CompletableFuture<ForgeryVerdict> result) {
+        long started = System.nanoTime();
+        HttpRequest request;
+        try {
+            String boundary = "----ForgeryCheck" + UUID.randomUUID().toString().replace("-", "");
+            request = HttpRequest.newBuilder(endpoint)
+                    .timeout(timeout)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(multipart(boundary, file, fileName))
+                    .build();
+        } catch (FileNotFoundException | RuntimeException ex) {
+            released();
+            result.completeExceptionally(new ForgeryDetectionException("Could not read stored file " + fileName, ex));
+            return;
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    released();
+                    long elapsed = System.nanoTime() - started;
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause() : failure;
+                        record(cause instanceof HttpTimeoutException ? "timeout" : "error", elapsed);
+                        result.completeExceptionally(translate(cause));
+                        return;
+                    }
+                    try {
+                        ForgeryVerdict verdict = parse(response);
+                        record("success", elapsed);
+                        verdictCache.put(contentHash, verdict);
+                        result.complete(verdict);
+                    } catch (ForgeryDetectionException ex) {
+                        record("error", elapsed);
+                        log.warn("Forgery check of {} failed: {}", fileName, ex.getMessage());
+                        result.completeExceptionally(ex);
+                    }
+                });
+    }
+
+    // Preamble, file and closing boundary; the file publisher streams from disk with a known length.
+    private static HttpRequest.BodyPublisher multipart(String boundary, Path file, String fileName)
+            throws FileNotFoundException {
+        String contentType = MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + IMAGE_FIELD + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        return HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                HttpRequest.BodyPublishers.ofFile(file),
+                HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8));
+    }
+
+    // ---------------- Responses ---------------- //
+
+    private ForgeryVerdict parse(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        JsonNode body = readJson(response.body());
+        if (status != 200) {
+            String error = body != null && body.hasNonNull("error") ? body.get("error").asText() : "HTTP " + status;
+            throw new ForgeryDetectionException("Forgery detection failed: " + error, status);
+        }
+        if (body == null || !body.hasNonNull("forgery_probability") || !body.hasNonNull("authentic_probability")) {
+            throw new ForgeryDetectionException("Unexpected forgery detection response", status);
+        }
+        return new ForgeryVerdict(body.path("forgery_detected").asBoolean(),
+                body.get("forgery_probability").asDouble(),
+                body.get("authentic_probability").asDouble());
+    }
+
+    // Flask answers some failures with an HTML page, so a body that is not JSON is not an error here.
+    private JsonNode readJson(byte[] body) {
+        try {
+            return body.length > 0 ? objectMapper.readTree(body) : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private ForgeryDetectionException translate(Throwable cause) {
+        if (cause instanceof HttpTimeoutException) {
+            return new ForgeryDetectionException("Forgery detection timed out after " + timeout.toMillis() + " ms", cause);
+        }
+        if (cause instanceof ConnectException) {
+            return new ForgeryDetectionException("Forgery detection service unreachable at " + endpoint, cause);
+        }
+        return new ForgeryDetectionException("Forgery detection call failed: " + cause.getMessage(), cause);
+    }
+
+    private void record(String outcome, long nanos) {
+        Timer.builder("forgery.detection.requests")
+                .description("Forgery detection calls by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,162 @@
+package com.realestate.management.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.realestate.management.dto.ForgeryVerdict;
+import com.realestate.management.entity.CachedVerdict;
+import com.realestate.management.repository.CachedVerdictRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Verdicts of the forgery detection service by image content (SHA-256) and model version,
+ * so an image that was checked before is never sent again. A bounded in-memory tier answers
+ * repeats without I/O; the {@code forgery_verdicts} table keeps every verdict across
+ * restarts and instances, and fills the memory tier on a miss. Changing
+ * {@code forgery.detection.model-version} starts both tiers afresh, since verdicts of
+ * another model are no longer looked up.
+ */
+@Component
+public class ForgeryVerdictCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ForgeryVerdictCache.class);
+
+    // Concurrent checks of the same content race to store it; the loser's insert is a no-op.
+    private static final String INSERT_SQL =
+            "INSERT INTO forgery_verdicts (content_hash, model_version, forgery_detected, forgery_probability, "
+            + "authentic_probability, created_at) VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    private final CachedVerdictRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String modelVersion;
+    private final Cache<String, ForgeryVerdict> memory;
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public ForgeryVerdictCache(CachedVerdictRepository repository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${forgery.detection.model-version:production_model}") String modelVersion,
+                               @Value("${forgery.verdict-cache.maximum-size:50000}") long maximumSize) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.modelVersion = modelVersion;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+
+        // Lookups may run inside a caller's transaction; the cache reads and writes on its own.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.memoryHits = lookups(meterRegistry, "memory");
+        this.databaseHits = lookups(meterRegistry, "database");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    /** The verdict the current model gave for this content, from memory or else the database. */
+    public Optional<ForgeryVerdict> get(String contentHash) {
+        ForgeryVerdict cached = memory.getIfPresent(contentHash);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+        ForgeryVerdict stored;
+        try {
+            stored = transactionTemplate.execute(status -> repository
+                    .findByContentHashAndModelVersion(contentHash, modelVersion)
+                    .map(ForgeryVerdictCache::toVerdict)
+                    .orElse(null));
+        } catch (DataAccessException ex) {
+            // The database tier is an optimisation: without it the image is simply checked again.
+            log.warn("Could not read cached forgery verdict for {}", contentHash, ex);
+            stored = null;
+        }
+        if (stored == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        memory.put(contentHash, stored);
+        databaseHits.increment();
+        return Optional.of(stored);
+    }
+
+    public void put(String contentHash, ForgeryVerdict verdict) {
+        memory.put(contentHash, verdict);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, contentHash,
+                    modelVersion, verdict.isForgeryDetected(), verdict.getForgeryProbability(),
+                    verdict.getAuthenticProbability(), Timestamp.valueOf(LocalDateTime.now())));
+        } catch (DataAccessException ex) {
+            log.warn("Could not store forgery verdict for {}", contentHash, ex);
+        }
+    }
+
+    // Empties the memory tier only; stored verdicts are kept.
+    public void invalidateMemory() {
+        memory.invalidateAll();
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public Map<String, Object> stats() {
+        long memoryHitCount = (long) memoryHits.count();
+        long databaseHitCount = (long) databaseHits.count();
+        long missCount = (long) misses.count();
+        long lookups = memoryHitCount + databaseHitCount + missCount;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("modelVersion", modelVersion);
+        result.put("memorySize", memory.estimatedSize());
+        result.put("storedVerdicts", repository.countByModelVersion(modelVersion));
+        result.put("lookups", lookups);
+        result.put("memoryHits", memoryHitCount);
+        result.put("databaseHits", databaseHitCount);
+        result.put("misses", missCount);
+        result.put("memoryHitRate", rate(memoryHitCount, lookups));
+        result.put("hitRate", rate(memoryHitCount + databaseHitCount, lookups));
+        return result;
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private static ForgeryVerdict toVerdict(CachedVerdict stored) {
+        return new ForgeryVerdict(stored.isForgeryDetected(), stored.getForgeryProbability(),
+                stored.getAuthenticProbability());
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("forgery.verdict.cache")
+                .description("Forgery verdict cache lookups by the tier that answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,229 @@
+package com.realestate.management.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.realestate.management.repository.PropertyRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates the thumbnail, card and detail variants of uploaded property images on a
+ * bounded worker pool. Until a job finishes (or if the queue is full and it is dropped)
+ * templates keep showing the original upload, as they do for images larger than
+ * {@code image.derivatives.max-pixels}, which are never decoded.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final FileStorageService fileStorageService;
+    private final PropertyRepository propertyRepository;
+    private final PropertyCache propertyCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor workers;
+    private final long maxPixels;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public ImageDerivativeService(FileStorageService fileStorageService,
+                                  PropertyRepository propertyRepository,
+                                  PropertyCache propertyCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${image.derivatives.threads:2}") int threads,
+                                  @Value("${image.derivatives.queue-capacity:100}") int queueCapacity,
+                                  @Value("${image.derivatives.max-pixels:40000000}") long maxPixels) {
+        this.fileStorageService = fileStorageService;
+        this.propertyRepository = propertyRepository;
+        this.propertyCache = propertyCache;
+        this.eventPublisher = eventPublisher;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "image-derivatives-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+    }
+
+    // ---------------- Service Methods ---------------- //
+
+    // Queues variant generation for a committed property image; never blocks the caller.
+    public void submit(Long propertyId, String imageUrl) {
+        String fileName = fileStorageService.fileNameOf(imageUrl);
+        if (fileName == null) {
+            return;
+        }
+        try {
+            workers.execute(() -> process(propertyId, imageUrl, fileName));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Image derivative queue full; property {} keeps its original image", propertyId);
+        }
+    }
+
+    public int queuedJobs() {
+        return workers.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ---------------- Processing ---------------- //
+
+    private void process(Long propertyId, String imageUrl, String fileName) {
+        try {
+            // Content-addressed uploads share variants, so existing ones are reused as-is.
+            BufferedImage source = null;
+            Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+            for (ImageVariant variant : ImageVariant.values()) {
+                String variantName = variant.fileNameFor(fileName);
+                Path target = fileStorageService.resolve(variantName);
+                if (!Files.exists(target)) {
+                    if (source == null) {
+                        source = read(fileStorageService.resolve(fileName), fileName);
+                        if (source == null) {
+                            return;
+                        }
+                    }
+                    write(scale(source, variant), target);
+                }
+                urls.put(variant, fileStorageService.toPublicUrl(variantName));
+            }
+
+            int updated = propertyRepository.updateImageVariants(propertyId, imageUrl,
+                    urls.get(ImageVariant.THUMBNAIL), urls.get(ImageVariant.CARD), urls.get(ImageVariant.DETAIL));
+            if (updated > 0) {
+                propertyCache.invalidate(propertyId);
+                eventPublisher.publishEvent(new PropertyChangedEvent(propertyId));
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not generate image derivatives for property {}", propertyId, ex);
+        }
+    }
+
+    /*
+     * Decodes the upload only after its header shows a size within the pixel limit: a small,
+     * highly compressed file can otherwise expand to gigabytes of raster. Returns null, after
+     * logging why, for files that are not images or are too large.
+     */
+    private BufferedImage read(Path file, String fileName) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.info("Skipping derivatives for {}: not a readable image", fileName);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Skipping derivatives for {}: {}x{} exceeds the {}-pixel limit",
+                            fileName, width, height, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /*
+     * Fits the image inside the variant's box without upscaling. Large reductions are done
+     * in halving steps so bilinear filtering does not skip source pixels.
+     */
+    static BufferedImage scale(BufferedImage source, ImageVariant variant) {
+        double ratio = Math.min(1.0, Math.min(
+                (double) variant.getMaxWidth() / source.getWidth(),
+                (double) variant.getMaxHeight() / source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Always redraws onto an opaque RGB canvas, flattening any transparency onto white.
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    // Writes to a sibling temp file first so readers never see a half-written variant.
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp);
+                 ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.realestate.management.service;
+
+// Fixed bounding boxes for the downscaled copies of an uploaded property image.
+public enum ImageVariant {
+
+    THUMBNAIL("thumb", 320, 240),
+    CARD("card", 640, 480),
+    DETAIL("detail", 1600, 1200);
+
+    private final String suffix;
+    private final int maxWidth;
+    private final int maxHeight;
+
+    ImageVariant(String suffix, int maxWidth, int maxHeight) {
+        this.suffix = suffix;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    // Variants are stored next to their source as <stem>-<suffix>.jpg.
+    public String fileNameFor(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return stem + "-" + suffix + ".jpg";
+    }
+}
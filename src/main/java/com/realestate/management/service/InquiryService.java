@@ -1,38 +1,52 @@
 package com.realestate.management.service;
 
 import java.util.List;
+import java.util.function.BiFunction;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.InquiryDto;
 import com.realestate.management.entity.Inquiry;
 import com.realestate.management.entity.Property;
 import com.realestate.management.entity.User;
 import com.realestate.management.exception.ResourceNotFoundException;
 import com.realestate.management.repository.InquiryRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
+@Timed(value = "service.calls", description = "Service method latency")
 public class InquiryService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final InquiryRepository inquiryRepository;
     private final UserService userService;
     private final PropertyService propertyService;
+    private final DashboardStatisticsService statistics;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
 
     public InquiryService(InquiryRepository inquiryRepository,
                           UserService userService,
-                          PropertyService propertyService) {
+                          PropertyService propertyService,
+                          DashboardStatisticsService statistics) {
         this.inquiryRepository = inquiryRepository;
         this.userService = userService;
         this.propertyService = propertyService;
+        this.statistics = statistics;
     }
 
     // ---------------- Service Methods ---------------- //
 
     public Inquiry createInquiry(Long userId, Long propertyId, String message) {
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         Property property = propertyService.getPropertyById(propertyId);
 
         Inquiry inquiry = new Inquiry();
@@ -41,7 +55,9 @@ public class InquiryService {
         inquiry.setMessage(message);
         inquiry.setStatus("PENDING");
 
-        return inquiryRepository.save(inquiry);
+        Inquiry saved = inquiryRepository.save(inquiry);
+        statistics.inquiryCreated(saved.getStatus(), property.getAgentId());
+        return saved;
     }
 
     public Inquiry getInquiryById(Long id) {
@@ -67,17 +83,84 @@ public class InquiryService {
 
     public Inquiry updateInquiryStatus(Long id, String status) {
         Inquiry inquiry = getInquiryById(id);
+        String oldStatus = inquiry.getStatus();
         inquiry.setStatus(status);
-        return inquiryRepository.save(inquiry);
+        Inquiry saved = inquiryRepository.save(inquiry);
+        statistics.inquiryStatusChanged(oldStatus, saved.getStatus());
+        return saved;
     }
 
     public void deleteInquiry(Long id) {
         Inquiry inquiry = getInquiryById(id);
         inquiryRepository.delete(inquiry);
+        statistics.inquiryDeleted(inquiry.getStatus(), inquiry.getProperty().getAgentId());
+    }
+
+    public boolean isHandledByAgent(Long inquiryId, Long agentId) {
+        return inquiryRepository.existsByIdAndProperty_Agent_Id(inquiryId, agentId);
+    }
+
+    public long countInquiriesByUserId(Long userId) {
+        return inquiryRepository.countByUserId(userId);
+    }
+
+    public long countAgentInquiries(Long agentId) {
+        return statistics.agentInquiries(agentId);
     }
 
     public long countActiveInquiries() {
-        return inquiryRepository.countByStatus("PENDING") +
-               inquiryRepository.countByStatus("CONTACTED");
+        return statistics.inquiriesWithStatus("PENDING") +
+               statistics.inquiriesWithStatus("CONTACTED");
+    }
+
+    // ---------------- Listing Pages (read-only projections) ---------------- //
+
+    @Transactional(readOnly = true)
+    public CursorPage<InquiryDto> getInquiryPage(Long after, Long before, int size) {
+        return page(inquiryRepository::findViewsOlderThan, inquiryRepository::findViewsNewerThan,
+                after, before, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<InquiryDto> getInquiryPageByStatus(String status, Long after, Long before, int size) {
+        return page((cursor, limit) -> inquiryRepository.findViewsByStatusOlderThan(status, cursor, limit),
+                (cursor, limit) -> inquiryRepository.findViewsByStatusNewerThan(status, cursor, limit),
+                after, before, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<InquiryDto> getInquiryPageByUser(Long userId, Long after, Long before, int size) {
+        return page((cursor, limit) -> inquiryRepository.findViewsByUserOlderThan(userId, cursor, limit),
+                (cursor, limit) -> inquiryRepository.findViewsByUserNewerThan(userId, cursor, limit),
+                after, before, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<InquiryDto> getInquiryPageByProperty(Long propertyId, Long after, Long before, int size) {
+        return page((cursor, limit) -> inquiryRepository.findViewsByPropertyOlderThan(propertyId, cursor, limit),
+                (cursor, limit) -> inquiryRepository.findViewsByPropertyNewerThan(propertyId, cursor, limit),
+                after, before, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<InquiryDto> getInquiryPageByAgent(Long agentId, Long after, Long before, int size) {
+        return page((cursor, limit) -> inquiryRepository.findViewsByAgentOlderThan(agentId, cursor, limit),
+                (cursor, limit) -> inquiryRepository.findViewsByAgentNewerThan(agentId, cursor, limit),
+                after, before, size);
+    }
+
+    // Newest first; one extra row tells whether another page exists without a COUNT query.
+    private CursorPage<InquiryDto> page(BiFunction<Long, Pageable, List<InquiryDto>> older,
+                                        BiFunction<Long, Pageable, List<InquiryDto>> newer,
+                                        Long after, Long before, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        if (before != null) {
+            return CursorPage.backward(newer.apply(before, limit), pageSize, InquiryDto::getId);
+        }
+        long cursor = after != null ? after : Long.MAX_VALUE;
+        // Newer rows are above before, so after - 1 leads back to the page that ended at after.
+        return CursorPage.forward(older.apply(cursor, limit), pageSize, after != null ? after - 1 : null,
+                InquiryDto::getId);
     }
 }
@@ -0,0 +1,321 @@
+package com.realestate.management.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory trigram index over property locations. Distinct locations are indexed by
+ * their trigrams and each location keeps a sorted array of the property ids that use it,
+ * so a fragment lookup touches only the few locations that can match instead of every row.
+ */
+@Component
+public class LocationIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Set<String>> locationsByGram = new HashMap<>();
+    private final Map<String, IdList> idsByLocation = new HashMap<>();
+    private final Map<Long, String> locationById = new HashMap<>();
+
+    private volatile boolean warm;
+
+    // ---------------- Maintenance ---------------- //
+
+    public void put(Long id, String location) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (location == null) {
+                return;
+            }
+            String key = normalize(location);
+            locationById.put(id, key);
+            IdList ids = idsByLocation.get(key);
+            if (ids == null) {
+                ids = new IdList();
+                idsByLocation.put(key, ids);
+                for (String gram : grams(key)) {
+                    locationsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(key);
+                }
+            }
+            ids.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            locationsByGram.clear();
+            idsByLocation.clear();
+            locationById.clear();
+            warm = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markWarm() {
+        warm = true;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return locationById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- Lookup ---------------- //
+
+    /**
+     * Returns the ids, in ascending order, of every property whose location contains the
+     * fragment (case-insensitive), i.e. the same rows as {@code location LIKE %fragment%}.
+     */
+    public long[] lookup(String fragment) {
+        return idsAfter(fragment, Long.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /** Up to {@code limit} matching ids greater than {@code afterId}, ascending. */
+    public long[] idsAfter(String fragment, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<IdList> lists = matchingIdLists(normalize(fragment));
+            PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, lists.size()),
+                    (a, b) -> Long.compare(a.current(), b.current()));
+            int total = 0;
+            for (IdList ids : lists) {
+                int pos = ids.indexAfter(afterId);
+                if (pos < ids.size) {
+                    heap.add(new Cursor(ids, pos, 1));
+                    total += ids.size - pos;
+                }
+            }
+            return merge(heap, Math.min(limit, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} matching ids smaller than {@code beforeId}, descending. */
+    public long[] idsBefore(String fragment, long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<IdList> lists = matchingIdLists(normalize(fragment));
+            PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, lists.size()),
+                    (a, b) -> Long.compare(b.current(), a.current()));
+            int total = 0;
+            for (IdList ids : lists) {
+                int pos = ids.indexAfter(beforeId - 1) - 1;
+                if (pos >= 0) {
+                    heap.add(new Cursor(ids, pos, -1));
+                    total += pos + 1;
+                }
+            }
+            return merge(heap, Math.min(limit, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of properties whose location contains the fragment. */
+    public int count(String fragment) {
+        lock.readLock().lock();
+        try {
+            int total = 0;
+            for (IdList ids : matchingIdLists(normalize(fragment))) {
+                total += ids.size;
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Each matching location holds a sorted id list, so ordered pages are a k-way merge.
+    private static long[] merge(PriorityQueue<Cursor> heap, int limit) {
+        long[] result = new long[limit];
+        int n = 0;
+        while (n < limit && !heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            result[n++] = cursor.current();
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return n == limit ? result : Arrays.copyOf(result, n);
+    }
+
+    private List<IdList> matchingIdLists(String needle) {
+        List<IdList> lists = new ArrayList<>();
+        for (String location : candidateLocations(needle)) {
+            if (location.contains(needle)) {
+                lists.add(idsByLocation.get(location));
+            }
+        }
+        return lists;
+    }
+
+    private Set<String> candidateLocations(String needle) {
+        if (needle.length() < GRAM) {
+            // Too short for a full trigram: every location sharing a gram that contains it is a candidate.
+            Set<String> candidates = new HashSet<>();
+            for (Map.Entry<String, Set<String>> entry : locationsByGram.entrySet()) {
+                if (entry.getKey().contains(needle)) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+            if (needle.isEmpty()) {
+                candidates.addAll(idsByLocation.keySet());
+            }
+            return candidates;
+        }
+
+        Set<String> smallest = null;
+        for (String gram : grams(needle)) {
+            Set<String> locations = locationsByGram.get(gram);
+            if (locations == null) {
+                return Set.of();
+            }
+            if (smallest == null || locations.size() < smallest.size()) {
+                smallest = locations;
+            }
+        }
+        return smallest;
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private void removeInternal(Long id) {
+        String key = locationById.remove(id);
+        if (key == null) {
+            return;
+        }
+        IdList ids = idsByLocation.get(key);
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            idsByLocation.remove(key);
+            for (String gram : grams(key)) {
+                Set<String> locations = locationsByGram.get(gram);
+                if (locations != null) {
+                    locations.remove(key);
+                    if (locations.isEmpty()) {
+                        locationsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        if (value.length() < GRAM && !value.isEmpty()) {
+            grams.add(value);
+        }
+        return grams;
+    }
+
+    /** Sorted, growable array of primitive ids; appends of new (larger) ids are O(1). */
+    private static final class IdList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        // Position of the first id strictly greater than the given one.
+        int indexAfter(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            return pos >= 0 ? pos + 1 : -pos - 1;
+        }
+    }
+
+    private static final class Cursor {
+
+        private final IdList list;
+        private final int step;
+        private int pos;
+
+        Cursor(IdList list, int pos, int step) {
+            this.list = list;
+            this.pos = pos;
+            this.step = step;
+        }
+
+        long current() {
+            return list.ids[pos];
+        }
+
+        boolean advance() {
+            pos += step;
+            return pos >= 0 && pos < list.size;
+        }
+    }
+}
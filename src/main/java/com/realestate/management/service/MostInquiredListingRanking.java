@@ -0,0 +1,61 @@
+package com.realestate.management.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.InquiryRepository;
+import com.realestate.management.repository.PropertyRepository;
+
+@Component
+public class MostInquiredListingRanking implements FeaturedListingRanking {
+
+    private final InquiryRepository inquiryRepository;
+    private final PropertyRepository propertyRepository;
+    private final NewestListingRanking newestListingRanking;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public MostInquiredListingRanking(InquiryRepository inquiryRepository,
+                                      PropertyRepository propertyRepository,
+                                      NewestListingRanking newestListingRanking) {
+        this.inquiryRepository = inquiryRepository;
+        this.propertyRepository = propertyRepository;
+        this.newestListingRanking = newestListingRanking;
+    }
+
+    @Override
+    public String name() {
+        return "most-inquiries";
+    }
+
+    // Topped up with the newest listings when too few properties have inquiries yet.
+    @Override
+    public List<Property> rank(int limit) {
+        List<Long> ids = inquiryRepository.findMostInquiredPropertyIds(PageRequest.ofSize(limit));
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+
+        List<Property> ranked = new ArrayList<>(propertyRepository.findAllById(ids));
+        ranked.sort(Comparator.comparing(p -> position.get(p.getId())));
+
+        if (ranked.size() < limit) {
+            for (Property property : newestListingRanking.rank(limit)) {
+                if (ranked.size() == limit) {
+                    break;
+                }
+                if (!position.containsKey(property.getId())) {
+                    ranked.add(property);
+                }
+            }
+        }
+        return ranked;
+    }
+}
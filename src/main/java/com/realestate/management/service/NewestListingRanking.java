@@ -0,0 +1,31 @@
+package com.realestate.management.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+
+@Component
+public class NewestListingRanking implements FeaturedListingRanking {
+
+    private final PropertyRepository propertyRepository;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public NewestListingRanking(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @Override
+    public String name() {
+        return "newest";
+    }
+
+    // Ids are assigned in insertion order, so the highest ids are the newest listings.
+    @Override
+    public List<Property> rank(int limit) {
+        return propertyRepository.findPageBefore(Long.MAX_VALUE, PageRequest.ofSize(limit));
+    }
+}
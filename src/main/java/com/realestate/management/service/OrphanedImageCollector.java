@@ -0,0 +1,453 @@
+package com.realestate.management.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.realestate.management.dto.OrphanSweepReport;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.StoredFileRepository;
+
+/**
+ * Mark-and-sweep collector for upload files no property points at. The mark phase pages
+ * through every property image URL into a compact fingerprint set; the sweep walks the
+ * upload directory and removes (or quarantines) unreferenced files older than the grace
+ * period, in batches and at a bounded rate so request I/O is not starved. Content-addressed
+ * blobs that still hold a reference count are kept: an upload may be in flight. Document
+ * indexes (named by the SHA-256 of a document) whose document no property points at are
+ * deleted too; they are derived data, so quarantine mode does not keep them.
+ */
+@Service
+public class OrphanedImageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanedImageCollector.class);
+
+    public enum Mode { DRY_RUN, QUARANTINE, DELETE }
+
+    public static final String QUARANTINE_DIR = ".quarantine";
+
+    private static final int REFERENCE_PAGE_SIZE = 1000;
+    private static final int DOCUMENT_COLUMN = 2;
+    private static final Pattern VARIANT = variantPattern();
+    private static final Pattern TEMP_FILE = Pattern.compile("\\.(upload|variant)-.*\\.tmp");
+
+    private final PropertyRepository propertyRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final FileStorageService fileStorageService;
+    private final boolean enabled;
+    private final Mode scheduledMode;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final long nanosPerFile;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public OrphanedImageCollector(PropertyRepository propertyRepository,
+                                  StoredFileRepository storedFileRepository,
+                                  FileStorageService fileStorageService,
+                                  @Value("${uploads.gc.enabled:true}") boolean enabled,
+                                  @Value("${uploads.gc.mode:dry-run}") String mode,
+                                  @Value("${uploads.gc.grace-period:P1D}") Duration gracePeriod,
+                                  @Value("${uploads.gc.batch-size:200}") int batchSize,
+                                  @Value("${uploads.gc.max-files-per-second:50}") int maxFilesPerSecond) {
+        this.propertyRepository = propertyRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.fileStorageService = fileStorageService;
+        this.enabled = enabled;
+        this.scheduledMode = parseMode(mode);
+        this.gracePeriod = gracePeriod;
+        this.batchSize = Math.max(1, batchSize);
+        this.nanosPerFile = maxFilesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxFilesPerSecond : 0L;
+    }
+
+    // ---------------- Entry Points ---------------- //
+
+    @Scheduled(fixedDelayString = "${uploads.gc.interval:PT6H}",
+               initialDelayString = "${uploads.gc.initial-delay:PT15M}")
+    public void scheduledSweep() {
+        if (enabled) {
+            sweep(scheduledMode);
+        }
+    }
+
+    // Returns null when another sweep is already running.
+    public OrphanSweepReport sweep(Mode mode) {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        long started = System.nanoTime();
+        OrphanSweepReport report = new OrphanSweepReport(mode.name());
+        try {
+            FingerprintSet referenced = markReferencedImages();
+            report.setReferencedImages(referenced.size());
+            sweepUploadDirectory(referenced, mode, report);
+            sweepDocumentIndexes(referenced, mode, report);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Orphaned image sweep failed", ex);
+        } finally {
+            report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            running.set(false);
+        }
+        log.info("Orphaned image sweep ({}): {} files scanned, {} orphaned ({} bytes), {} removed, "
+                        + "{} within grace period, {} held by reference count, {} ms",
+                mode, report.getScannedFiles(), report.getOrphanedFiles(), report.getOrphanedBytes(),
+                report.getRemovedFiles(), report.getSkippedWithinGracePeriod(),
+                report.getHeldByReferenceCount(), report.getDurationMillis());
+        return report;
+    }
+
+    // ---------------- Mark ---------------- //
+
+    private FingerprintSet markReferencedImages() {
+        FingerprintSet referenced = new FingerprintSet(REFERENCE_PAGE_SIZE);
+        long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = propertyRepository.findImageRowsAfter(afterId, PageRequest.ofSize(REFERENCE_PAGE_SIZE));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                // Property documents live in the same directory as the images
+                for (int column = 1; column < row.length; column++) {
+                    String fileName = fileStorageService.fileNameOf((String) row[column]);
+                    if (fileName != null) {
+                        referenced.add(stemOf(fileName));
+                    }
+                    // Document indexes are named by content hash, which only content names carry
+                    if (fileName != null && column == DOCUMENT_COLUMN) {
+                        String hash = documentHashOf(fileName);
+                        if (hash != null) {
+                            referenced.add(hash);
+                        }
+                    }
+                }
+            }
+        } while (rows.size() == REFERENCE_PAGE_SIZE);
+        return referenced;
+    }
+
+    // ---------------- Sweep ---------------- //
+
+    private record Candidate(Path path, String fileName, String stem, long size) { }
+
+    private void sweepUploadDirectory(FingerprintSet referenced, Mode mode, OrphanSweepReport report)
+            throws IOException {
+        Path root = fileStorageService.getStorageLocation();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<Candidate> batch = new ArrayList<>(batchSize);
+        Pacer pacer = new Pacer(nanosPerFile);
+
+        // The layout is flat; nested directories (the quarantine among them) are not swept.
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return dir.equals(root) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                report.scanned();
+                String fileName = file.getFileName().toString();
+                boolean temp = TEMP_FILE.matcher(fileName).matches();
+                if (fileName.startsWith(".") && !temp) {
+                    return FileVisitResult.CONTINUE;
+                }
+                String stem = temp ? null : stemOf(fileName);
+                if (stem != null && referenced.contains(stem)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    report.skippedWithinGracePeriod();
+                    return FileVisitResult.CONTINUE;
+                }
+                batch.add(new Candidate(file, fileName, stem, attrs.size()));
+                if (batch.size() >= batchSize) {
+                    processBatch(batch, mode, report, pacer);
+                    batch.clear();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException ex) {
+                log.debug("Skipping unreadable upload {}", file, ex);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (!batch.isEmpty()) {
+            processBatch(batch, mode, report, pacer);
+        }
+    }
+
+    private void sweepDocumentIndexes(FingerprintSet referenced, Mode mode, OrphanSweepReport report)
+            throws IOException {
+        Path directory = fileStorageService.getStorageLocation().resolve(DocumentRetrievalService.INDEX_DIR);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Pacer pacer = new Pacer(nanosPerFile);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attrs.isRegularFile()) {
+                    continue;
+                }
+                report.scanned();
+                String fileName = file.getFileName().toString();
+                // "<sha256>.bm25"; an interrupted build leaves a temp file that matches no hash
+                if (referenced.contains(stemOf(fileName))) {
+                    continue;
+                }
+                if (attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    report.skippedWithinGracePeriod();
+                    continue;
+                }
+                report.orphan(DocumentRetrievalService.INDEX_DIR + "/" + fileName, attrs.size());
+                if (mode == Mode.DRY_RUN) {
+                    continue;
+                }
+                pacer.await();
+                try {
+                    Files.deleteIfExists(file);
+                    report.removed();
+                } catch (IOException ex) {
+                    log.warn("Could not remove orphaned document index {}", fileName, ex);
+                }
+            }
+        }
+    }
+
+    // One reference-count lookup per batch, then rate-limited removals.
+    private void processBatch(List<Candidate> batch, Mode mode, OrphanSweepReport report, Pacer pacer) {
+        Set<String> held = heldStems(batch);
+        for (Candidate candidate : batch) {
+            if (candidate.stem() != null && held.contains(candidate.stem())) {
+                report.heldByReferenceCount();
+                continue;
+            }
+            report.orphan(candidate.fileName(), candidate.size());
+            if (mode == Mode.DRY_RUN) {
+                continue;
+            }
+            pacer.await();
+            try {
+                remove(candidate.path(), mode);
+                report.removed();
+            } catch (IOException ex) {
+                log.warn("Could not remove orphaned upload {}", candidate.fileName(), ex);
+            }
+        }
+    }
+
+    // Content-addressed files (blobs and their variants) whose blob still holds references.
+    private Set<String> heldStems(List<Candidate> batch) {
+        Set<String> digests = new HashSet<>();
+        for (Candidate candidate : batch) {
+            if (FileStorageService.isImmutable(candidate.fileName())) {
+                digests.add(candidate.stem());
+            }
+        }
+        Set<String> held = new HashSet<>();
+        if (!digests.isEmpty()) {
+            for (String fileName : storedFileRepository.findReferencedNamesByDigest(digests)) {
+                held.add(stemOf(fileName));
+            }
+        }
+        return held;
+    }
+
+    private void remove(Path file, Mode mode) throws IOException {
+        if (mode == Mode.DELETE) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Path quarantine = fileStorageService.getStorageLocation().resolve(QUARANTINE_DIR);
+        Files.createDirectories(quarantine);
+        // An earlier file of the same name stays; this one gets the sweep time as a suffix. Should
+        // that name be taken too, the move fails and the file is left for the next sweep.
+        try {
+            Files.move(file, quarantine.resolve(file.getFileName()));
+        } catch (FileAlreadyExistsException ex) {
+            Files.move(file, quarantine.resolve(file.getFileName() + "." + Instant.now().toEpochMilli()));
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    // Free for content names; older uploads are read once per sweep. Null when the file is gone.
+    private String documentHashOf(String fileName) {
+        try {
+            return fileStorageService.contentHashOf(fileName);
+        } catch (IOException | RuntimeException ex) {
+            log.debug("No content hash for document {}", fileName, ex);
+            return null;
+        }
+    }
+
+    // Variants share their source's stem, so one mark covers the upload and all its variants.
+    static String stemOf(String fileName) {
+        Matcher variant = VARIANT.matcher(fileName);
+        if (variant.matches()) {
+            return variant.group(1);
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static Pattern variantPattern() {
+        StringBuilder suffixes = new StringBuilder();
+        for (ImageVariant variant : ImageVariant.values()) {
+            suffixes.append(suffixes.length() > 0 ? "|" : "").append(variant.getSuffix());
+        }
+        return Pattern.compile("(.+)-(" + suffixes + ")\\.jpg");
+    }
+
+    public static Mode parseMode(String mode) {
+        try {
+            return Mode.valueOf(mode.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Unknown uploads.gc.mode '" + mode
+                    + "', expected dry-run, quarantine or delete");
+        }
+    }
+
+    // Spaces filesystem mutations out to at most one per interval.
+    private static final class Pacer {
+
+        private final long interval;
+        private long next = System.nanoTime();
+
+        Pacer(long interval) {
+            this.interval = interval;
+        }
+
+        void await() {
+            if (interval <= 0) {
+                return;
+            }
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            next = Math.max(next, System.nanoTime()) + interval;
+        }
+    }
+
+    /**
+     * Open-addressing set of 128-bit fingerprints, about 32 bytes per stem instead of a few
+     * hundred for a HashSet of Strings. Content-addressed stems contribute their own digest
+     * bits; other names are hashed with MD5. A collision can only keep an orphan alive.
+     */
+    static final class FingerprintSet {
+
+        private static final Pattern HEX_DIGEST = Pattern.compile("[0-9a-f]{64}");
+
+        private long[] slots;
+        private int size;
+
+        FingerprintSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            slots = new long[capacity * 2];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(String stem) {
+            long[] fp = fingerprint(stem);
+            if ((size + 1) * 2 > slots.length / 2) {
+                grow();
+            }
+            if (insert(slots, fp[0], fp[1])) {
+                size++;
+            }
+        }
+
+        boolean contains(String stem) {
+            long[] fp = fingerprint(stem);
+            int mask = slots.length / 2 - 1;
+            for (int i = (int) (fp[1] ^ (fp[1] >>> 32)) & mask; ; i = (i + 1) & mask) {
+                long hi = slots[i * 2];
+                long lo = slots[i * 2 + 1];
+                if (hi == 0 && lo == 0) {
+                    return false;
+                }
+                if (hi == fp[0] && lo == fp[1]) {
+                    return true;
+                }
+            }
+        }
+
+        private static boolean insert(long[] table, long hi, long lo) {
+            int mask = table.length / 2 - 1;
+            for (int i = (int) (lo ^ (lo >>> 32)) & mask; ; i = (i + 1) & mask) {
+                if (table[i * 2] == 0 && table[i * 2 + 1] == 0) {
+                    table[i * 2] = hi;
+                    table[i * 2 + 1] = lo;
+                    return true;
+                }
+                if (table[i * 2] == hi && table[i * 2 + 1] == lo) {
+                    return false;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] larger = new long[slots.length * 2];
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] != 0 || slots[i + 1] != 0) {
+                    insert(larger, slots[i], slots[i + 1]);
+                }
+            }
+            slots = larger;
+        }
+
+        // (0, 0) marks an empty slot, so it is never produced as a fingerprint.
+        private static long[] fingerprint(String stem) {
+            long hi;
+            long lo;
+            if (HEX_DIGEST.matcher(stem).matches()) {
+                hi = Long.parseUnsignedLong(stem.substring(0, 16), 16);
+                lo = Long.parseUnsignedLong(stem.substring(16, 32), 16);
+            } else {
+                UUID hash = UUID.nameUUIDFromBytes(stem.getBytes(StandardCharsets.UTF_8));
+                hi = hash.getMostSignificantBits();
+                lo = hash.getLeastSignificantBits();
+            }
+            return hi == 0 && lo == 0 ? new long[] { 0L, 1L } : new long[] { hi, lo };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.realestate.management.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+
+@Component
+public class PriceBandListingRanking implements FeaturedListingRanking {
+
+    private final PropertyRepository propertyRepository;
+    private final Double minPrice;
+    private final Double maxPrice;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public PriceBandListingRanking(PropertyRepository propertyRepository,
+                                   @Value("${featured.price-band.min:#{null}}") Double minPrice,
+                                   @Value("${featured.price-band.max:#{null}}") Double maxPrice) {
+        this.propertyRepository = propertyRepository;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    @Override
+    public String name() {
+        return "price-band";
+    }
+
+    // Newest listings inside the configured price band.
+    @Override
+    public List<Property> rank(int limit) {
+        return propertyRepository.searchPageBefore(null, null, minPrice, maxPrice, null, null,
+                Long.MAX_VALUE, PageRequest.ofSize(limit));
+    }
+}
@@ -0,0 +1,109 @@
+package com.realestate.management.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.realestate.management.entity.Property;
+
+/**
+ * Bounded read-through cache for primary-key property lookups. Each entry is a private
+ * detached copy, and every lookup returns a fresh copy of it, so a caller that modifies what
+ * it got cannot change what other requests see. Write paths load a managed instance from
+ * the repository and invalidate the entry after commit.
+ */
+@Component
+public class PropertyCache {
+
+    private final Cache<Long, Property> cache;
+
+    // Bumped before every invalidation; bulk loads read it first and drop their entries if it moved.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PropertyCache(@Value("${property.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${property.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    // Concurrent misses for the same id share one load; an invalidation waits for a load in flight.
+    public Property get(Long id, Function<Long, Property> loader) {
+        Property cached = cache.get(id, key -> {
+            Property loaded = loader.apply(key);
+            return loaded != null ? copyOf(loaded) : null;
+        });
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    // Taken before a bulk load starts reading, then passed to putIfUnchanged.
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /*
+     * Adds a property read after stamp was taken, unless an invalidation has happened since: the
+     * row may have been read before that write committed. An entry already present was loaded
+     * through get and is kept.
+     */
+    public void putIfUnchanged(Property property, long stamp) {
+        if (property == null || property.getId() == null) {
+            return;
+        }
+        Property copy = copyOf(property);
+        cache.asMap().compute(property.getId(),
+                (id, present) -> present == null && invalidations.get() == stamp ? copy : present);
+    }
+
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    // Column values and the agent reference; the inquiries collection is left unloaded.
+    static Property copyOf(Property source) {
+        Property copy = new Property(source.getTitle(), source.getDescription(), source.getPrice(),
+                source.getLocation(), source.getSize(), source.getType(), source.getImageUrl());
+        copy.setId(source.getId());
+        copy.setThumbnailUrl(source.getThumbnailUrl());
+        copy.setCardImageUrl(source.getCardImageUrl());
+        copy.setDetailImageUrl(source.getDetailImageUrl());
+        copy.setVerificationStatus(source.getVerificationStatus());
+        copy.setForgeryProbability(source.getForgeryProbability());
+        copy.setVerifiedAt(source.getVerifiedAt());
+        copy.setDocumentUrl(source.getDocumentUrl());
+        copy.setExternalRef(source.getExternalRef());
+        copy.setAgent(source.getAgent());
+        return copy;
+    }
+}
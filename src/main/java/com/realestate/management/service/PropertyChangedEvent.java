@@ -0,0 +1,15 @@
+package com.realestate.management.service;
+
+// Published after a property write has committed.
+public class PropertyChangedEvent {
+
+    private final Long propertyId;
+
+    public PropertyChangedEvent(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+}
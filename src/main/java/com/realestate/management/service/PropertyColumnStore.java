@@ -0,0 +1,494 @@
+package com.realestate.management.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.realestate.management.dto.PropertySearchCriteria;
+
+/**
+ * Read-optimized in-memory columns for the numeric and type filters of property search.
+ *
+ * Every property owns a slot; slots are kept in ascending id order so that walking a slot
+ * bitset yields ids in keyset order. Price and size are held as sorted {@code double[]}
+ * columns with slot permutations for binary-searched range predicates, and each type has a
+ * bitset of slots. Deleted slots are left as holes and reclaimed by compaction.
+ */
+@Component
+public class PropertyColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, BitSet> slotsByType = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private long[] idBySlot = new long[INITIAL_CAPACITY];
+    private double[] priceBySlot = new double[INITIAL_CAPACITY];
+    private double[] sizeBySlot = new double[INITIAL_CAPACITY];
+    private String[] typeBySlot = new String[INITIAL_CAPACITY];
+    private int slotCount;
+
+    private final SortedColumn priceColumn = new SortedColumn();
+    private final SortedColumn sizeColumn = new SortedColumn();
+
+    private volatile boolean warm;
+
+    // ---------------- Maintenance ---------------- //
+
+    public void put(Long id, String type, Double price, Double size) {
+        if (id == null || price == null || size == null) {
+            return;
+        }
+        String typeKey = normalize(type);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot != null) {
+                if (warm) {
+                    priceColumn.remove(priceBySlot[slot], slot);
+                    sizeColumn.remove(sizeBySlot[slot], slot);
+                }
+                slotsByType.get(typeBySlot[slot]).clear(slot);
+                write(slot, id, typeKey, price, size);
+                if (warm) {
+                    priceColumn.insert(price, slot);
+                    sizeColumn.insert(size, slot);
+                }
+                return;
+            }
+
+            // Before warm-up rows are appended as they come; markWarm() sorts them once.
+            if (!warm) {
+                appendSlot(id, typeKey, price, size);
+                return;
+            }
+            // Concurrent inserts commit in any order, so a new id may land below the last slot.
+            int newSlot = slotCount == 0 || id > idBySlot[slotCount - 1]
+                    ? appendSlot(id, typeKey, price, size)
+                    : insertSlot(firstSlotAfter(id), id, typeKey, price, size);
+            priceColumn.insert(price, newSlot);
+            sizeColumn.insert(size, newSlot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            live.clear(slot);
+            slotsByType.get(typeBySlot[slot]).clear(slot);
+            if (warm) {
+                priceColumn.remove(priceBySlot[slot], slot);
+                sizeColumn.remove(sizeBySlot[slot], slot);
+                if (slotCount > INITIAL_CAPACITY && slotById.size() < slotCount / 2) {
+                    rebuild();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotById.clear();
+            slotsByType.clear();
+            live.clear();
+            slotCount = 0;
+            priceColumn.reset(0);
+            sizeColumn.reset(0);
+            warm = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rows are appended unsorted during the initial load; the sorted columns are built once here.
+    public void markWarm() {
+        lock.writeLock().lock();
+        try {
+            rebuild();
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- Queries ---------------- //
+
+    /** Up to {@code limit} ids greater than {@code afterId} matching the type/price/size filters, ascending. */
+    public long[] idsAfter(PropertySearchCriteria criteria, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            Plan plan = plan(criteria);
+            long[] result = new long[Math.min(limit, slotById.size())];
+            int n = 0;
+            int slot = plan.slots.nextSetBit(firstSlotAfter(afterId));
+            while (slot >= 0 && n < result.length) {
+                if (plan.accepts(slot)) {
+                    result[n++] = idBySlot[slot];
+                }
+                slot = slot + 1 < slotCount ? plan.slots.nextSetBit(slot + 1) : -1;
+            }
+            return n == result.length ? result : Arrays.copyOf(result, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} ids smaller than {@code beforeId} matching the filters, descending. */
+    public long[] idsBefore(PropertySearchCriteria criteria, long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            Plan plan = plan(criteria);
+            long[] result = new long[Math.min(limit, slotById.size())];
+            int n = 0;
+            int slot = plan.slots.previousSetBit(firstSlotAfter(beforeId - 1) - 1);
+            while (slot >= 0 && n < result.length) {
+                if (plan.accepts(slot)) {
+                    result[n++] = idBySlot[slot];
+                }
+                slot = slot > 0 ? plan.slots.previousSetBit(slot - 1) : -1;
+            }
+            return n == result.length ? result : Arrays.copyOf(result, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count(PropertySearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            Plan plan = plan(criteria);
+            int count = 0;
+            for (int slot = plan.slots.nextSetBit(0); slot >= 0; slot = plan.slots.nextSetBit(slot + 1)) {
+                if (plan.accepts(slot)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Point check used to filter candidates produced by another index, e.g. {@link LocationIndex}. */
+    public boolean matches(long id, PropertySearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                return false;
+            }
+            String type = criteria.getType();
+            return (type == null || normalize(type).equals(typeBySlot[slot]))
+                    && inRange(priceBySlot[slot], criteria.getMinPrice(), criteria.getMaxPrice())
+                    && inRange(sizeBySlot[slot], criteria.getMinSize(), criteria.getMaxSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- Planning ---------------- //
+
+    /*
+     * Picks the most selective access path: a narrow price or size range is turned into a slot
+     * bitset by binary search and intersected with the type bitset; otherwise the type (or live)
+     * bitset is walked from the cursor and the range predicates are checked per slot.
+     */
+    private Plan plan(PropertySearchCriteria criteria) {
+        BitSet typeSlots = live;
+        if (criteria.getType() != null) {
+            typeSlots = slotsByType.getOrDefault(normalize(criteria.getType()), new BitSet());
+        }
+
+        int priceFrom = priceColumn.lowerBound(criteria.getMinPrice());
+        int priceTo = priceColumn.upperBound(criteria.getMaxPrice());
+        int sizeFrom = sizeColumn.lowerBound(criteria.getMinSize());
+        int sizeTo = sizeColumn.upperBound(criteria.getMaxSize());
+        int priceWidth = Math.max(0, priceTo - priceFrom);
+        int sizeWidth = Math.max(0, sizeTo - sizeFrom);
+
+        int narrowest = Math.min(priceWidth, sizeWidth);
+        if (narrowest < typeSlots.cardinality() / 8) {
+            SortedColumn column = priceWidth <= sizeWidth ? priceColumn : sizeColumn;
+            BitSet slots = priceWidth <= sizeWidth
+                    ? column.slotsBetween(priceFrom, priceTo)
+                    : column.slotsBetween(sizeFrom, sizeTo);
+            slots.and(typeSlots);
+            return new Plan(slots, criteria);
+        }
+        return new Plan(typeSlots, criteria);
+    }
+
+    private final class Plan {
+
+        private final BitSet slots;
+        private final double minPrice;
+        private final double maxPrice;
+        private final double minSize;
+        private final double maxSize;
+
+        Plan(BitSet slots, PropertySearchCriteria criteria) {
+            this.slots = slots;
+            this.minPrice = criteria.getMinPrice() != null ? criteria.getMinPrice() : Double.NEGATIVE_INFINITY;
+            this.maxPrice = criteria.getMaxPrice() != null ? criteria.getMaxPrice() : Double.POSITIVE_INFINITY;
+            this.minSize = criteria.getMinSize() != null ? criteria.getMinSize() : Double.NEGATIVE_INFINITY;
+            this.maxSize = criteria.getMaxSize() != null ? criteria.getMaxSize() : Double.POSITIVE_INFINITY;
+        }
+
+        boolean accepts(int slot) {
+            double price = priceBySlot[slot];
+            double size = sizeBySlot[slot];
+            return price >= minPrice && price <= maxPrice && size >= minSize && size <= maxSize;
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private int firstSlotAfter(long id) {
+        int pos = Arrays.binarySearch(idBySlot, 0, slotCount, id);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    private int appendSlot(long id, String typeKey, double price, double size) {
+        ensureCapacity();
+        int slot = slotCount++;
+        slotById.put(id, slot);
+        live.set(slot);
+        write(slot, id, typeKey, price, size);
+        return slot;
+    }
+
+    /*
+     * Opens the slot at the given position by moving the slots above it up by one. Out-of-order ids
+     * are recent, so only the tail moves; the sorted columns just renumber the slots they hold.
+     */
+    private int insertSlot(int slot, long id, String typeKey, double price, double size) {
+        ensureCapacity();
+        int moved = slotCount - slot;
+        System.arraycopy(idBySlot, slot, idBySlot, slot + 1, moved);
+        System.arraycopy(priceBySlot, slot, priceBySlot, slot + 1, moved);
+        System.arraycopy(sizeBySlot, slot, sizeBySlot, slot + 1, moved);
+        System.arraycopy(typeBySlot, slot, typeBySlot, slot + 1, moved);
+        for (int old = slotCount - 1; old >= slot; old--) {
+            if (live.get(old)) {
+                live.clear(old);
+                live.set(old + 1);
+                BitSet typeSlots = slotsByType.get(typeBySlot[old + 1]);
+                typeSlots.clear(old);
+                typeSlots.set(old + 1);
+                slotById.put(idBySlot[old + 1], old + 1);
+            }
+        }
+        slotCount++;
+        priceColumn.shiftSlotsFrom(slot);
+        sizeColumn.shiftSlotsFrom(slot);
+        slotById.put(id, slot);
+        live.set(slot);
+        write(slot, id, typeKey, price, size);
+        return slot;
+    }
+
+    private void ensureCapacity() {
+        if (slotCount == idBySlot.length) {
+            int capacity = slotCount * 2;
+            idBySlot = Arrays.copyOf(idBySlot, capacity);
+            priceBySlot = Arrays.copyOf(priceBySlot, capacity);
+            sizeBySlot = Arrays.copyOf(sizeBySlot, capacity);
+            typeBySlot = Arrays.copyOf(typeBySlot, capacity);
+        }
+    }
+
+    private void write(int slot, long id, String typeKey, double price, double size) {
+        idBySlot[slot] = id;
+        priceBySlot[slot] = price;
+        sizeBySlot[slot] = size;
+        typeBySlot[slot] = typeKey;
+        slotsByType.computeIfAbsent(typeKey, t -> new BitSet()).set(slot);
+    }
+
+    // Re-packs live slots in id order (dropping holes) and re-sorts both columns.
+    private void rebuild() {
+        int liveCount = slotById.size();
+        Integer[] order = new Integer[liveCount];
+        int n = 0;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            order[n++] = slot;
+        }
+        long[] oldIds = idBySlot;
+        Arrays.sort(order, (a, b) -> Long.compare(oldIds[a], oldIds[b]));
+
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, liveCount)) * 2);
+        long[] ids = new long[capacity];
+        double[] prices = new double[capacity];
+        double[] sizes = new double[capacity];
+        String[] types = new String[capacity];
+        slotById.clear();
+        slotsByType.clear();
+        live.clear();
+        for (int slot = 0; slot < liveCount; slot++) {
+            int old = order[slot];
+            ids[slot] = idBySlot[old];
+            prices[slot] = priceBySlot[old];
+            sizes[slot] = sizeBySlot[old];
+            types[slot] = typeBySlot[old];
+            slotById.put(ids[slot], slot);
+            live.set(slot);
+            slotsByType.computeIfAbsent(types[slot], t -> new BitSet()).set(slot);
+        }
+        idBySlot = ids;
+        priceBySlot = prices;
+        sizeBySlot = sizes;
+        typeBySlot = types;
+        slotCount = liveCount;
+
+        priceColumn.bulkLoad(priceBySlot, liveCount);
+        sizeColumn.bulkLoad(sizeBySlot, liveCount);
+    }
+
+    private static boolean inRange(double value, Double min, Double max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    private static String normalize(String type) {
+        return type == null ? "" : type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** A sorted primitive value column with the slot that owns each value. */
+    private static final class SortedColumn {
+
+        private double[] values = new double[0];
+        private int[] slots = new int[0];
+        private int size;
+
+        void reset(int capacity) {
+            values = new double[capacity];
+            slots = new int[capacity];
+            size = 0;
+        }
+
+        void bulkLoad(double[] valueBySlot, int count) {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(valueBySlot[a], valueBySlot[b]));
+            reset(Math.max(INITIAL_CAPACITY, count + count / 4));
+            for (Integer slot : order) {
+                values[size] = valueBySlot[slot];
+                slots[size] = slot;
+                size++;
+            }
+        }
+
+        void insert(double value, int slot) {
+            if (size == values.length) {
+                int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+                values = Arrays.copyOf(values, capacity);
+                slots = Arrays.copyOf(slots, capacity);
+            }
+            int pos = upperBound(value);
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            System.arraycopy(slots, pos, slots, pos + 1, size - pos);
+            values[pos] = value;
+            slots[pos] = slot;
+            size++;
+        }
+
+        void remove(double value, int slot) {
+            for (int pos = lowerBound(value); pos < size && values[pos] == value; pos++) {
+                if (slots[pos] == slot) {
+                    System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+                    System.arraycopy(slots, pos + 1, slots, pos, size - pos - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        // Follows a slot insert: every slot at or above {@code from} moved up by one.
+        void shiftSlotsFrom(int from) {
+            for (int pos = 0; pos < size; pos++) {
+                if (slots[pos] >= from) {
+                    slots[pos]++;
+                }
+            }
+        }
+
+        // First position whose value is >= min (0 when unbounded).
+        int lowerBound(Double min) {
+            if (min == null) {
+                return 0;
+            }
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < min) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // First position whose value is > max (size when unbounded).
+        int upperBound(Double max) {
+            if (max == null) {
+                return size;
+            }
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= max) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        BitSet slotsBetween(int from, int to) {
+            BitSet result = new BitSet();
+            for (int pos = from; pos < to; pos++) {
+                result.set(slots[pos]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.realestate.management.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads a partner feed one record at a time, so an import holds a single row in memory no
+ * matter how large the upload is. Field names are normalized (case, spaces, '_' and '-'
+ * ignored), so "external_ref", "External Ref" and "externalRef" all read as "externalref".
+ */
+public abstract class PropertyFeedReader implements Closeable {
+
+    // One feed record; row counts records from 1, line is where the record starts.
+    public static final class Record {
+
+        private final long row;
+        private final long line;
+        private final Map<String, String> fields;
+
+        Record(long row, long line, Map<String, String> fields) {
+            this.row = row;
+            this.line = line;
+            this.fields = fields;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String get(String field) {
+            return fields.get(field);
+        }
+    }
+
+    // The upload itself is unreadable (not a single bad row); the import stops.
+    public static class FeedFormatException extends IOException {
+        public FeedFormatException(String message) {
+            super(message);
+        }
+    }
+
+    protected long rows;
+
+    public static PropertyFeedReader open(DataFormat format, InputStream in) throws IOException {
+        return format == DataFormat.CSV ? new Csv(in) : new Json(in);
+    }
+
+    // Returns null at the end of the feed.
+    public abstract Record next() throws IOException;
+
+    static String normalize(String field) {
+        StringBuilder key = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '_' && c != '-' && !Character.isWhitespace(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    // ---------------- CSV ---------------- //
+
+    /*
+     * RFC 4180: comma separated, optional double quotes, "" inside quotes, quoted fields may
+     * span lines. The first record is the header. Blank lines are skipped.
+     */
+    static final class Csv extends PropertyFeedReader {
+
+        // An unterminated quote would otherwise swallow the rest of the feed into one field.
+        private static final int MAX_RECORD_CHARS = 1 << 20;
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long line = 1;
+        private int pending = -2;
+
+        Csv(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+            if (peek() == '\uFEFF') {
+                read();
+            }
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new FeedFormatException("CSV feed is empty; expected a header row");
+            }
+            this.header = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                header.add(normalize(column));
+            }
+        }
+
+        @Override
+        public Record next() throws IOException {
+            while (true) {
+                long start = line;
+                List<String> values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+                if (values.size() == 1 && values.get(0).isEmpty()) {
+                    continue;
+                }
+                if (values.size() > header.size()) {
+                    throw new FeedFormatException("Line " + start + " has " + values.size()
+                            + " fields but the header has " + header.size());
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    fields.put(header.get(i), values.get(i));
+                }
+                return new Record(++rows, start, fields);
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            if (peek() == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            while (true) {
+                int c = read();
+                if (++length > MAX_RECORD_CHARS) {
+                    throw new FeedFormatException("Record starting before line " + line
+                            + " exceeds " + MAX_RECORD_CHARS + " characters (unterminated quote?)");
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        throw new FeedFormatException("Unterminated quoted field at end of feed");
+                    }
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            field.append((char) read());
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    values.add(field.toString());
+                    return values;
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private int peek() throws IOException {
+            if (pending == -2) {
+                pending = reader.read();
+            }
+            return pending;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // ---------------- JSON ---------------- //
+
+    // A top-level array of objects, or a sequence of root objects (NDJSON). Nested values are ignored.
+    static final class Json extends PropertyFeedReader {
+
+        private final JsonParser parser;
+        private boolean inArray;
+
+        Json(InputStream in) throws IOException {
+            this.parser = new JsonFactory().createParser(in);
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                inArray = true;
+            } else if (first != null && first != JsonToken.START_OBJECT) {
+                throw new FeedFormatException("JSON feed must be an array of objects or a sequence of objects");
+            }
+        }
+
+        @Override
+        public Record next() throws IOException {
+            JsonToken token = inArray || rows > 0 ? parser.nextToken() : parser.currentToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new FeedFormatException("Expected an object at line "
+                        + parser.currentLocation().getLineNr() + " but found " + token);
+            }
+            long line = parser.currentLocation().getLineNr();
+            Map<String, String> fields = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = normalize(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                } else if (value != JsonToken.VALUE_NULL) {
+                    fields.put(name, parser.getValueAsString());
+                }
+            }
+            return new Record(++rows, line, fields);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.realestate.management.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.realestate.management.dto.PropertyImportProgress;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.UserRepository;
+import com.realestate.management.util.TransactionCallbacks;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk-loads partner feeds (CSV or JSON) into {@code properties}. The upload is spooled to a
+ * temp file and imported on a single background worker, one record at a time, in chunks of
+ * {@code property.import.batch-size} rows per transaction. Rows are keyed by their external
+ * reference and written with batched {@code INSERT ... ON DUPLICATE KEY UPDATE}; plain JDBC is
+ * used because IDENTITY ids keep Hibernate from batching inserts, so the second-level and
+ * query caches are evicted by hand after each chunk. Rows that fail validation are reported
+ * and skipped.
+ */
+@Service
+public class PropertyImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyImportService.class);
+
+    private static final int MAX_RETAINED_IMPORTS = 20;
+
+    // Images and agents are only replaced when the feed provides them.
+    private static final String UPSERT_SQL =
+            "INSERT INTO properties (external_ref, title, description, price, location, size, type, image_url, agent_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description), "
+            + "price = VALUES(price), location = VALUES(location), size = VALUES(size), type = VALUES(type), "
+            + "image_url = COALESCE(VALUES(image_url), image_url), agent_id = COALESCE(VALUES(agent_id), agent_id)";
+
+    private static final String LOCK_EXISTING_SQL =
+            "SELECT id, external_ref, type, agent_id, image_url FROM properties "
+            + "WHERE external_ref IN (:refs) FOR UPDATE";
+
+    private static final String FIND_IDS_SQL =
+            "SELECT id, external_ref FROM properties WHERE external_ref IN (:refs)";
+
+    private static final String CLEAR_VARIANTS_SQL =
+            "UPDATE properties SET thumbnail_url = NULL, card_image_url = NULL, detail_image_url = NULL WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final UserRepository userRepository;
+    private final LocationIndex locationIndex;
+    private final PropertyColumnStore columnStore;
+    private final PropertyCache propertyCache;
+    private final Cache secondLevelCache;
+    private final FileStorageService fileStorageService;
+    private final DashboardStatisticsService statistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final ThreadPoolExecutor worker;
+    private final Map<String, PropertyImportProgress> imports = new LinkedHashMap<>();
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public PropertyImportService(NamedParameterJdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 Validator validator,
+                                 UserRepository userRepository,
+                                 LocationIndex locationIndex,
+                                 PropertyColumnStore columnStore,
+                                 PropertyCache propertyCache,
+                                 EntityManagerFactory entityManagerFactory,
+                                 FileStorageService fileStorageService,
+                                 DashboardStatisticsService statistics,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${property.import.batch-size:500}") int batchSize,
+                                 @Value("${property.import.queue-capacity:4}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.userRepository = userRepository;
+        this.locationIndex = locationIndex;
+        this.columnStore = columnStore;
+        this.propertyCache = propertyCache;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.fileStorageService = fileStorageService;
+        this.statistics = statistics;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+
+        // One import at a time: concurrent imports would contend for the same rows and indexes.
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "property-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // ---------------- Service Methods ---------------- //
+
+    /**
+     * Spools the feed to disk and queues it. Returns null when the import queue is full.
+     */
+    public PropertyImportProgress submit(InputStream content, DataFormat format) throws IOException {
+        Path spool = Files.createTempFile("property-import-", "." + format.getExtension());
+        try {
+            Files.copy(content, spool, StandardCopyOption.REPLACE_EXISTING);
+            PropertyImportProgress progress =
+                    new PropertyImportProgress(UUID.randomUUID().toString(), format.name(), Files.size(spool));
+            register(progress);
+            try {
+                worker.execute(() -> runSpooled(progress, format, spool));
+            } catch (RejectedExecutionException ex) {
+                synchronized (imports) {
+                    imports.remove(progress.getId());
+                }
+                Files.deleteIfExists(spool);
+                return null;
+            }
+            return progress;
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+    }
+
+    public PropertyImportProgress getImport(String id) {
+        synchronized (imports) {
+            return imports.get(id);
+        }
+    }
+
+    // Most recent first.
+    public List<PropertyImportProgress> getRecentImports() {
+        synchronized (imports) {
+            List<PropertyImportProgress> recent = new ArrayList<>(imports.values());
+            Collections.reverse(recent);
+            return recent;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // ---------------- Import ---------------- //
+
+    private void runSpooled(PropertyImportProgress progress, DataFormat format, Path spool) {
+        try (InputStream in = Files.newInputStream(spool)) {
+            importFeed(progress, format, in);
+        } catch (IOException ex) {
+            progress.failed(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ex) {
+                log.warn("Could not delete import spool file {}", spool, ex);
+            }
+        }
+    }
+
+    // Runs an import on the calling thread.
+    void importFeed(PropertyImportProgress progress, DataFormat format, InputStream content) {
+        progress.started();
+        CountingInputStream counted = new CountingInputStream(content);
+        Map<String, Long> agentsByEmail = loadAgents();
+        Map<String, ImportRow> chunk = new LinkedHashMap<>();
+
+        try (PropertyFeedReader reader = PropertyFeedReader.open(format, counted)) {
+            PropertyFeedReader.Record record;
+            while ((record = reader.next()) != null) {
+                progress.rowRead(counted.count);
+                ImportRow row = toRow(record, agentsByEmail, progress);
+                if (row == null) {
+                    continue;
+                }
+                // A repeated reference in one chunk is written in the next, as an update.
+                if (chunk.size() >= batchSize || chunk.containsKey(row.property.getExternalRef())) {
+                    write(new ArrayList<>(chunk.values()), progress);
+                    chunk.clear();
+                }
+                chunk.put(row.property.getExternalRef(), row);
+            }
+            write(new ArrayList<>(chunk.values()), progress);
+            progress.completed();
+            log.info("Property import {} finished: {} rows, {} inserted, {} updated, {} rejected",
+                    progress.getId(), progress.getRowsRead(), progress.getInserted(),
+                    progress.getUpdated(), progress.getRejected());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Property import {} failed after {} rows", progress.getId(), progress.getRowsRead(), ex);
+            progress.failed(ex.getMessage());
+        }
+    }
+
+    /*
+     * Writes one chunk in its own transaction. If the batch fails despite validation (say a
+     * constraint the entity does not declare), the chunk is retried row by row so only the
+     * offending rows are rejected.
+     */
+    private void write(List<ImportRow> rows, PropertyImportProgress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            int[] counts = transactionTemplate.execute(status -> upsert(rows));
+            progress.written(counts[0], counts[1]);
+        } catch (DataAccessException ex) {
+            if (rows.size() == 1) {
+                ImportRow row = rows.get(0);
+                progress.rejected(row.row, row.line, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                return;
+            }
+            log.debug("Import batch of {} rows failed; retrying row by row", rows.size(), ex);
+            for (ImportRow row : rows) {
+                write(List.of(row), progress);
+            }
+        }
+    }
+
+    // Returns {inserted, updated}.
+    private int[] upsert(List<ImportRow> rows) {
+        List<String> refs = new ArrayList<>(rows.size());
+        rows.forEach(row -> refs.add(row.property.getExternalRef()));
+
+        Map<String, ExistingRow> existing = new HashMap<>();
+        jdbcTemplate.query(LOCK_EXISTING_SQL, Map.of("refs", refs), rs -> {
+            existing.put(rs.getString("external_ref"), new ExistingRow(rs.getLong("id"), rs.getString("type"),
+                    rs.getObject("agent_id", Long.class), rs.getString("image_url")));
+        });
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ImportRow row = rows.get(i);
+                Property p = row.property;
+                ps.setString(1, p.getExternalRef());
+                ps.setString(2, p.getTitle());
+                ps.setString(3, p.getDescription());
+                ps.setDouble(4, p.getPrice());
+                ps.setString(5, p.getLocation());
+                ps.setDouble(6, p.getSize());
+                ps.setString(7, p.getType());
+                ps.setObject(8, p.getImageUrl(), Types.VARCHAR);
+                ps.setObject(9, row.agentId, Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        List<Long> replacedImages = new ArrayList<>();
+        List<String> releasedUrls = new ArrayList<>();
+        List<String> insertedRefs = new ArrayList<>();
+        for (ImportRow row : rows) {
+            ExistingRow old = existing.get(row.property.getExternalRef());
+            if (old == null) {
+                insertedRefs.add(row.property.getExternalRef());
+                continue;
+            }
+            String newImage = row.property.getImageUrl();
+            if (newImage != null && !newImage.equals(old.imageUrl)) {
+                replacedImages.add(old.id);
+                if (old.imageUrl != null) {
+                    releasedUrls.add(old.imageUrl);
+                }
+            }
+        }
+        if (!replacedImages.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(CLEAR_VARIANTS_SQL, replacedImages, replacedImages.size(),
+                    (ps, id) -> ps.setLong(1, id));
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        existing.forEach((ref, old) -> ids.put(ref, old.id));
+        if (!insertedRefs.isEmpty()) {
+            jdbcTemplate.query(FIND_IDS_SQL, Map.of("refs", insertedRefs),
+                    rs -> { ids.put(rs.getString("external_ref"), rs.getLong("id")); });
+        }
+
+        for (ImportRow row : rows) {
+            Property p = row.property;
+            ExistingRow old = existing.get(p.getExternalRef());
+            if (old == null) {
+                statistics.propertyCreated(p.getType(), row.agentId);
+            } else {
+                statistics.propertyUpdated(old.type, p.getType(), old.agentId,
+                        row.agentId != null ? row.agentId : old.agentId);
+            }
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            for (ImportRow row : rows) {
+                Property p = row.property;
+                Long id = ids.get(p.getExternalRef());
+                if (existing.containsKey(p.getExternalRef())) {
+                    propertyCache.invalidate(id);
+                }
+                locationIndex.put(id, p.getLocation());
+                columnStore.put(id, p.getType(), p.getPrice(), p.getSize());
+                eventPublisher.publishEvent(new PropertyChangedEvent(id));
+            }
+            // Inserts and updates change search results that Hibernate never saw being written.
+            secondLevelCache.evictDefaultQueryRegion();
+            releasedUrls.forEach(fileStorageService::release);
+        });
+        return new int[] { insertedRefs.size(), rows.size() - insertedRefs.size() };
+    }
+
+    // ---------------- Row Mapping ---------------- //
+
+    // Maps and validates one record against the Property constraints; rejected rows return null.
+    private ImportRow toRow(PropertyFeedReader.Record record, Map<String, Long> agentsByEmail,
+                            PropertyImportProgress progress) {
+        List<String> errors = new ArrayList<>();
+        Set<String> unparsed = new HashSet<>();
+        Property property = new Property();
+        property.setExternalRef(text(record, "externalref"));
+        property.setTitle(text(record, "title"));
+        property.setDescription(text(record, "description"));
+        property.setPrice(number(record, "price", "Price", errors, unparsed));
+        property.setLocation(text(record, "location"));
+        property.setSize(number(record, "size", "Size", errors, unparsed));
+        property.setType(text(record, "type"));
+        property.setImageUrl(text(record, "imageurl"));
+
+        if (property.getExternalRef() == null) {
+            errors.add("External reference is required");
+        }
+        String imageUrl = property.getImageUrl();
+        if (imageUrl != null && !imageUrl.startsWith("https://") && !imageUrl.startsWith("http://")) {
+            errors.add("Image URL must be an absolute http(s) URL");
+        }
+        Long agentId = null;
+        String agentEmail = text(record, "agentemail");
+        if (agentEmail != null) {
+            agentId = agentsByEmail.get(agentEmail.toLowerCase(Locale.ROOT));
+            if (agentId == null) {
+                errors.add("No agent with email " + agentEmail);
+            }
+        }
+        for (ConstraintViolation<Property> violation : validator.validate(property)) {
+            // Unparseable numbers already have a more specific message than "is required".
+            if (!unparsed.contains(violation.getPropertyPath().toString())) {
+                errors.add(violation.getMessage());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            progress.rejected(record.getRow(), record.getLine(), String.join("; ", errors));
+            return null;
+        }
+        return new ImportRow(record.getRow(), record.getLine(), property, agentId);
+    }
+
+    private static String text(PropertyFeedReader.Record record, String field) {
+        String value = record.get(field);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double number(PropertyFeedReader.Record record, String field, String label,
+                                 List<String> errors, Set<String> unparsed) {
+        String value = text(record, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (Double.isFinite(parsed)) {
+                return parsed;
+            }
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        errors.add(label + " is not a number: " + value);
+        unparsed.add(field);
+        return null;
+    }
+
+    private Map<String, Long> loadAgents() {
+        Map<String, Long> agents = new HashMap<>();
+        for (User agent : userRepository.findByRoleOrderByNameAsc("AGENT")) {
+            agents.put(agent.getEmail().toLowerCase(Locale.ROOT), agent.getId());
+        }
+        return agents;
+    }
+
+    private void register(PropertyImportProgress progress) {
+        synchronized (imports) {
+            Iterator<PropertyImportProgress> oldest = imports.values().iterator();
+            while (imports.size() >= MAX_RETAINED_IMPORTS && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+            imports.put(progress.getId(), progress);
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private static final class ImportRow {
+
+        private final long row;
+        private final long line;
+        private final Property property;
+        private final Long agentId;
+
+        ImportRow(long row, long line, Property property, Long agentId) {
+            this.row = row;
+            this.line = line;
+            this.property = property;
+            this.agentId = agentId;
+        }
+    }
+
+    private static final class ExistingRow {
+
+        private final long id;
+        private final String type;
+        private final Long agentId;
+        private final String imageUrl;
+
+        ExistingRow(long id, String type, Long agentId, String imageUrl) {
+            this.id = id;
+            this.type = type;
+            this.agentId = agentId;
+            this.imageUrl = imageUrl;
+        }
+    }
+
+    // Tracks how far into the upload the reader is, for the progress percentage.
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -1,34 +1,87 @@
 package com.realestate.management.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.PropertySearchCriteria;
 import com.realestate.management.entity.Property;
 import com.realestate.management.exception.ResourceNotFoundException;
+import com.realestate.management.repository.InquiryRepository;
 import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.util.TransactionCallbacks;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
 @Transactional
+@Timed(value = "service.calls", description = "Service method latency")
 public class PropertyService {
 
+    public static final int DEFAULT_PAGE_SIZE = 12;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Candidate ids resolved in memory are sent to the database in IN-lists of at most this size.
+    private static final int ID_CHUNK_SIZE = 500;
+
     private final PropertyRepository propertyRepository;
+    private final InquiryRepository inquiryRepository;
+    private final LocationIndex locationIndex;
+    private final PropertyColumnStore columnStore;
+    private final PropertyCache propertyCache;
+    private final ImageDerivativeService imageDerivatives;
+    private final FileStorageService fileStorageService;
+    private final DashboardStatisticsService statistics;
+    private final DocumentRetrievalService documentRetrieval;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
-    public PropertyService(PropertyRepository propertyRepository) {
+    public PropertyService(PropertyRepository propertyRepository,
+                           InquiryRepository inquiryRepository,
+                           LocationIndex locationIndex,
+                           PropertyColumnStore columnStore,
+                           PropertyCache propertyCache,
+                           ImageDerivativeService imageDerivatives,
+                           FileStorageService fileStorageService,
+                           DashboardStatisticsService statistics,
+                           DocumentRetrievalService documentRetrieval,
+                           ApplicationEventPublisher eventPublisher) {
         this.propertyRepository = propertyRepository;
+        this.inquiryRepository = inquiryRepository;
+        this.locationIndex = locationIndex;
+        this.columnStore = columnStore;
+        this.propertyCache = propertyCache;
+        this.imageDerivatives = imageDerivatives;
+        this.fileStorageService = fileStorageService;
+        this.statistics = statistics;
+        this.documentRetrieval = documentRetrieval;
+        this.eventPublisher = eventPublisher;
     }
 
-    // ---------------- Service Methods (unchanged) ---------------- //
+    // ---------------- Service Methods ---------------- //
 
     public Property createProperty(Property property) {
-        return propertyRepository.save(property);
+        Property saved = propertyRepository.save(property);
+        statistics.propertyCreated(saved.getType(), saved.getAgentId());
+        TransactionCallbacks.afterCommit(() -> {
+            index(saved);
+            eventPublisher.publishEvent(new PropertyChangedEvent(saved.getId()));
+            imageDerivatives.submit(saved.getId(), saved.getImageUrl());
+        });
+        return saved;
     }
 
+    // Served from PropertyCache as a detached copy of the cached entry.
     public Property getPropertyById(Long id) {
-        return propertyRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+        return propertyCache.get(id, this::findManaged);
     }
 
     public List<Property> getAllProperties() {
@@ -36,31 +89,321 @@ public class PropertyService {
     }
 
     public List<Property> searchProperties(String type, String location, Double minPrice, Double maxPrice) {
-        return propertyRepository.searchProperties(type, location, minPrice, maxPrice);
+        PropertySearchCriteria criteria =
+                new PropertySearchCriteria(type, location, minPrice, maxPrice, null, null).normalized();
+        IdSource source = idSource(criteria, false);
+        if (source == null) {
+            return propertyRepository.searchProperties(criteria.getType(), criteria.getLocation(),
+                    criteria.getMinPrice(), criteria.getMaxPrice());
+        }
+        return seek(source, criteria, 0L, Integer.MAX_VALUE, false);
     }
 
     public Property updateProperty(Long id, Property propertyDetails) {
-        Property property = getPropertyById(id);
+        Property property = findManaged(id);
+        String oldType = property.getType();
+        Long oldAgentId = property.getAgentId();
         property.setTitle(propertyDetails.getTitle());
         property.setDescription(propertyDetails.getDescription());
         property.setPrice(propertyDetails.getPrice());
         property.setLocation(propertyDetails.getLocation());
         property.setSize(propertyDetails.getSize());
         property.setType(propertyDetails.getType());
+        property.setAgent(propertyDetails.getAgent());
 
-        if (propertyDetails.getImageUrl() != null && !propertyDetails.getImageUrl().isEmpty()) {
+        String oldImageUrl = property.getImageUrl();
+        String newImageUrl = propertyDetails.getImageUrl();
+        boolean imageUploaded = newImageUrl != null && !newImageUrl.isEmpty();
+        boolean imageChanged = imageUploaded && !newImageUrl.equals(oldImageUrl);
+        if (imageChanged) {
             property.setImageUrl(propertyDetails.getImageUrl());
+            property.setThumbnailUrl(null);
+            property.setCardImageUrl(null);
+            property.setDetailImageUrl(null);
+            property.setVerificationStatus(null);
+            property.setForgeryProbability(null);
+            property.setVerifiedAt(null);
         }
 
-        return propertyRepository.save(property);
+        Property saved = propertyRepository.save(property);
+        statistics.propertyUpdated(oldType, saved.getType(), oldAgentId, saved.getAgentId());
+        TransactionCallbacks.afterCommit(() -> {
+            propertyCache.invalidate(id);
+            index(saved);
+            eventPublisher.publishEvent(new PropertyChangedEvent(id));
+            if (imageChanged) {
+                imageDerivatives.submit(id, saved.getImageUrl());
+            }
+            // The property holds one reference to its image; re-uploading identical content
+            // took a second one on the same blob.
+            if (imageUploaded) {
+                fileStorageService.release(imageChanged ? oldImageUrl : newImageUrl);
+            }
+        });
+        return saved;
+    }
+
+    // Replaces the property's legal document; the previous upload is released after commit.
+    public Property attachDocument(Long id, String documentUrl) {
+        Property property = findManaged(id);
+        String oldDocumentUrl = property.getDocumentUrl();
+        property.setDocumentUrl(documentUrl);
+        Property saved = propertyRepository.save(property);
+        TransactionCallbacks.afterCommit(() -> {
+            propertyCache.invalidate(id);
+            fileStorageService.release(oldDocumentUrl);
+            documentRetrieval.prepare(fileStorageService.fileNameOf(documentUrl));
+        });
+        return saved;
     }
 
     public void deleteProperty(Long id) {
-        Property property = getPropertyById(id);
+        Property property = findManaged(id);
         propertyRepository.delete(property);
+        statistics.propertyDeleted(property.getType(), property.getAgentId());
+        TransactionCallbacks.afterCommit(() -> {
+            propertyCache.invalidate(id);
+            locationIndex.remove(id);
+            columnStore.remove(id);
+            eventPublisher.publishEvent(new PropertyChangedEvent(id));
+            fileStorageService.release(property.getImageUrl());
+            fileStorageService.release(property.getDocumentUrl());
+        });
     }
 
     public long countProperties() {
         return propertyRepository.count();
     }
+
+    @Transactional(readOnly = true)
+    public List<Property> getRecentProperties(int limit) {
+        return propertyRepository.findPageBefore(Long.MAX_VALUE, PageRequest.ofSize(limit));
+    }
+
+    // ---------------- Agent Listings ---------------- //
+
+    @Transactional(readOnly = true)
+    public CursorPage<Property> getAgentPropertiesPage(Long agentId, Long after, Long before, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        if (before != null) {
+            return backwardPage(propertyRepository.findAgentPageBefore(agentId, before, limit), pageSize);
+        }
+        long afterId = after != null ? after : 0L;
+        return forwardPage(propertyRepository.findAgentPageAfter(agentId, afterId, limit), pageSize, afterId);
+    }
+
+    public long countAgentProperties(Long agentId) {
+        return statistics.agentProperties(agentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Property> getRecentAgentProperties(Long agentId, int limit) {
+        return propertyRepository.findAgentPageBefore(agentId, Long.MAX_VALUE, PageRequest.ofSize(limit));
+    }
+
+    // Called before any account is removed so its listings stay published, unassigned.
+    public void unassignAgent(Long agentId) {
+        List<Long> ids = propertyRepository.findIdsByAgentId(agentId);
+        if (ids.isEmpty()) {
+            return;
+        }
+        propertyRepository.unassignAgent(agentId);
+        TransactionCallbacks.afterCommit(() -> ids.forEach(propertyCache::invalidate));
+    }
+
+    // ---------------- Property Cache ---------------- //
+
+    // Preloads the properties with the most inquiries, which are the likeliest detail-page hits.
+    @Transactional(readOnly = true)
+    public int warmPropertyCache(int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        // Stamped before the first read, so a write committed while this runs keeps its invalidation
+        long stamp = propertyCache.stamp();
+        List<Long> ids = inquiryRepository.findMostInquiredPropertyIds(PageRequest.ofSize(limit));
+        List<Property> properties = propertyRepository.findAllById(ids);
+        properties.forEach(property -> propertyCache.putIfUnchanged(property, stamp));
+        return properties.size();
+    }
+
+    public Map<String, Object> getPropertyCacheStats() {
+        return propertyCache.stats();
+    }
+
+    // ---------------- Keyset Pagination ---------------- //
+
+    @Transactional(readOnly = true)
+    public CursorPage<Property> getPropertiesPage(Long after, Long before, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        if (before != null) {
+            return backwardPage(propertyRepository.findPageBefore(before, limit), pageSize);
+        }
+        long afterId = after != null ? after : 0L;
+        return forwardPage(propertyRepository.findPageAfter(afterId, limit), pageSize, afterId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Property> searchPropertiesPage(PropertySearchCriteria search, Long after, Long before, int size) {
+        PropertySearchCriteria criteria = search.normalized();
+        int pageSize = clampPageSize(size);
+        boolean descending = before != null;
+        long cursor = descending ? before : (after != null ? after : 0L);
+
+        List<Property> rows;
+        IdSource source = idSource(criteria, descending);
+        if (source != null) {
+            rows = seek(source, criteria, cursor, pageSize + 1, descending);
+        } else if (descending) {
+            rows = propertyRepository.searchPageBefore(criteria.getType(), criteria.getLocation(),
+                    criteria.getMinPrice(), criteria.getMaxPrice(), criteria.getMinSize(), criteria.getMaxSize(),
+                    cursor, PageRequest.ofSize(pageSize + 1));
+        } else {
+            rows = propertyRepository.searchPageAfter(criteria.getType(), criteria.getLocation(),
+                    criteria.getMinPrice(), criteria.getMaxPrice(), criteria.getMinSize(), criteria.getMaxSize(),
+                    cursor, PageRequest.ofSize(pageSize + 1));
+        }
+        return descending ? backwardPage(rows, pageSize) : forwardPage(rows, pageSize, cursor);
+    }
+
+    // ---------------- In-Memory Index Paths ---------------- //
+
+    @FunctionalInterface
+    private interface IdSupplier {
+        long[] next(long cursor, int limit);
+    }
+
+    /**
+     * Yields matching ids moving away from a cursor, ascending or descending. An exact source
+     * has already applied every filter, so the database is only asked for the rows by id.
+     */
+    private static final class IdSource {
+
+        private final IdSupplier supplier;
+        private final boolean exact;
+
+        IdSource(IdSupplier supplier, boolean exact) {
+            this.supplier = supplier;
+            this.exact = exact;
+        }
+    }
+
+    // Picks the cheapest warm index for the criteria, or null to fall back to SQL.
+    private IdSource idSource(PropertySearchCriteria criteria, boolean descending) {
+        String location = criteria.getLocation();
+        if (location != null && !locationIndex.isWarm()) {
+            return null;
+        }
+
+        if (columnStore.isWarm()) {
+            if (location == null) {
+                return new IdSource((cursor, limit) -> descending
+                        ? columnStore.idsBefore(criteria, cursor, limit)
+                        : columnStore.idsAfter(criteria, cursor, limit), true);
+            }
+            return new IdSource((cursor, limit) -> locationIdsMatching(criteria, cursor, limit, descending), true);
+        }
+
+        if (location != null) {
+            return new IdSource((cursor, limit) -> descending
+                    ? locationIndex.idsBefore(location, cursor, limit)
+                    : locationIndex.idsAfter(location, cursor, limit), false);
+        }
+        return null;
+    }
+
+    // Location candidates filtered by the column store's type/price/size point checks.
+    private long[] locationIdsMatching(PropertySearchCriteria criteria, long cursor, int limit, boolean descending) {
+        long[] result = new long[limit];
+        int n = 0;
+        int chunk = Math.min(Math.max(limit, 64), ID_CHUNK_SIZE);
+        while (n < limit) {
+            long[] ids = descending
+                    ? locationIndex.idsBefore(criteria.getLocation(), cursor, chunk)
+                    : locationIndex.idsAfter(criteria.getLocation(), cursor, chunk);
+            for (int i = 0; i < ids.length && n < limit; i++) {
+                if (columnStore.matches(ids[i], criteria)) {
+                    result[n++] = ids[i];
+                }
+            }
+            if (ids.length < chunk) {
+                break;
+            }
+            cursor = ids[ids.length - 1];
+        }
+        return n == limit ? result : Arrays.copyOf(result, n);
+    }
+
+    /*
+     * Pulls ids from the source one IN-list at a time until enough rows are collected. Exact
+     * sources ask for exactly the missing rows; otherwise the first chunk is one page and it
+     * doubles only while the SQL filters keep rejecting candidates. Rows are returned in seek
+     * order (descending for backward pages, like findPageBefore).
+     */
+    private List<Property> seek(IdSource source, PropertySearchCriteria criteria,
+                                long cursor, int limit, boolean descending) {
+        List<Property> rows = new ArrayList<>();
+        int chunk = Math.min(limit, ID_CHUNK_SIZE);
+        while (rows.size() < limit) {
+            int wanted = source.exact ? Math.min(limit - rows.size(), ID_CHUNK_SIZE) : chunk;
+            long[] ids = source.supplier.next(cursor, wanted);
+            if (ids.length == 0) {
+                break;
+            }
+            List<Property> matches = source.exact
+                    ? propertyRepository.findByIdInOrderByIdAsc(toIdList(ids))
+                    : propertyRepository.searchByIds(toIdList(ids), criteria.getType(),
+                            criteria.getMinPrice(), criteria.getMaxPrice(),
+                            criteria.getMinSize(), criteria.getMaxSize());
+            if (descending) {
+                matches = new ArrayList<>(matches);
+                Collections.reverse(matches);
+            }
+            rows.addAll(matches);
+            cursor = ids[ids.length - 1];
+            chunk = Math.min(chunk * 2, ID_CHUNK_SIZE);
+        }
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    private void index(Property property) {
+        locationIndex.put(property.getId(), property.getLocation());
+        columnStore.put(property.getId(), property.getType(), property.getPrice(), property.getSize());
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private Property findManaged(Long id) {
+        return propertyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+    }
+
+    private static List<Long> toIdList(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    // One extra row is fetched to learn whether another page exists without a COUNT query.
+    // Ascending ids, so before = afterId + 1 leads back to the page that ended at afterId.
+    private CursorPage<Property> forwardPage(List<Property> rows, int pageSize, long afterId) {
+        return CursorPage.forward(rows, pageSize, afterId > 0 ? afterId + 1 : null, Property::getId);
+    }
+
+    private CursorPage<Property> backwardPage(List<Property> rows, int pageSize) {
+        return CursorPage.backward(rows, pageSize, Property::getId);
+    }
+
+    private int clampPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 }
@@ -0,0 +1,188 @@
+package com.realestate.management.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.management.dto.SqlOffender;
+import com.realestate.management.util.RequestSqlStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks each finished request's JDBC activity against the SQL budget. A request with too
+ * many statements or rows, or one slower than the threshold, is logged as one JSON record
+ * (controller method, counts and its most repeated normalized statements) and added to a
+ * per-handler offenders table. Requests within budget cost one comparison each.
+ */
+@Service
+public class SqlBudgetMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetMonitor.class);
+
+    private static final int STATEMENTS_PER_RECORD = 5;
+    private static final int MAX_HANDLERS = 500;
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxStatements;
+    private final long maxRows;
+    private final long slowRequestNanos;
+    private final int topOffenders;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, SqlOffender> offenders = new HashMap<>();
+    private long exceededRequests;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public SqlBudgetMonitor(@Value("${sql.budget.max-statements:25}") int maxStatements,
+                            @Value("${sql.budget.max-rows:5000}") long maxRows,
+                            @Value("${sql.budget.slow-request:PT1S}") Duration slowRequest,
+                            @Value("${sql.budget.top-offenders:20}") int topOffenders,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.maxStatements = maxStatements;
+        this.maxRows = maxRows;
+        this.slowRequestNanos = slowRequest.toNanos();
+        this.topOffenders = topOffenders;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void completed(RequestSqlStats stats, String handler, String method, String uri, int status) {
+        long elapsedNanos = stats.getElapsedNanos();
+        List<String> exceeded = new ArrayList<>(3);
+        if (stats.getStatements() > maxStatements) {
+            exceeded.add("statements");
+        }
+        if (stats.getRows() > maxRows) {
+            exceeded.add("rows");
+        }
+        if (elapsedNanos > slowRequestNanos) {
+            exceeded.add("latency");
+        }
+        if (exceeded.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> statements = topStatements(stats);
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        long jdbcMillis = stats.getJdbcNanos() / 1_000_000;
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("event", "sql-budget-exceeded");
+        record.put("exceeded", exceeded);
+        record.put("handler", handler);
+        record.put("method", method);
+        record.put("uri", uri);
+        record.put("status", status);
+        record.put("elapsedMs", elapsedMillis);
+        record.put("statements", stats.getStatements());
+        record.put("rows", stats.getRows());
+        record.put("jdbcMs", jdbcMillis);
+        record.put("topStatements", statements);
+        try {
+            log.warn(objectMapper.writeValueAsString(record));
+        } catch (JsonProcessingException ex) {
+            log.warn("SQL budget exceeded by {}: {}", handler, record);
+        }
+
+        Map<String, Object> worst = statements.isEmpty() ? null : statements.get(0);
+        synchronized (offenders) {
+            exceededRequests++;
+            SqlOffender offender = offenders.get(handler);
+            if (offender == null) {
+                if (offenders.size() >= MAX_HANDLERS) {
+                    offenders.values().stream()
+                            .min(Comparator.comparingLong(SqlOffender::getOccurrences))
+                            .ifPresent(least -> offenders.remove(least.getHandler()));
+                }
+                offender = new SqlOffender(handler);
+                offenders.put(handler, offender);
+            }
+            offender.record(stats.getStatements(), stats.getRows(), elapsedMillis, jdbcMillis,
+                    worst != null ? (String) worst.get("sql") : null,
+                    worst != null ? (Long) worst.get("count") : 0);
+        }
+        meterRegistry.counter("sql.budget.exceeded", "handler", handler).increment();
+    }
+
+    // Most frequent offenders first; copies, so callers never see a table being updated.
+    public List<SqlOffender> getOffenders() {
+        synchronized (offenders) {
+            return offenders.values().stream()
+                    .sorted(Comparator.comparingLong(SqlOffender::getOccurrences).reversed()
+                            .thenComparing(Comparator.comparingInt(SqlOffender::getMaxStatements).reversed()))
+                    .limit(topOffenders)
+                    .map(SqlOffender::new)
+                    .toList();
+        }
+    }
+
+    public Map<String, Object> getBudget() {
+        Map<String, Object> budget = new LinkedHashMap<>();
+        budget.put("maxStatements", maxStatements);
+        budget.put("maxRows", maxRows);
+        budget.put("slowRequestMs", slowRequestNanos / 1_000_000);
+        synchronized (offenders) {
+            budget.put("exceededRequests", exceededRequests);
+        }
+        return budget;
+    }
+
+    public void reset() {
+        synchronized (offenders) {
+            offenders.clear();
+            exceededRequests = 0;
+        }
+    }
+
+    // Literal values and IN-list lengths stripped, so one query shape is one entry.
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() > MAX_SQL_LENGTH ? normalized.substring(0, MAX_SQL_LENGTH) + "..." : normalized;
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    private static List<Map<String, Object>> topStatements(RequestSqlStats stats) {
+        Map<String, long[]> byShape = new HashMap<>();
+        stats.getBySql().forEach((sql, counts) -> {
+            String shape = sql.equals(RequestSqlStats.OTHER_SQL) ? sql : normalize(sql);
+            long[] total = byShape.computeIfAbsent(shape, k -> new long[2]);
+            total[0] += counts[0];
+            total[1] += counts[1];
+        });
+        return byShape.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(STATEMENTS_PER_RECORD)
+                .map(e -> {
+                    Map<String, Object> statement = new LinkedHashMap<>();
+                    statement.put("sql", e.getKey());
+                    statement.put("count", e.getValue()[0]);
+                    statement.put("jdbcMs", e.getValue()[1] / 1_000_000);
+                    return statement;
+                })
+                .toList();
+    }
+}
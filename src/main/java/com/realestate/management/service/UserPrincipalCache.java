@@ -0,0 +1,53 @@
+package com.realestate.management.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.realestate.management.dto.UserPrincipal;
+import com.realestate.management.repository.UserRepository;
+
+/**
+ * Bounded cache of principals keyed by email, backing both login and the per-request
+ * principal refresh. UserService evicts entries after commit whenever a user changes.
+ * Cached instances are never handed out directly: callers get a copy, because Spring
+ * Security erases the credentials of the principal it authenticated.
+ *
+ * Eviction only reaches this instance's cache. When several instances share the database,
+ * the others keep a changed or deleted user's old principal (and its role) until
+ * expire-after-write passes, so that setting bounds how long a revoked role stays usable.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${security.principal-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    // Unknown emails are not cached: logins with made-up emails would otherwise push real
+    // principals out of the bounded cache.
+    public Optional<UserPrincipal> get(String email) {
+        UserPrincipal principal = cache.get(email,
+                key -> userRepository.findByEmail(key).map(UserPrincipal::of).orElse(null));
+        return Optional.ofNullable(principal).map(UserPrincipal::copy);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+}
@@ -8,16 +8,29 @@ import org.springframework.transaction.annotation.Transactional;
 import com.realestate.management.entity.User;
 import com.realestate.management.exception.ResourceNotFoundException;
 import com.realestate.management.repository.UserRepository;
+import com.realestate.management.util.TransactionCallbacks;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
 @Transactional
+@Timed(value = "service.calls", description = "Service method latency")
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PropertyService propertyService;
+    private final DashboardStatisticsService statistics;
+    private final UserPrincipalCache principalCache;
 
     // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       PropertyService propertyService,
+                       DashboardStatisticsService statistics,
+                       UserPrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.propertyService = propertyService;
+        this.statistics = statistics;
+        this.principalCache = principalCache;
     }
 
     // ---------------- Service Methods (unchanged) ---------------- //
@@ -27,7 +40,9 @@ public class UserService {
             throw new IllegalArgumentException("Email already exists");
         }
         // Store password as plain text (as per requirement)
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        statistics.userCreated(saved.getRole());
+        return saved;
     }
 
     public User getUserById(Long id) {
@@ -35,6 +50,11 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    // Unloaded proxy for callers that already hold a known-good id, e.g. the authenticated principal.
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
@@ -44,8 +64,22 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    public List<User> getAgents() {
+        return userRepository.findByRoleOrderByNameAsc("AGENT");
+    }
+
+    public User getAgentById(Long id) {
+        User user = getUserById(id);
+        if (!"AGENT".equals(user.getRole())) {
+            throw new IllegalArgumentException("User is not an agent: " + id);
+        }
+        return user;
+    }
+
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
+        String oldRole = user.getRole();
+        String oldEmail = user.getEmail();
         user.setName(userDetails.getName());
         user.setEmail(userDetails.getEmail());
         
@@ -54,16 +88,30 @@ public class UserService {
         }
         
         user.setRole(userDetails.getRole());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        statistics.userRoleChanged(oldRole, saved.getRole());
+        evictPrincipal(oldEmail);
+        evictPrincipal(saved.getEmail());
+        return saved;
     }
 
     public void deleteUser(Long id) {
         User user = getUserById(id);
+        // Whatever the current role: an agent moved to another role keeps its assignments.
+        propertyService.unassignAgent(id);
         userRepository.delete(user);
+        statistics.userDeleted(user.getRole());
+        evictPrincipal(user.getEmail());
     }
 
     public boolean authenticateUser(String email, String password) {
         User user = userRepository.findByEmail(email).orElse(null);
         return user != null && user.getPassword().equals(password);
     }
+
+    // ---------------- Helpers ---------------- //
+
+    private void evictPrincipal(String email) {
+        TransactionCallbacks.afterCommit(() -> principalCache.evict(email));
+    }
 }
@@ -0,0 +1,337 @@
+package com.realestate.management.service;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.realestate.management.dto.ForgeryVerdict;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.VerificationJob;
+import com.realestate.management.exception.ForgeryDetectionException;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.VerificationJobRepository;
+import com.realestate.management.util.TransactionCallbacks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Durable queue of forgery checks for property images. {@link #submit} only records a
+ * {@code verification_jobs} row; {@code verification.workers} threads claim due jobs with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, so any number of workers (and application
+ * instances) share the table without handing out a job twice. The verdict is written onto the
+ * property. Failed calls are retried with exponential backoff and dead-lettered after
+ * {@code verification.max-attempts}; submissions are refused once
+ * {@code verification.max-depth} jobs are queued or running.
+ */
+@Service
+public class VerificationQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificationQueue.class);
+
+    static final String QUEUED = "QUEUED";
+    static final String RUNNING = "RUNNING";
+    static final String SUCCEEDED = "SUCCEEDED";
+    static final String DEAD = "DEAD";
+    private static final List<String> OUTSTANDING = List.of(QUEUED, RUNNING);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int RECENT_DEAD_JOBS = 20;
+
+    private final VerificationJobRepository jobRepository;
+    private final PropertyRepository propertyRepository;
+    private final ForgeryDetectionClient detectionClient;
+    private final FileStorageService fileStorageService;
+    private final PropertyCache propertyCache;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerCount;
+    private final long maxDepth;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final ExecutorService workers;
+
+    // Released after each submission so an idle worker picks the job up without waiting out its poll.
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running = true;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public VerificationQueue(VerificationJobRepository jobRepository,
+                             PropertyRepository propertyRepository,
+                             ForgeryDetectionClient detectionClient,
+                             FileStorageService fileStorageService,
+                             PropertyCache propertyCache,
+                             MeterRegistry meterRegistry,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${verification.workers:4}") int workerCount,
+                             @Value("${verification.max-depth:1000}") long maxDepth,
+                             @Value("${verification.max-attempts:5}") int maxAttempts,
+                             @Value("${verification.backoff.initial:PT10S}") Duration initialBackoff,
+                             @Value("${verification.backoff.max:PT10M}") Duration maxBackoff,
+                             @Value("${verification.poll-interval:PT5S}") Duration pollInterval,
+                             @Value("${verification.lease:PT5M}") Duration lease) {
+        this.jobRepository = jobRepository;
+        this.propertyRepository = propertyRepository;
+        this.detectionClient = detectionClient;
+        this.fileStorageService = fileStorageService;
+        this.propertyCache = propertyCache;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.maxDepth = maxDepth;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), r -> {
+            Thread thread = new Thread(r, "verification-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ---------------- Submission ---------------- //
+
+    /**
+     * Queues a check of a stored image for the property and marks the property PENDING.
+     * Returns false, queuing nothing, when the queue is full. Submitting an image that
+     * already has an outstanding job is a no-op.
+     */
+    public boolean submit(Long propertyId, String fileName) {
+        boolean accepted = transactionTemplate.execute(status -> {
+            if (jobRepository.existsByPropertyIdAndFileNameAndStatusIn(propertyId, fileName, OUTSTANDING)) {
+                return true;
+            }
+            if (jobRepository.countByStatusIn(OUTSTANDING) >= maxDepth) {
+                return false;
+            }
+            jobRepository.save(new VerificationJob(propertyId, fileName));
+            propertyRepository.findById(propertyId).ifPresent(property -> record(property, "PENDING", null));
+            TransactionCallbacks.afterCommit(() -> {
+                propertyCache.invalidate(propertyId);
+                wakeUp.release();
+            });
+            return true;
+        });
+        if (!accepted) {
+            count("rejected");
+        }
+        return accepted;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (String status : List.of(QUEUED, RUNNING, SUCCEEDED, DEAD)) {
+            byStatus.put(status, 0L);
+        }
+        for (Object[] row : jobRepository.countGroupedByStatus()) {
+            byStatus.put((String) row[0], (Long) row[1]);
+        }
+        List<Map<String, Object>> dead = new ArrayList<>();
+        for (VerificationJob job : jobRepository.findByStatusOrderByIdDesc(DEAD, PageRequest.ofSize(RECENT_DEAD_JOBS))) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", job.getId());
+            entry.put("propertyId", job.getPropertyId());
+            entry.put("fileName", job.getFileName());
+            entry.put("attempts", job.getAttempts());
+            entry.put("lastError", job.getLastError());
+            entry.put("completedAt", job.getCompletedAt());
+            dead.add(entry);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("jobsByStatus", byStatus);
+        stats.put("maxDepth", maxDepth);
+        stats.put("workers", workerCount);
+        stats.put("recentDeadLetters", dead);
+        return stats;
+    }
+
+    // ---------------- Workers ---------------- //
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+        log.info("Started {} verification workers", workerCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdownNow();
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                VerificationJob job = claim();
+                if (job == null) {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                run(job);
+            } catch (InterruptedException ex) {
+                // Shutting down; a claimed job is picked up again once its lease runs out.
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Verification worker failed; retrying after {}", pollInterval, ex);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Takes the oldest due job, or one whose worker died, in its own short transaction.
+    private VerificationJob claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<VerificationJob> due = jobRepository.findClaimable(now, now.minus(lease), PageRequest.ofSize(1));
+            if (due.isEmpty()) {
+                return null;
+            }
+            VerificationJob job = due.get(0);
+            job.setStatus(RUNNING);
+            job.setClaimedAt(now);
+            job.setAttempts(job.getAttempts() + 1);
+            return job;
+        });
+    }
+
+    // The detection call runs outside any transaction; only its outcome is written back.
+    private void run(VerificationJob job) throws InterruptedException {
+        try {
+            ForgeryVerdict verdict = detectionClient.verify(job.getFileName()).get();
+            succeeded(job, verdict);
+        } catch (ExecutionException ex) {
+            failed(job, ex.getCause());
+        }
+    }
+
+    private void succeeded(VerificationJob claimed, ForgeryVerdict verdict) {
+        boolean held = transactionTemplate.execute(status -> {
+            VerificationJob job = stillClaimed(claimed);
+            if (job == null) {
+                return false;
+            }
+            job.setStatus(SUCCEEDED);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setLastError(null);
+            currentImageOwner(job).ifPresent(property -> record(property,
+                    verdict.isForgeryDetected() ? "FORGED" : "AUTHENTIC", verdict.getForgeryProbability()));
+            TransactionCallbacks.afterCommit(() -> propertyCache.invalidate(job.getPropertyId()));
+            return true;
+        });
+        count(held ? "succeeded" : "stale");
+    }
+
+    /*
+     * Schedules another attempt after initial-backoff * 2^(attempts - 1), capped at max-backoff.
+     * Errors that a retry cannot fix (a 4xx answer, a file no longer stored) and jobs out of
+     * attempts are dead-lettered, and the property is marked FAILED.
+     */
+    private void failed(VerificationJob claimed, Throwable cause) {
+        boolean permanent = (cause instanceof ForgeryDetectionException detection
+                && detection.getStatus() >= 400 && detection.getStatus() < 500)
+                || !Files.isRegularFile(fileStorageService.resolve(claimed.getFileName()));
+        String outcome = transactionTemplate.execute(status -> {
+            VerificationJob job = stillClaimed(claimed);
+            if (job == null) {
+                return "stale";
+            }
+            LocalDateTime now = LocalDateTime.now();
+            job.setLastError(truncate(String.valueOf(cause.getMessage())));
+            if (!permanent && job.getAttempts() < maxAttempts) {
+                job.setStatus(QUEUED);
+                job.setNextAttemptAt(now.plus(backoff(job.getAttempts())));
+                return "retried";
+            }
+            job.setStatus(DEAD);
+            job.setCompletedAt(now);
+            currentImageOwner(job).ifPresent(property -> record(property, "FAILED", null));
+            TransactionCallbacks.afterCommit(() -> propertyCache.invalidate(job.getPropertyId()));
+            return "dead";
+        });
+        if ("stale".equals(outcome)) {
+            log.info("Verification job {} attempt {} outlived its lease; its result is dropped",
+                    claimed.getId(), claimed.getAttempts());
+        } else if ("dead".equals(outcome)) {
+            log.warn("Verification job {} for property {} dead-lettered after {} attempts: {}",
+                    claimed.getId(), claimed.getPropertyId(), claimed.getAttempts(), cause.getMessage());
+        } else {
+            log.debug("Verification job {} attempt {} failed: {}", claimed.getId(), claimed.getAttempts(), cause.getMessage());
+        }
+        count(outcome);
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    /*
+     * The job, locked, if this worker's claim is still the current one. Every claim bumps the
+     * attempt count, so a RUNNING job with the same count has not been re-claimed after the
+     * lease ran out, and a job that is no longer RUNNING was finished by someone else.
+     */
+    private VerificationJob stillClaimed(VerificationJob claimed) {
+        return jobRepository.findByIdForUpdate(claimed.getId())
+                .filter(job -> RUNNING.equals(job.getStatus()) && job.getAttempts() == claimed.getAttempts())
+                .orElse(null);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    // The job's property, unless it was deleted or shows a different image by now.
+    private Optional<Property> currentImageOwner(VerificationJob job) {
+        return propertyRepository.findById(job.getPropertyId())
+                .filter(property -> job.getFileName().equals(fileStorageService.fileNameOf(property.getImageUrl())));
+    }
+
+    private static void record(Property property, String status, Double forgeryProbability) {
+        property.setVerificationStatus(status);
+        property.setForgeryProbability(forgeryProbability);
+        property.setVerifiedAt("PENDING".equals(status) ? null : LocalDateTime.now());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("verification.jobs", "outcome", outcome).increment();
+    }
+}
@@ -107,6 +107,12 @@ public class DataSeeder implements CommandLineRunner {
                         "https://images.unsplash.com/photo-1580587771525-78b9dba3b914?w=800")
         );
 
+        // Spread the listings across the seeded agents so every agent dashboard has data.
+        List<User> agents = userRepository.findByRoleOrderByNameAsc("AGENT");
+        for (int i = 0; i < properties.size() && !agents.isEmpty(); i++) {
+            properties.get(i).setAgent(agents.get(i % agents.size()));
+        }
+
         propertyRepository.saveAll(properties);
         System.out.println("✓ Properties seeded successfully!");
     }
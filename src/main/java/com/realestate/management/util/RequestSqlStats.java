@@ -0,0 +1,85 @@
+package com.realestate.management.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC activity of the request running on the current thread: statements, rows read or
+ * affected, and time spent executing, plus the same per SQL string. Only the request
+ * thread touches an instance, so nothing here is synchronized.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Distinct SQL strings kept per request; the rest are folded into one entry.
+    private static final int MAX_DISTINCT_SQL = 200;
+    public static final String OTHER_SQL = "<other>";
+
+    private final long startedNanos = System.nanoTime();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private final Map<String, long[]> bySql = new HashMap<>();
+
+    private RequestSqlStats() {
+    }
+
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // Null outside a tracked request (scheduled jobs, worker threads, startup).
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void executed(String sql, long nanos, long affectedRows) {
+        statements++;
+        jdbcNanos += nanos;
+        rows += affectedRows;
+        String key = sql == null ? OTHER_SQL : sql;
+        long[] entry = bySql.get(key);
+        if (entry == null) {
+            if (bySql.size() >= MAX_DISTINCT_SQL) {
+                key = OTHER_SQL;
+            }
+            entry = bySql.computeIfAbsent(key, k -> new long[2]);
+        }
+        entry[0]++;
+        entry[1] += nanos;
+    }
+
+    public void rowRead() {
+        rows++;
+    }
+
+    // ---------------- Getters ---------------- //
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startedNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    // SQL string -> { executions, nanos }
+    public Map<String, long[]> getBySql() {
+        return bySql;
+    }
+}
@@ -0,0 +1,135 @@
+package com.realestate.management.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Reports every statement executed on its connections, with timing and row counts, to the
+ * {@link RequestSqlStats} of the request that borrowed the connection. Connections taken
+ * outside a tracked request are handed out unwrapped, so background work pays nothing.
+ */
+public class SqlTrackingDataSource extends DelegatingDataSource {
+
+    public SqlTrackingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private static Connection track(Connection connection) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, new ConnectionHandler(connection, stats));
+    }
+
+    // ---------------- Proxies ---------------- //
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlTrackingDataSource.class.getClassLoader(),
+                new Class<?>[] { type }, handler));
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target, RequestSqlStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(statement, (String) args[0], stats));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, (String) args[0], stats));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, null, stats));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, String sql, RequestSqlStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = call(target, method, args);
+                return result instanceof ResultSet rs && name.equals("getResultSet") ? rows(rs) : result;
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long started = System.nanoTime();
+            Object result = null;
+            try {
+                result = call(target, method, args);
+                return result instanceof ResultSet rs ? rows(rs) : result;
+            } finally {
+                stats.executed(executed, System.nanoTime() - started, affectedRows(result));
+            }
+        }
+
+        private ResultSet rows(ResultSet rs) {
+            return proxy(ResultSet.class, rs, new ResultSetHandler(rs, stats));
+        }
+    }
+
+    // Update counts of executeUpdate/executeBatch; queries count their rows as they are read.
+    private static long affectedRows(Object result) {
+        long rows = 0;
+        if (result instanceof Integer count) {
+            rows = count;
+        } else if (result instanceof Long count) {
+            rows = count;
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return Math.max(rows, 0);
+    }
+
+    private record ResultSetHandler(ResultSet target, RequestSqlStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(target, method, args);
+            if (result == Boolean.TRUE && method.getName().equals("next")) {
+                stats.rowRead();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.realestate.management.util;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Load-test data generator, active under the {@code loadtest} profile (see
+ * application-loadtest.properties). Inserts {@code loadtest.users} users (the first
+ * {@code loadtest.agents} of them agents), {@code loadtest.properties} properties and
+ * {@code loadtest.inquiries} inquiries with batched JDBC inserts on a worker pool.
+ *
+ * <p>Locations follow a Zipf distribution over a fixed city list, prices and sizes are
+ * log-normal per type, and inquiries pick properties by Zipfian popularity. Every chunk
+ * draws from a random generator seeded by {@code loadtest.seed} and its chunk number, so
+ * the same settings give the same rows whatever the thread scheduling; only the ids, which
+ * the database assigns, depend on the order chunks commit in. Generated rows are
+ * recognizable by their {@code @loadtest.example} emails and {@code loadtest-} external
+ * references; a second start finds them and skips generation. The rows bypass Hibernate,
+ * so the second-level cache is cleared once they are in. Against H2 in MySQL mode, run with
+ * {@code loadtest.threads=1}: its identity columns can hand out a value twice under
+ * concurrent inserts into tables with foreign keys.
+ */
+@Component
+@Profile("loadtest")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String EMAIL_DOMAIN = "@loadtest.example";
+    static final String REF_PREFIX = "loadtest-";
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_PROPERTY =
+            "INSERT INTO properties (external_ref, title, description, price, location, size, type, agent_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_INQUIRY =
+            "INSERT INTO inquiries (user_id, property_id, message, status, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    // Independent random streams per table, so changing one count does not reshuffle the others.
+    private static final long USER_STREAM = 1;
+    private static final long PROPERTY_STREAM = 2;
+    private static final long INQUIRY_STREAM = 3;
+
+    private static final String[] CITIES = {
+            "New York, NY", "Los Angeles, CA", "Chicago, IL", "Houston, TX", "Phoenix, AZ",
+            "Philadelphia, PA", "San Antonio, TX", "San Diego, CA", "Dallas, TX", "Austin, TX",
+            "San Jose, CA", "Jacksonville, FL", "Fort Worth, TX", "Columbus, OH", "Charlotte, NC",
+            "San Francisco, CA", "Indianapolis, IN", "Seattle, WA", "Denver, CO", "Washington, DC",
+            "Boston, MA", "Nashville, TN", "El Paso, TX", "Detroit, MI", "Oklahoma City, OK",
+            "Portland, OR", "Las Vegas, NV", "Memphis, TN", "Louisville, KY", "Baltimore, MD",
+            "Milwaukee, WI", "Albuquerque, NM", "Tucson, AZ", "Fresno, CA", "Sacramento, CA",
+            "Kansas City, MO", "Atlanta, GA", "Miami, FL", "Raleigh, NC", "Omaha, NE",
+            "Minneapolis, MN", "Tampa, FL", "New Orleans, LA", "Cleveland, OH", "Honolulu, HI",
+            "Boise, ID", "Salt Lake City, UT", "Pittsburgh, PA", "Cincinnati, OH", "Anchorage, AK"
+    };
+    private static final String[] NEIGHBORHOODS = {
+            "Downtown", "Midtown", "Old Town", "Riverside", "Northside", "Southside", "Westwood",
+            "Eastgate", "Lakeview", "Hillcrest", "Parkside", "Harbor", "University District", "Uptown"
+    };
+
+    // Type, share of listings, median price and median size (sq ft); spreads are log-normal sigmas.
+    private static final String[] TYPES = { "House", "Apartment", "Villa", "Commercial", "Land" };
+    private static final double[] TYPE_SHARE = { 0.45, 0.35, 0.06, 0.08, 0.06 };
+    private static final double[] MEDIAN_PRICE = { 420_000, 310_000, 1_400_000, 900_000, 180_000 };
+    private static final double[] MEDIAN_SIZE = { 2_200, 950, 4_800, 6_500, 40_000 };
+    private static final double PRICE_SIGMA = 0.55;
+    private static final double SIZE_SIGMA = 0.35;
+
+    private static final String[] ADJECTIVES = {
+            "Charming", "Spacious", "Modern", "Renovated", "Sunny", "Quiet", "Elegant", "Cozy",
+            "Bright", "Classic", "Contemporary", "Updated", "Private", "Stylish"
+    };
+    private static final String[] FEATURES = {
+            "an open-plan kitchen", "hardwood floors", "a private garden", "off-street parking",
+            "a rooftop terrace", "floor-to-ceiling windows", "a home office", "a finished basement",
+            "a two-car garage", "mountain views", "a renovated bathroom", "walk-in closets"
+    };
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David",
+            "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Carlos", "Maria", "Wei", "Mei", "Arjun", "Priya", "Omar", "Fatima", "Kenji", "Yuki"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez",
+            "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Lee",
+            "Chen", "Wang", "Patel", "Kim", "Nguyen", "Khan", "Sato", "Okafor"
+    };
+    private static final String[] MESSAGES = {
+            "Is this property still available?",
+            "Could we schedule a viewing this weekend?",
+            "What are the HOA fees for this listing?",
+            "Is the price negotiable?",
+            "Are pets allowed?",
+            "Could you send more photos of the interior?",
+            "How old is the roof?",
+            "Is there flexibility on the closing date?"
+    };
+    private static final String[] STATUSES = { "PENDING", "CONTACTED", "CLOSED" };
+    private static final double[] STATUS_SHARE = { 0.5, 0.3, 0.2 };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache secondLevelCache;
+    private final int users;
+    private final int agents;
+    private final int properties;
+    private final long inquiries;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final double locationSkew;
+    private final double popularitySkew;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${loadtest.users:10000}") int users,
+                                  @Value("${loadtest.agents:200}") int agents,
+                                  @Value("${loadtest.properties:100000}") int properties,
+                                  @Value("${loadtest.inquiries:500000}") long inquiries,
+                                  @Value("${loadtest.seed:42}") long seed,
+                                  @Value("${loadtest.threads:4}") int threads,
+                                  @Value("${loadtest.batch-size:1000}") int batchSize,
+                                  @Value("${loadtest.location-skew:1.1}") double locationSkew,
+                                  @Value("${loadtest.popularity-skew:1.0}") double popularitySkew) {
+        if (agents < 1 || agents >= users) {
+            throw new IllegalStateException("loadtest.agents must be between 1 and loadtest.users - 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.users = users;
+        this.agents = agents;
+        this.properties = properties;
+        this.inquiries = inquiries;
+        this.seed = seed;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.locationSkew = locationSkew;
+        this.popularitySkew = popularitySkew;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email(0));
+        if (existing != null && existing > 0) {
+            log.info("Load-test data already present; skipping generation");
+            return;
+        }
+        generate();
+    }
+
+    public void generate() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "loadtest-generator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long[] userIds = insert(pool, "users", users, true, USER_STREAM, INSERT_USER, this::writeUser);
+
+            ZipfSampler cities = new ZipfSampler(CITIES.length, locationSkew);
+            long[] propertyIds = insert(pool, "properties", properties, true, PROPERTY_STREAM, INSERT_PROPERTY,
+                    (ps, n, random) -> writeProperty(ps, n, random, cities, userIds));
+
+            if (inquiries > 0 && properties > 0) {
+                ZipfSampler popularity = new ZipfSampler(properties, popularitySkew);
+                long stride = coprimeStride(properties);
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                insert(pool, "inquiries", inquiries, false, INQUIRY_STREAM, INSERT_INQUIRY,
+                        (ps, n, random) -> writeInquiry(ps, random, popularity, stride, propertyIds, userIds, now));
+            }
+        } finally {
+            // After a failed chunk the others may still be writing; wait for them so no rows arrive after we return
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            secondLevelCache.evictAllRegions();
+        }
+    }
+
+    // ---------------- Rows ---------------- //
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long n, SplittableRandom random) throws SQLException;
+    }
+
+    private void writeUser(PreparedStatement ps, long n, SplittableRandom random) throws SQLException {
+        ps.setString(1, pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random));
+        ps.setString(2, email(n));
+        ps.setString(3, "password");
+        ps.setString(4, n < agents ? "AGENT" : "CUSTOMER");
+    }
+
+    private void writeProperty(PreparedStatement ps, long n, SplittableRandom random,
+                               ZipfSampler cities, long[] userIds) throws SQLException {
+        int type = weighted(TYPE_SHARE, random);
+        String city = CITIES[cities.sample(random) - 1];
+        String neighborhood = pick(NEIGHBORHOODS, random);
+        double price = logNormal(MEDIAN_PRICE[type], PRICE_SIGMA, random);
+        double size = logNormal(MEDIAN_SIZE[type], SIZE_SIGMA, random);
+
+        ps.setString(1, REF_PREFIX + n);
+        ps.setString(2, pick(ADJECTIVES, random) + " " + TYPES[type] + " in " + neighborhood);
+        ps.setString(3, pick(ADJECTIVES, random) + " " + TYPES[type].toLowerCase() + " in " + neighborhood
+                + ", " + city + ", with " + pick(FEATURES, random) + " and " + pick(FEATURES, random) + ".");
+        ps.setDouble(4, Math.round(price / 1000) * 1000.0);
+        ps.setString(5, city);
+        ps.setDouble(6, Math.round(size));
+        ps.setString(7, TYPES[type]);
+        ps.setLong(8, userIds[random.nextInt(agents)]);
+    }
+
+    /*
+     * Popularity rank r maps to property (r - 1) * stride mod n. The stride is coprime to n,
+     * so this is a permutation: popular listings are scattered instead of being the lowest ids.
+     */
+    private void writeInquiry(PreparedStatement ps, SplittableRandom random, ZipfSampler popularity, long stride,
+                              long[] propertyIds, long[] userIds, LocalDateTime now) throws SQLException {
+        long rank = popularity.sample(random) - 1;
+        int property = (int) (rank * stride % properties);
+        int customer = agents + random.nextInt(users - agents);
+
+        ps.setLong(1, userIds[customer]);
+        ps.setLong(2, propertyIds[property]);
+        ps.setString(3, pick(MESSAGES, random));
+        ps.setString(4, STATUSES[weighted(STATUS_SHARE, random)]);
+        ps.setTimestamp(5, Timestamp.valueOf(now.minusSeconds(random.nextLong(365L * 24 * 3600))));
+    }
+
+    // ---------------- Batching ---------------- //
+
+    /*
+     * Splits [0, total) into batch-size chunks, each one JDBC batch in its own transaction.
+     * Ids come from the identity column; with keepIds the generated key of row n is returned
+     * at index n, so later tables reference earlier rows by their position.
+     */
+    private long[] insert(ExecutorService pool, String table, long total, boolean keepIds, long stream, String sql,
+                          RowWriter writer) throws InterruptedException {
+        long started = System.nanoTime();
+        long[] ids = keepIds ? new long[Math.toIntExact(total)] : null;
+        PreparedStatementCreator statement = keepIds
+                ? connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection -> connection.prepareStatement(sql);
+        List<Future<?>> chunks = new ArrayList<>();
+        for (long first = 0, chunk = 0; first < total; first += batchSize, chunk++) {
+            long from = first;
+            int count = (int) Math.min(batchSize, total - first);
+            SplittableRandom random = new SplittableRandom(seed ^ (stream << 48) ^ (chunk * 0x9E3779B97F4A7C15L));
+            PreparedStatementCallback<Void> batch = ps -> {
+                for (int i = 0; i < count; i++) {
+                    writer.write(ps, from + i, random);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                if (ids != null) {
+                    readGeneratedKeys(ps, ids, (int) from, count);
+                }
+                return null;
+            };
+            chunks.add(pool.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.execute(statement, batch))));
+        }
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Generating " + table + " failed", ex.getCause());
+            }
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated {} {} in {} ms ({} rows/s)", total, table, millis, total * 1000 / millis);
+        return ids;
+    }
+
+    // Keys come back in batch order, one per inserted row.
+    private static void readGeneratedKeys(PreparedStatement ps, long[] ids, int from, int count) throws SQLException {
+        int read = 0;
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next() && read < count) {
+                ids[from + read++] = keys.getLong(1);
+            }
+        }
+        if (read != count) {
+            throw new IllegalStateException("Expected " + count + " generated keys, got " + read);
+        }
+    }
+
+    // ---------------- Helpers ---------------- //
+
+    static String email(long n) {
+        return "user" + n + EMAIL_DOMAIN;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int weighted(double[] shares, SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < shares.length - 1; i++) {
+            u -= shares[i];
+            if (u < 0) {
+                return i;
+            }
+        }
+        return shares.length - 1;
+    }
+
+    private static double logNormal(double median, double sigma, SplittableRandom random) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    private static long coprimeStride(long n) {
+        long stride = 2_654_435_761L % n;
+        while (stride < 1 || gcd(stride, n) != 1) {
+            stride = stride % n + 1;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
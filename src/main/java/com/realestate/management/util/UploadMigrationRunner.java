@@ -0,0 +1,148 @@
+package com.realestate.management.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.service.FileStorageService;
+import com.realestate.management.service.ImageVariant;
+
+/**
+ * One-off migration of UUID-named uploads into the content-addressed layout. Enable with
+ * {@code --file.storage.migrate=true}; each referenced UUID file is hashed, folded into its
+ * blob (duplicates collapse into one), reference-counted and the properties repointed.
+ * Unreferenced files are left for the orphan collector.
+ *
+ * Safe to re-run, also after a crash: per file, the properties are repointed and exactly
+ * that many references added in one transaction, and the UUID file and its variants are
+ * only copied until then. A file whose properties were already repointed is no longer
+ * referenced under its UUID name and is left to the orphan collector.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.migrate", havingValue = "true")
+public class UploadMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadMigrationRunner.class);
+
+    private final PropertyRepository propertyRepository;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    // ---- Constructor Injection (replaces @RequiredArgsConstructor) ---- //
+    public UploadMigrationRunner(PropertyRepository propertyRepository,
+                                 FileStorageService fileStorageService,
+                                 PlatformTransactionManager transactionManager) {
+        this.propertyRepository = propertyRepository;
+        this.fileStorageService = fileStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!fileStorageService.isContentAddressed()) {
+            log.warn("file.storage.migrate is set but file.storage.mode is not content-addressed; skipping");
+            return;
+        }
+
+        int migrated = 0;
+        int missing = 0;
+        long reclaimedBytes = 0;
+        for (String url : propertyRepository.findImageUrlsStartingWith(FileStorageService.PUBLIC_PATH)) {
+            String fileName = fileStorageService.fileNameOf(url);
+            if (fileName == null || FileStorageService.isContentName(fileName)) {
+                continue;
+            }
+            Path source = fileStorageService.resolve(fileName);
+            if (!Files.exists(source)) {
+                log.warn("Skipping {}: referenced by a property but missing on disk", fileName);
+                missing++;
+                continue;
+            }
+            try {
+                reclaimedBytes += migrate(url, fileName, source);
+                migrated++;
+            } catch (IOException | RuntimeException ex) {
+                log.error("Could not migrate {}", fileName, ex);
+            }
+        }
+        log.info("Upload migration finished: {} files folded into content-addressed blobs, {} missing, {} bytes reclaimed",
+                migrated, missing, reclaimedBytes);
+    }
+
+    // Returns the bytes freed when the file turned out to duplicate an existing blob.
+    private long migrate(String url, String fileName, Path source) throws IOException {
+        long size = Files.size(source);
+        String contentName = digestOf(source) + FileStorageService.extensionOf(fileName);
+        boolean duplicate = Files.exists(fileStorageService.resolve(contentName));
+
+        Map<ImageVariant, String> variantUrls = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            Path oldVariant = fileStorageService.resolve(variant.fileNameFor(fileName));
+            Path newVariant = fileStorageService.resolve(variant.fileNameFor(contentName));
+            if (Files.exists(oldVariant) && !Files.exists(newVariant)) {
+                copyIntoPlace(oldVariant, newVariant);
+            }
+            if (Files.exists(newVariant)) {
+                variantUrls.put(variant, fileStorageService.toPublicUrl(newVariant.getFileName().toString()));
+            }
+        }
+
+        // The blob is moved into place from a copy, so the UUID file survives a rollback.
+        Path copy = Files.createTempFile(fileStorageService.getStorageLocation(), ".upload-", ".tmp");
+        try {
+            Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+            transactionTemplate.executeWithoutResult(status -> {
+                int repointed = propertyRepository.replaceImage(url, fileStorageService.toPublicUrl(contentName),
+                        variantUrls.get(ImageVariant.THUMBNAIL), variantUrls.get(ImageVariant.CARD),
+                        variantUrls.get(ImageVariant.DETAIL));
+                if (repointed > 0) {
+                    fileStorageService.addReferencesInTransaction(contentName, copy, size, repointed);
+                }
+            });
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+
+        Files.deleteIfExists(source);
+        for (ImageVariant variant : ImageVariant.values()) {
+            Files.deleteIfExists(fileStorageService.resolve(variant.fileNameFor(fileName)));
+        }
+        return duplicate ? size : 0L;
+    }
+
+    private static void copyIntoPlace(Path source, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String digestOf(Path file) throws IOException {
+        MessageDigest digest = FileStorageService.sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -189,5 +189,65 @@ document.addEventListener('DOMContentLoaded', function() {
         lastScroll = currentScroll;
     });
     
+    // Legal document Q&A: answers stream in over Server-Sent Events as each one is ready
+    document.querySelectorAll('[data-document-qa]').forEach(form => {
+        const list = form.querySelector('[data-document-qa-answers]');
+        let source = null;
+        
+        form.addEventListener('submit', function(e) {
+            e.preventDefault();
+            const questions = form.questions.value.split('\n').map(q => q.trim()).filter(q => q.length > 0);
+            if (questions.length === 0) {
+                return;
+            }
+            if (source) {
+                source.close();
+            }
+            
+            const params = new URLSearchParams();
+            questions.forEach(q => params.append('question', q));
+            list.innerHTML = '';
+            const items = questions.map(q => {
+                const item = document.createElement('li');
+                item.className = 'list-group-item';
+                const question = document.createElement('div');
+                question.className = 'fw-semibold';
+                question.textContent = q;
+                const answer = document.createElement('div');
+                answer.className = 'text-muted';
+                answer.innerHTML = '<span class="loading"></span> Waiting for an answer...';
+                item.append(question, answer);
+                list.appendChild(item);
+                return answer;
+            });
+            
+            source = new EventSource(form.getAttribute('data-answers-url') + '?' + params.toString());
+            source.addEventListener('answer', event => {
+                const data = JSON.parse(event.data);
+                items[data.index].className = '';
+                items[data.index].textContent = data.answer;
+                if (data.source === 'index') {
+                    const badge = document.createElement('span');
+                    badge.className = 'badge bg-light text-secondary ms-2';
+                    badge.textContent = 'from the document';
+                    items[data.index].appendChild(badge);
+                }
+            });
+            source.addEventListener('failed', event => {
+                const data = JSON.parse(event.data);
+                items[data.index].className = 'text-danger';
+                items[data.index].textContent = data.error;
+            });
+            source.addEventListener('done', () => source.close());
+            source.onerror = () => {
+                source.close();
+                items.filter(answer => answer.querySelector('.loading')).forEach(answer => {
+                    answer.className = 'text-danger';
+                    answer.textContent = 'The answer could not be loaded.';
+                });
+            };
+        });
+    });
+    
     console.log('Real Estate Management System initialized successfully!');
 });
\ No newline at end of file
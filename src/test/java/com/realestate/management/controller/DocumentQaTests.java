@@ -0,0 +1,292 @@
+package com.realestate.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.realestate.management.dto.DocumentAnswer;
+import com.realestate.management.entity.Property;
+import com.realestate.management.exception.DocumentQaException;
+import com.realestate.management.service.DocumentQaGateway;
+import com.realestate.management.service.DocumentRetrievalService;
+import com.realestate.management.service.FileStorageService;
+import com.realestate.management.service.PropertyService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DocumentQaTests {
+
+	private static final Pattern QUESTION_PART = Pattern.compile(
+			"name=\"questions\"\r\nContent-Type: text/plain; charset=UTF-8\r\n\r\n(.*?)\r\n--");
+
+	private static HttpServer stub;
+
+	// Behaviour of the stub for the current test.
+	private static volatile long delayMillis;
+	private static volatile String failQuestion;
+
+	private static final AtomicInteger requests = new AtomicInteger();
+	private static volatile List<String> lastQuestions;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DocumentQaGateway gateway;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private DocumentRetrievalService retrievalService;
+
+	@DynamicPropertySource
+	static void stubServer(DynamicPropertyRegistry registry) throws IOException {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/api/v1/hackrx/run", DocumentQaTests::run);
+		stub.setExecutor(Executors.newFixedThreadPool(4));
+		stub.start();
+		registry.add("rag.url", () -> "http://127.0.0.1:" + stub.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@BeforeEach
+	void reset() {
+		delayMillis = 0;
+		failQuestion = null;
+		requests.set(0);
+		lastQuestions = null;
+	}
+
+	@Test
+	void answersStreamAsServerSentEvents() throws Exception {
+		Property property = propertyWithDocument();
+		String url = "/properties/" + property.getId() + "/document/answers";
+
+		MvcResult result = mockMvc.perform(get(url).with(user("buyer@example.com").authorities(() -> "CUSTOMER"))
+						.param("question", "Property Sale Agreement is made between whom?!")
+						.param("question", "What happens if I cancel the agreement after signing?"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		result.getAsyncResult(5_000);
+
+		String events = result.getResponse().getContentAsString();
+		assertThat(events).startsWith("event:accepted");
+		assertThat(events).contains("event:answer", "\"index\":0",
+				"\"answer\":\"Answer to: Property Sale Agreement is made between whom?!\"", "\"cached\":false");
+		assertThat(events).contains("\"answer\":\"Answer to: What happens if I cancel the agreement after signing?\"");
+		assertThat(events.trim()).endsWith("data:{\"answered\":2}");
+		// Both questions went upstream in one call
+		assertThat(requests.get()).isEqualTo(1);
+		assertThat(lastQuestions).hasSize(2);
+
+		mockMvc.perform(get(url).param("question", "Who signs?"))
+				.andExpect(status().is3xxRedirection());
+	}
+
+	@Test
+	void questionsTheDocumentAnswersNeverReachTheService() throws Exception {
+		Property property = propertyService.createProperty(new Property("Indexed listing", "Description",
+				450_000.0, "Coimbatore", 1500.0, "Land", null));
+		try (InputStream pdf = getClass().getResourceAsStream("/documents/sale-agreement.pdf")) {
+			String document = fileStorageService.storeContent(pdf, ".pdf");
+			propertyService.attachDocument(property.getId(), fileStorageService.toPublicUrl(document));
+			// Attaching starts the build; questions asked before it finishes would all go upstream
+			retrievalService.prepare(document).get(10, TimeUnit.SECONDS);
+		}
+		String url = "/properties/" + property.getId() + "/document/answers";
+
+		MvcResult result = mockMvc.perform(get(url).with(user("buyer@example.com").authorities(() -> "CUSTOMER"))
+						.param("question", "What happens if I cancel the agreement after signing?")
+						.param("question", "Is the plot within walking distance of a school?"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		result.getAsyncResult(5_000);
+
+		String events = result.getResponse().getContentAsString();
+		assertThat(events).contains("the advance amount shall not be refunded", "\"source\":\"index\"",
+				"\"answer\":\"Answer to: Is the plot within walking distance of a school?\"", "\"source\":\"rag\"");
+		assertThat(requests.get()).isEqualTo(1);
+		// Upstream gets the question as asked; only the cache key is normalized
+		assertThat(lastQuestions).containsExactly("Is the plot within walking distance of a school?");
+
+		mockMvc.perform(get("/properties/" + property.getId() + "/document/passages")
+						.with(user("buyer@example.com").authorities(() -> "CUSTOMER"))
+						.param("question", "final registration")
+						.param("limit", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].text").value(containsString("time of final registration")));
+	}
+
+	@Test
+	void repeatedAndRephrasedQuestionsAreServedFromTheCache() throws Exception {
+		byte[] pdf = ("%PDF-1.4 sale agreement " + System.nanoTime()).getBytes(StandardCharsets.ISO_8859_1);
+		String document = fileStorageService.storeContent(new ByteArrayInputStream(pdf), ".pdf");
+		String first = gateway.ask(document, List.of("How much does the buyer pay at final registration?"))
+				.get(0).get(5, TimeUnit.SECONDS).getAnswer();
+
+		// Same bytes under another name; different case, spacing and punctuation
+		String copy = fileStorageService.storeContent(new ByteArrayInputStream(pdf), ".bin");
+		CompletableFuture<DocumentAnswer> repeat = gateway.ask(copy,
+				List.of("  how much does the BUYER pay at final   registration ")).get(0);
+
+		assertThat(repeat).isCompleted();
+		assertThat(repeat.get().getAnswer()).isEqualTo(first);
+		assertThat(repeat.get().isCached()).isTrue();
+		assertThat(requests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void identicalQuestionsInFlightShareOneCall() throws Exception {
+		delayMillis = 300;
+		String document = storeDocument();
+
+		List<CompletableFuture<DocumentAnswer>> calls = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			calls.add(gateway.ask(document, List.of("Who are the parties?")).get(0));
+		}
+
+		for (CompletableFuture<DocumentAnswer> call : calls) {
+			assertThat(call.get(5, TimeUnit.SECONDS).getAnswer()).isEqualTo("Answer to: Who are the parties?");
+		}
+		assertThat(requests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void unansweredQuestionsAreNotCached() throws Exception {
+		failQuestion = "What is the penalty?";
+		String document = storeDocument();
+
+		List<CompletableFuture<DocumentAnswer>> answers = gateway.ask(document,
+				List.of("What is the penalty?", "What is the deposit?"));
+
+		assertThat(answers.get(1).get(5, TimeUnit.SECONDS).getAnswer()).isEqualTo("Answer to: What is the deposit?");
+		assertThatThrownBy(() -> answers.get(0).get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(DocumentQaException.class);
+
+		failQuestion = null;
+		assertThat(gateway.ask(document, List.of("What is the penalty?")).get(0).get(5, TimeUnit.SECONDS).getAnswer())
+				.isEqualTo("Answer to: What is the penalty?");
+		assertThat(requests.get()).isEqualTo(2);
+		assertThat(lastQuestions).containsExactly("What is the penalty?");
+	}
+
+	@Test
+	void anUnansweredQuestionFailsForEveryCallerWaitingOnIt() throws Exception {
+		delayMillis = 300;
+		failQuestion = "What is the penalty?";
+		String document = storeDocument();
+
+		List<CompletableFuture<DocumentAnswer>> first = gateway.ask(document,
+				List.of("What is the penalty?", "What is the deposit?"));
+		// Asked while the first call is in flight, so it waits on the same pending answer
+		CompletableFuture<DocumentAnswer> second = gateway.ask(document, List.of("what is the penalty")).get(0);
+
+		assertThat(first.get(1).get(5, TimeUnit.SECONDS).getAnswer()).isEqualTo("Answer to: What is the deposit?");
+		for (CompletableFuture<DocumentAnswer> penalty : List.of(first.get(0), second)) {
+			assertThatThrownBy(() -> penalty.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(DocumentQaException.class);
+		}
+		assertThat(requests.get()).isEqualTo(1);
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	// Distinct content each time, so no answer is cached for it yet.
+	private String storeDocument() throws IOException {
+		byte[] pdf = ("%PDF-1.4 sale agreement " + System.nanoTime()).getBytes(StandardCharsets.ISO_8859_1);
+		return fileStorageService.storeContent(new ByteArrayInputStream(pdf), ".pdf");
+	}
+
+	private Property propertyWithDocument() throws IOException {
+		Property property = propertyService.createProperty(new Property("Documented listing", "Description",
+				420_000.0, "Deedville", 120.0, "House", null));
+		return propertyService.attachDocument(property.getId(), fileStorageService.toPublicUrl(storeDocument()));
+	}
+
+	// Mimics RAGPickerz: multipart "questions" and "file" parts in, {"answers": [...]} out.
+	private static void run(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		try {
+			String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+			if (!body.contains("name=\"file\"; filename=") || !body.contains("%PDF")) {
+				respond(exchange, 422, "{\"detail\": \"file is required\"}");
+				return;
+			}
+			List<String> questions = new ArrayList<>();
+			Matcher matcher = QUESTION_PART.matcher(body);
+			while (matcher.find()) {
+				questions.add(matcher.group(1));
+			}
+			lastQuestions = questions;
+			if (delayMillis > 0) {
+				Thread.sleep(delayMillis);
+			}
+			StringBuilder json = new StringBuilder("{\"answers\": [");
+			for (int i = 0; i < questions.size(); i++) {
+				String question = questions.get(i);
+				json.append(i > 0 ? ", " : "").append('"')
+						.append(question.equals(failQuestion) ? "[Error] 429 quota exceeded" : "Answer to: " + question)
+						.append('"');
+			}
+			respond(exchange, 200, json.append("]}").toString());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int code, String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(code, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
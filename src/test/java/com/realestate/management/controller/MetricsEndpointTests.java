@@ -0,0 +1,95 @@
+package com.realestate.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.realestate.management.service.FileStorageService;
+import com.realestate.management.service.PropertyService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"management.server.port=0",
+		"management.server.address=127.0.0.1",
+		"management.endpoints.web.exposure.include=health,metrics,prometheus",
+		"management.metrics.distribution.percentiles-histogram.http.server.requests=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@LocalServerPort
+	private int serverPort;
+
+	@LocalManagementPort
+	private int managementPort;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@Test
+	void prometheusScrapeCoversRequestsServicesPersistenceAndStorage() throws Exception {
+		mockMvc.perform(get("/properties")).andExpect(status().isOk());
+		propertyService.countProperties();
+		fileStorageService.storeFile(new MockMultipartFile("image", "plan.txt", "text/plain",
+				"metrics".getBytes(StandardCharsets.UTF_8)));
+
+		HttpResponse<String> scrape = fetch(managementPort, "/actuator/prometheus");
+
+		assertThat(scrape.statusCode()).isEqualTo(200);
+		assertThat(scrape.body())
+				.contains("http_server_requests_seconds_bucket{")
+				.contains("uri=\"/properties\"")
+				.contains("service_calls_seconds_count{")
+				.contains("class=\"com.realestate.management.service.PropertyService\",exception=\"none\",method=\"countProperties\"")
+				.contains("hibernate_statements_total{")
+				.contains("hikaricp_connections_active{")
+				.contains("file_storage_bytes_total{")
+				.contains("file_storage_store_seconds_count{");
+	}
+
+	@Test
+	void actuatorEndpointsOtherThanHealthAndScrapeNeedAnAdmin() throws Exception {
+		assertThat(fetch(managementPort, "/actuator/health").statusCode()).isEqualTo(200);
+		assertThat(fetch(managementPort, "/actuator/metrics").statusCode()).isEqualTo(302);
+	}
+
+	@Test
+	void theApplicationPortDoesNotServeTheScrape() throws Exception {
+		// Unmapped paths end up on the application's error page rather than in the actuator
+		assertThat(fetch(serverPort, "/actuator/prometheus").body())
+				.contains("No static resource actuator/prometheus")
+				.doesNotContain("# TYPE");
+		assertThat(fetch(serverPort, "/actuator/health").body()).doesNotContain("\"status\":\"UP\"");
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	// The JDK client does not follow redirects, so a login redirect shows up as a 302.
+	private HttpResponse<String> fetch(int port, String path) throws Exception {
+		return httpClient.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+}
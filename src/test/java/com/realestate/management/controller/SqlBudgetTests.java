@@ -0,0 +1,73 @@
+package com.realestate.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.realestate.management.dto.SqlOffender;
+import com.realestate.management.service.SqlBudgetMonitor;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "sql.budget.max-statements=0", "sql.budget.max-rows=1000000" })
+@AutoConfigureMockMvc
+class SqlBudgetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private SqlBudgetMonitor monitor;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void reset() {
+		monitor.reset();
+	}
+
+	@Test
+	void requestsOverBudgetAreAttributedToTheirControllerMethod() throws Exception {
+		mockMvc.perform(get("/properties")).andExpect(status().isOk());
+		// A repeated page is otherwise answered from the query cache without any SQL
+		entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+		mockMvc.perform(get("/properties")).andExpect(status().isOk());
+
+		assertThat(monitor.getOffenders())
+				.filteredOn(offender -> offender.getHandler().equals("HomeController#properties"))
+				.singleElement()
+				.satisfies(offender -> {
+					assertThat(offender.getOccurrences()).isEqualTo(2);
+					assertThat(offender.getMaxStatements()).isPositive();
+					assertThat(offender.getMaxRows()).isPositive();
+					assertThat(offender.getWorstStatement()).startsWithIgnoringCase("select");
+					assertThat(offender.getWorstStatement()).doesNotContain("\n");
+				});
+		assertThat(monitor.getBudget()).containsEntry("exceededRequests", 2L);
+	}
+
+	@Test
+	void requestsWithoutSqlStayWithinBudget() throws Exception {
+		mockMvc.perform(get("/css/none.css"));
+
+		assertThat(monitor.getOffenders()).extracting(SqlOffender::getHandler)
+				.doesNotContain("HomeController#properties");
+		assertThat(monitor.getBudget()).containsEntry("exceededRequests", 0L);
+	}
+
+	@Test
+	void normalizationFoldsLiteralsAndInLists() {
+		assertThat(SqlBudgetMonitor.normalize("select *\n  from properties p where p.id in (?, ?, ?) "
+				+ "and p.type = 'Villa' and p.price > 1000.5 limit 13"))
+				.isEqualTo("select * from properties p where p.id in (?...) and p.type = ? and p.price > ? limit ?");
+	}
+}
@@ -0,0 +1,89 @@
+package com.realestate.management.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.realestate.management.service.FileStorageService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UploadControllerTests {
+
+	private static final String BODY = "0123456789abcdef";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	private String url;
+	private String etag;
+
+	@BeforeEach
+	void store() {
+		String fileName = fileStorageService.storeFile(new MockMultipartFile("image", "plan.txt", "text/plain",
+				BODY.getBytes(StandardCharsets.UTF_8)));
+		url = fileStorageService.toPublicUrl(fileName);
+		etag = "\"" + fileName.substring(0, fileName.indexOf('.')) + "\"";
+	}
+
+	@Test
+	void contentNamedFilesAreServedImmutableWithAStrongEtag() throws Exception {
+		mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andExpect(content().string(BODY));
+	}
+
+	@Test
+	void matchingValidatorsAnswerNotModified() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		mockMvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 60_000))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void byteRangesAreHonoured() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=4-7"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-7/16"))
+				.andExpect(content().string("4567"));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().string("def"));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=4-7").header(HttpHeaders.IF_RANGE, "\"stale\""))
+				.andExpect(status().isOk())
+				.andExpect(content().string(BODY));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=99-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */16"));
+	}
+
+	@Test
+	void unknownAndHiddenFilesAreNotFound() throws Exception {
+		mockMvc.perform(get(FileStorageService.PUBLIC_PATH + "missing.jpg")).andExpect(status().isNotFound());
+		mockMvc.perform(get(FileStorageService.PUBLIC_PATH + ".upload-1.tmp")).andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,155 @@
+package com.realestate.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.realestate.management.dto.InquiryDto;
+import com.realestate.management.entity.Inquiry;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+class InquiryRepositoryTests {
+
+	private static final int PAGE_SIZE = 10;
+
+	@Autowired
+	private InquiryRepository inquiryRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private User customer;
+	private Property property;
+	private User agent;
+
+	@BeforeEach
+	void seed() {
+		User[] users = new User[4];
+		for (int i = 0; i < users.length; i++) {
+			users[i] = entityManager.persist(
+					new User("Customer " + i, "customer" + i + "@example.com", "secret", "CUSTOMER"));
+		}
+		agent = entityManager.persist(new User("Agent", "agent@example.com", "secret", "AGENT"));
+		Property[] properties = new Property[6];
+		for (int i = 0; i < properties.length; i++) {
+			Property listing = new Property("Listing " + i, "Description " + i,
+					100_000.0 + i, "City " + i, 1_000.0, "House", null);
+			if (i % 2 == 0) {
+				listing.setAgent(agent);
+			}
+			properties[i] = entityManager.persist(listing);
+		}
+		for (int i = 0; i < 45; i++) {
+			Inquiry inquiry = new Inquiry(users[i % users.length], properties[i % properties.length],
+					"Message " + i, i % 3 == 0 ? "CONTACTED" : "PENDING", null);
+			entityManager.persist(inquiry);
+		}
+		customer = users[1];
+		property = properties[2];
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	void everyInquiryPageIsASingleStatement() {
+		long cursor = Long.MAX_VALUE;
+		int pages = 0;
+		List<InquiryDto> page;
+		do {
+			statistics.clear();
+			page = inquiryRepository.findViewsOlderThan(cursor, PageRequest.ofSize(PAGE_SIZE));
+			renderAll(page);
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+			if (!page.isEmpty()) {
+				cursor = page.get(page.size() - 1).getId();
+			}
+			pages++;
+		} while (page.size() == PAGE_SIZE);
+
+		assertThat(pages).isEqualTo(5);
+	}
+
+	@Test
+	void filteredPagesAreASingleStatement() {
+		statistics.clear();
+		List<InquiryDto> byUser = inquiryRepository.findViewsByUserOlderThan(
+				customer.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE_SIZE));
+		renderAll(byUser);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(byUser).isNotEmpty().allMatch(dto -> dto.getUserId().equals(customer.getId()));
+
+		statistics.clear();
+		List<InquiryDto> byProperty = inquiryRepository.findViewsByPropertyOlderThan(
+				property.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE_SIZE));
+		renderAll(byProperty);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(byProperty).isNotEmpty().allMatch(dto -> dto.getPropertyId().equals(property.getId()));
+
+		statistics.clear();
+		List<InquiryDto> byStatus = inquiryRepository.findViewsByStatusOlderThan(
+				"CONTACTED", Long.MAX_VALUE, PageRequest.ofSize(PAGE_SIZE));
+		renderAll(byStatus);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(byStatus).hasSize(PAGE_SIZE).allMatch(dto -> dto.getStatus().equals("CONTACTED"));
+	}
+
+	@Test
+	void agentPagesOnlyCoverTheAgentsListings() {
+		statistics.clear();
+		List<InquiryDto> byAgent = inquiryRepository.findViewsByAgentOlderThan(
+				agent.getId(), Long.MAX_VALUE, PageRequest.ofSize(50));
+		renderAll(byAgent);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		// Listings 0, 2 and 4 belong to the agent; inquiry i went to listing i % 6.
+		assertThat(byAgent).hasSize(23).allMatch(dto -> dto.getPropertyTitle().matches("Listing [024]"));
+		assertThat(inquiryRepository.countGroupedByAgent())
+				.singleElement().satisfies(row -> assertThat(row).containsExactly(agent.getId(), 23L));
+		assertThat(inquiryRepository.existsByIdAndProperty_Agent_Id(byAgent.get(0).getId(), agent.getId())).isTrue();
+		assertThat(inquiryRepository.existsByIdAndProperty_Agent_Id(byAgent.get(0).getId(), customer.getId())).isFalse();
+	}
+
+	@Test
+	void pagesAreNewestFirstAndSeekBackwards() {
+		List<InquiryDto> first = inquiryRepository.findViewsOlderThan(Long.MAX_VALUE, PageRequest.ofSize(PAGE_SIZE));
+		List<InquiryDto> second = inquiryRepository.findViewsOlderThan(
+				first.get(PAGE_SIZE - 1).getId(), PageRequest.ofSize(PAGE_SIZE));
+		List<InquiryDto> back = inquiryRepository.findViewsNewerThan(
+				second.get(0).getId(), PageRequest.ofSize(PAGE_SIZE));
+
+		assertThat(first.get(0).getId()).isGreaterThan(first.get(PAGE_SIZE - 1).getId());
+		assertThat(second.get(0).getId()).isLessThan(first.get(PAGE_SIZE - 1).getId());
+		assertThat(back.get(0).getId()).isEqualTo(first.get(PAGE_SIZE - 1).getId());
+	}
+
+	// Touches every column the inquiry templates render.
+	private static void renderAll(List<InquiryDto> page) {
+		for (InquiryDto dto : page) {
+			assertThat(dto.getUserName()).isNotNull();
+			assertThat(dto.getUserEmail()).isNotNull();
+			assertThat(dto.getPropertyTitle()).isNotNull();
+			assertThat(dto.getPropertyLocation()).isNotNull();
+			assertThat(dto.getTimestamp()).isNotNull();
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.UserRepository;
+
+@SpringBootTest
+class DashboardStatisticsServiceTests {
+
+	@Autowired
+	private DashboardStatisticsService statistics;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final Queue<Long> createdProperties = new ConcurrentLinkedQueue<>();
+	private final List<Long> createdUsers = new ArrayList<>();
+
+	@AfterEach
+	void removeCreatedRows() {
+		propertyRepository.deleteAllById(createdProperties);
+		userRepository.deleteAllById(createdUsers);
+		statistics.reconcile();
+	}
+
+	@Test
+	void writesDuringReconcilesAreCountedOnce() throws Exception {
+		statistics.reconcile();
+		ExecutorService writers = Executors.newFixedThreadPool(4);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		Thread reconciler = new Thread(() -> {
+			while (writing.get()) {
+				statistics.reconcile();
+			}
+		});
+		reconciler.start();
+
+		List<Future<?>> writes = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			String type = i % 2 == 0 ? "Reconciled House" : "Reconciled Flat";
+			writes.add(writers.submit(() -> createdProperties.add(propertyService.createProperty(
+					new Property("Counted listing", "Description", 120_000.0, "Countville", 60.0, type, null)).getId())));
+		}
+		for (Future<?> write : writes) {
+			write.get(30, TimeUnit.SECONDS);
+		}
+		writing.set(false);
+		reconciler.join(10_000);
+		writers.shutdown();
+
+		assertThat(statistics.totalProperties()).isEqualTo(propertyRepository.count());
+		assertThat(statistics.propertiesByType()).containsEntry("Reconciled House", 100L)
+				.containsEntry("Reconciled Flat", 100L);
+	}
+
+	@Test
+	void reassigningSeveralListingsInOneTransactionCommitsAndRecounts() {
+		User from = agent("from");
+		User to = agent("to");
+		List<Property> listings = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Property listing = new Property("Reassigned listing", "Description", 150_000.0, "Moveton", 70.0,
+					"House", null);
+			listing.setAgent(from);
+			listings.add(propertyService.createProperty(listing));
+			createdProperties.add(listings.get(i).getId());
+		}
+		statistics.reconcile();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> {
+					for (Property listing : listings) {
+						listing.setAgent(to);
+						propertyService.updateProperty(listing.getId(), listing);
+					}
+				}));
+		statistics.reconcileStale();
+
+		assertThat(statistics.agentProperties(from.getId())).isZero();
+		assertThat(statistics.agentProperties(to.getId())).isEqualTo(5);
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private User agent(String name) {
+		User agent = userRepository.save(new User("Agent " + name, name + System.nanoTime() + "@stats.example",
+				"password", "AGENT"));
+		createdUsers.add(agent.getId());
+		return agent;
+	}
+}
@@ -0,0 +1,96 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.UserRepository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class DataExportServiceTests {
+
+	@Autowired
+	private DataExportService exportService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void propertyCsvExportReadsBackAsAnImportFeed() throws Exception {
+		Property property = new Property("Quoted \"loft\"", "Two rooms,\nlots of light", 250000.0, "Lyon", 55.5,
+				"Apartment", null);
+		property.setExternalRef("export-1");
+		propertyRepository.save(property);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = exportService.export(DataExportService.Dataset.PROPERTIES, DataFormat.CSV, out);
+		assertThat(rows).isEqualTo(propertyRepository.count());
+
+		PropertyFeedReader.Record exported = null;
+		try (PropertyFeedReader reader = PropertyFeedReader.open(DataFormat.CSV,
+				new ByteArrayInputStream(out.toByteArray()))) {
+			PropertyFeedReader.Record record;
+			while ((record = reader.next()) != null) {
+				if ("export-1".equals(record.get("externalref"))) {
+					exported = record;
+				}
+			}
+		}
+		assertThat(exported).isNotNull();
+		assertThat(exported.get("title")).isEqualTo("Quoted \"loft\"");
+		assertThat(exported.get("description")).isEqualTo("Two rooms,\nlots of light");
+		assertThat(exported.get("price")).isEqualTo("250000.0");
+		assertThat(exported.get("size")).isEqualTo("55.5");
+		assertThat(exported.get("imageurl")).isEmpty();
+	}
+
+	@Test
+	void userJsonExportLeavesOutPasswords() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(DataExportService.Dataset.USERS, DataFormat.JSON, out);
+
+		JsonNode users = new ObjectMapper().readTree(out.toString(StandardCharsets.UTF_8));
+		assertThat(users.isArray()).isTrue();
+		assertThat(users.size()).isEqualTo((int) userRepository.count());
+		users.forEach(user -> {
+			assertThat(user.fieldNames()).toIterable().containsExactly("id", "name", "email", "role");
+			assertThat(user.get("id").isNumber()).isTrue();
+		});
+	}
+
+	@Test
+	void exportsLeaveTheSecondLevelCacheAlone() throws Exception {
+		User agent = userRepository.save(new User("Export Agent", "export-" + System.nanoTime() + "@example.com",
+				"secret", "AGENT"));
+		Property listing = new Property("Agent listing", "Description", 180000.0, "Lille", 70.0, "House", null);
+		listing.setAgent(agent);
+		propertyRepository.save(listing);
+		Cache cache = entityManagerFactory.getCache();
+		cache.evictAll();
+
+		exportService.export(DataExportService.Dataset.PROPERTIES, DataFormat.CSV, new ByteArrayOutputStream());
+		exportService.export(DataExportService.Dataset.USERS, DataFormat.JSON, new ByteArrayOutputStream());
+
+		assertThat(cache.contains(User.class, agent.getId())).isFalse();
+	}
+}
@@ -0,0 +1,150 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.realestate.management.dto.DocumentAnswer;
+import com.realestate.management.dto.DocumentPassage;
+
+@SpringBootTest
+class DocumentRetrievalServiceTests {
+
+	// The three questions shipped with the sample agreement.
+	private static final String PARTIES = "Property Sale Agreement is made between whom?!";
+	private static final String FINAL_PAYMENT = "how much money the buyer have to at the final registration?";
+	private static final String CANCELLATION = "What happens if I cancel the agreement after signing?";
+
+	@MockBean
+	private DocumentQaGateway documentQaGateway;
+
+	@Autowired
+	private DocumentRetrievalService retrievalService;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Test
+	void topPassagesComeFromTheIndexOnDisk() throws Exception {
+		String document = storeAgreement();
+
+		List<DocumentPassage> passages = retrievalService.search(document, "remaining amount at final registration", 3);
+
+		assertThat(passages).hasSize(3);
+		assertThat(passages.get(0).getText()).contains("remaining amount of", "43,00,000 at the time of final registration");
+		assertThat(passages.get(0).getScore()).isGreaterThanOrEqualTo(passages.get(2).getScore());
+		String hash = fileStorageService.contentHashOf(document);
+		assertThat(fileStorageService.getStorageLocation()
+				.resolve(DocumentRetrievalService.INDEX_DIR).resolve(hash + ".bm25")).isRegularFile();
+	}
+
+	@Test
+	void commonQuestionsAreAnsweredWithoutTheQaService() throws Exception {
+		String document = storeAgreement();
+		retrievalService.prepare(document).get(10, TimeUnit.SECONDS);
+
+		List<CompletableFuture<DocumentAnswer>> answers = retrievalService.ask(document,
+				List.of(PARTIES, FINAL_PAYMENT, CANCELLATION));
+
+		assertThat(answers).allMatch(CompletableFuture::isDone);
+		assertThat(answers).allMatch(answer -> answer.join().getSource().equals(DocumentAnswer.SOURCE_INDEX));
+		assertThat(answers.get(0).join().getAnswer()).contains("between:", "Ramesh Gupta", "Arjun Kumar");
+		assertThat(answers.get(1).join().getAnswer()).contains("43,00,000", "final registration");
+		assertThat(answers.get(2).join().getAnswer()).contains("advance amount shall not be refunded");
+		assertThat(answers.get(2).join().getPassages()).isNotEmpty();
+		verify(documentQaGateway, never()).ask(anyString(), anyList());
+	}
+
+	@Test
+	void questionsTheDocumentDoesNotAnswerGoToTheQaService() throws Exception {
+		String document = storeAgreement();
+		String hard = "Is the plot within walking distance of a school?";
+		retrievalService.prepare(document).get(10, TimeUnit.SECONDS);
+		when(documentQaGateway.ask(document, List.of(hard))).thenReturn(List.of(
+				CompletableFuture.completedFuture(new DocumentAnswer(hard, "The document does not say.", false))));
+
+		List<CompletableFuture<DocumentAnswer>> answers = retrievalService.ask(document, List.of(hard, PARTIES));
+
+		assertThat(answers.get(0).join().getSource()).isEqualTo(DocumentAnswer.SOURCE_RAG);
+		assertThat(answers.get(0).join().getAnswer()).isEqualTo("The document does not say.");
+		assertThat(answers.get(1).join().getSource()).isEqualTo(DocumentAnswer.SOURCE_INDEX);
+		verify(documentQaGateway).ask(eq(document), eq(List.of(hard)));
+	}
+
+	@Test
+	void unreadableDocumentsAreLeftToTheQaService() throws Exception {
+		byte[] notPdf = ("%PDF-1.4 not really " + System.nanoTime()).getBytes(StandardCharsets.ISO_8859_1);
+		String document = fileStorageService.storeContent(new ByteArrayInputStream(notPdf), ".pdf");
+		when(documentQaGateway.ask(eq(document), anyList())).thenReturn(List.of(
+				CompletableFuture.completedFuture(new DocumentAnswer(PARTIES, "Upstream answer", false))));
+
+		assertThat(retrievalService.search(document, "sale agreement", 5)).isEmpty();
+		assertThat(retrievalService.ask(document, List.of(PARTIES)).get(0).join().getAnswer())
+				.isEqualTo("Upstream answer");
+	}
+
+	@Test
+	void questionsAskedBeforeTheIndexIsReadyGoToTheQaService() throws Exception {
+		// A trailing comment gives the agreement a content hash no earlier test has indexed
+		byte[] agreement;
+		try (InputStream pdf = getClass().getResourceAsStream("/documents/sale-agreement.pdf")) {
+			agreement = pdf.readAllBytes();
+		}
+		byte[] comment = ("\n% " + System.nanoTime() + "\n").getBytes(StandardCharsets.ISO_8859_1);
+		byte[] unique = Arrays.copyOf(agreement, agreement.length + comment.length);
+		System.arraycopy(comment, 0, unique, agreement.length, comment.length);
+		String document = fileStorageService.storeContent(new ByteArrayInputStream(unique), ".pdf");
+		when(documentQaGateway.ask(document, List.of(PARTIES))).thenReturn(List.of(
+				CompletableFuture.completedFuture(new DocumentAnswer(PARTIES, "Upstream answer", false))));
+
+		// The first question starts the build on the indexer and does not wait for it
+		DocumentAnswer early = retrievalService.ask(document, List.of(PARTIES)).get(0).join();
+		retrievalService.prepare(document).get(10, TimeUnit.SECONDS);
+		DocumentAnswer later = retrievalService.ask(document, List.of(PARTIES)).get(0).join();
+
+		assertThat(early.getSource()).isEqualTo(DocumentAnswer.SOURCE_RAG);
+		assertThat(later.getSource()).isEqualTo(DocumentAnswer.SOURCE_INDEX);
+		verify(documentQaGateway).ask(eq(document), eq(List.of(PARTIES)));
+	}
+
+	@Test
+	void chunksOverlapByWholeSentences() {
+		List<String> sentences = List.of("one two three", "four five six", "seven eight nine", "ten eleven twelve");
+
+		List<List<String>> chunks = DocumentRetrievalService.chunk(sentences, 6, 3);
+
+		assertThat(chunks).containsExactly(
+				List.of("one two three", "four five six"),
+				List.of("four five six", "seven eight nine"),
+				List.of("seven eight nine", "ten eleven twelve"));
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private String storeAgreement() throws IOException {
+		try (InputStream pdf = getClass().getResourceAsStream("/documents/sale-agreement.pdf")) {
+			String document = fileStorageService.storeContent(pdf, ".pdf");
+			assertThat(Files.size(fileStorageService.resolve(document))).isPositive();
+			return document;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.StoredFileRepository;
+import com.realestate.management.util.UploadMigrationRunner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import({ FileStorageService.class, FileStorageMetrics.class, SimpleMeterRegistry.class })
+@TestPropertySource(properties = "file.upload-dir=target/test-uploads/content-addressed")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceTests {
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private StoredFileRepository storedFileRepository;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void identicalUploadsShareOneReferenceCountedBlob() throws Exception {
+		byte[] content = ("photo " + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+
+		String first = fileStorageService.storeFile(new MockMultipartFile("image", "front.JPG", "image/jpeg", content));
+		String second = fileStorageService.storeFile(new MockMultipartFile("image", "copy.jpg", "image/jpeg", content));
+
+		assertThat(first).isEqualTo(second).endsWith(".jpg");
+		assertThat(FileStorageService.isContentName(first)).isTrue();
+		assertThat(storedFileRepository.findById(first)).get()
+				.satisfies(stored -> assertThat(stored.getReferenceCount()).isEqualTo(2));
+
+		Path blob = fileStorageService.resolve(first);
+		Path variant = fileStorageService.resolve(ImageVariant.CARD.fileNameFor(first));
+		Files.write(variant, new byte[] { 1 });
+
+		fileStorageService.deleteFile(first);
+		assertThat(blob).exists();
+		assertThat(variant).exists();
+
+		fileStorageService.deleteFile(first);
+		assertThat(blob).doesNotExist();
+		assertThat(variant).doesNotExist();
+		assertThat(storedFileRepository.findById(first)).isEmpty();
+	}
+
+	@Test
+	void filesWithoutAReferenceRowAreDeletedOutright() throws Exception {
+		String legacy = UUID.randomUUID() + ".jpg";
+		Path file = fileStorageService.resolve(legacy);
+		Files.write(file, new byte[] { 1, 2, 3 });
+
+		fileStorageService.deleteFile(legacy);
+
+		assertThat(file).doesNotExist();
+		assertNoFilesSetAside();
+	}
+
+	@Test
+	void contentStoredAgainAfterItsLastReferenceIsKept() throws Exception {
+		byte[] content = ("floor plan " + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+		String first = fileStorageService.storeContent(new ByteArrayInputStream(content), ".png");
+
+		fileStorageService.deleteFile(first);
+		assertThat(fileStorageService.resolve(first)).doesNotExist();
+		assertThat(storedFileRepository.findById(first)).isEmpty();
+		assertNoFilesSetAside();
+
+		String again = fileStorageService.storeContent(new ByteArrayInputStream(content), ".png");
+		assertThat(again).isEqualTo(first);
+		assertThat(fileStorageService.resolve(again)).hasBinaryContent(content);
+		assertThat(storedFileRepository.findById(again)).get()
+				.satisfies(stored -> assertThat(stored.getReferenceCount()).isEqualTo(1));
+	}
+
+	@Test
+	void migrationCountsEachReferenceOnceWhenRunAgain() throws Exception {
+		byte[] content = ("legacy photo " + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+		String legacy = UUID.randomUUID() + ".jpg";
+		Path legacyFile = fileStorageService.resolve(legacy);
+		Files.write(legacyFile, content);
+		String legacyUrl = fileStorageService.toPublicUrl(legacy);
+		Property first = propertyRepository.save(new Property("Legacy one", "Description", 100_000.0, "Oldtown",
+				80.0, "House", legacyUrl));
+		Property second = propertyRepository.save(new Property("Legacy two", "Description", 120_000.0, "Oldtown",
+				90.0, "House", legacyUrl));
+		UploadMigrationRunner migration = new UploadMigrationRunner(propertyRepository, fileStorageService,
+				transactionManager);
+
+		migration.run(null);
+		String blob = propertyRepository.findById(first.getId()).orElseThrow().getImageUrl();
+		assertThat(blob).isNotEqualTo(legacyUrl)
+				.isEqualTo(propertyRepository.findById(second.getId()).orElseThrow().getImageUrl());
+		String contentName = fileStorageService.fileNameOf(blob);
+		assertThat(fileStorageService.resolve(contentName)).hasBinaryContent(content);
+		assertThat(legacyFile).doesNotExist();
+
+		// As if the first run had died before removing the UUID file.
+		Files.write(legacyFile, content);
+		migration.run(null);
+
+		assertThat(storedFileRepository.findById(contentName)).get()
+				.satisfies(stored -> assertThat(stored.getReferenceCount()).isEqualTo(2));
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private void assertNoFilesSetAside() throws Exception {
+		try (Stream<Path> files = Files.list(fileStorageService.getStorageLocation())) {
+			assertThat(files.map(file -> file.getFileName().toString())).noneMatch(name -> name.startsWith(".upload-"));
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.realestate.management.dto.ForgeryVerdict;
+import com.realestate.management.entity.CachedVerdict;
+import com.realestate.management.exception.ForgeryDetectionException;
+import com.realestate.management.repository.CachedVerdictRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest(properties = {
+		"forgery.detection.timeout=PT1S",
+		"forgery.detection.max-connections=2",
+		"forgery.detection.queue-capacity=3"
+})
+class ForgeryDetectionClientTests {
+
+	private static HttpServer stub;
+
+	// Behaviour of the stub for the current test.
+	private static volatile int status;
+	private static volatile String response;
+	private static volatile long delayMillis;
+
+	private static final AtomicInteger requests = new AtomicInteger();
+	private static final AtomicInteger inFlight = new AtomicInteger();
+	private static final AtomicInteger maxInFlight = new AtomicInteger();
+	private static volatile byte[] lastImage;
+	private static volatile String lastContentLength;
+
+	@Autowired
+	private ForgeryDetectionClient client;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private ForgeryVerdictCache verdictCache;
+
+	@Autowired
+	private CachedVerdictRepository cachedVerdictRepository;
+
+	@DynamicPropertySource
+	static void stubServer(DynamicPropertyRegistry registry) throws IOException {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/detect-forgery", ForgeryDetectionClientTests::detectForgery);
+		stub.setExecutor(Executors.newFixedThreadPool(8));
+		stub.start();
+		registry.add("forgery.detection.url", () -> "http://127.0.0.1:" + stub.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@BeforeEach
+	void reset() throws InterruptedException {
+		// A call that timed out in an earlier test may still be sleeping in the stub.
+		for (int i = 0; i < 50 && inFlight.get() > 0; i++) {
+			Thread.sleep(100);
+		}
+		status = 200;
+		response = "{\"forgery_detected\": false, \"forgery_probability\": 0.1234, \"authentic_probability\": 0.8766}";
+		delayMillis = 0;
+		requests.set(0);
+		maxInFlight.set(0);
+		lastImage = null;
+	}
+
+	@Test
+	void storedFileIsStreamedAndTheVerdictParsed() throws Exception {
+		byte[] image = new byte[300_000];
+		new Random(System.nanoTime()).nextBytes(image);
+		String fileName = fileStorageService.storeContent(new ByteArrayInputStream(image), ".jpg");
+
+		ForgeryVerdict verdict = client.verify(fileName).get(5, TimeUnit.SECONDS);
+
+		assertThat(verdict.isForgeryDetected()).isFalse();
+		assertThat(verdict.getForgeryProbability()).isEqualTo(0.1234);
+		assertThat(verdict.getAuthenticProbability()).isEqualTo(0.8766);
+		assertThat(lastImage).isEqualTo(image);
+		// Sent with a known length rather than chunked: the body is the file itself, not a buffered copy
+		assertThat(lastContentLength).isNotNull();
+	}
+
+	@Test
+	void serviceErrorsFailTheFuture() throws Exception {
+		status = 500;
+		response = "{\"error\": \"Model not loaded.\"}";
+
+		assertThatThrownBy(() -> client.verify(storeImage()).get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.cause().isInstanceOf(ForgeryDetectionException.class)
+				.hasMessageContaining("Model not loaded.")
+				.extracting(cause -> ((ForgeryDetectionException) cause).getStatus()).isEqualTo(500);
+	}
+
+	@Test
+	void slowCallsTimeOut() throws Exception {
+		delayMillis = 2_000;
+
+		assertThatThrownBy(() -> client.verify(storeImage()).get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.cause().isInstanceOf(ForgeryDetectionException.class)
+				.hasCauseInstanceOf(HttpTimeoutException.class);
+	}
+
+	@Test
+	void callsBeyondThePoolWaitAndBeyondTheQueueAreRejected() throws Exception {
+		delayMillis = 300;
+		String fileName = storeImage();
+
+		// Cache lookups run ahead of the queue, so which of the six calls is turned away varies.
+		List<CompletableFuture<ForgeryVerdict>> calls = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			calls.add(client.verify(fileName));
+		}
+		List<CompletableFuture<ForgeryVerdict>> rejected = new ArrayList<>();
+		for (CompletableFuture<ForgeryVerdict> call : calls) {
+			try {
+				assertThat(call.get(5, TimeUnit.SECONDS).getForgeryProbability()).isEqualTo(0.1234);
+			} catch (ExecutionException ex) {
+				assertThat(ex).hasCauseInstanceOf(RejectedExecutionException.class);
+				rejected.add(call);
+			}
+		}
+
+		assertThat(rejected).hasSize(1);
+		assertThat(maxInFlight.get()).isEqualTo(2);
+	}
+
+	@Test
+	void repeatedContentIsAnsweredFromTheCache() throws Exception {
+		byte[] image = ("cached scan " + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+		String fileName = fileStorageService.storeContent(new ByteArrayInputStream(image), ".jpg");
+		ForgeryVerdict first = client.verify(fileName).get(5, TimeUnit.SECONDS);
+		assertThat(requests.get()).isEqualTo(1);
+
+		// Same bytes under another name, from memory and then from the database tier
+		String sameContent = fileStorageService.storeContent(new ByteArrayInputStream(image), ".png");
+		ForgeryVerdict fromMemory = client.verify(sameContent).get(5, TimeUnit.SECONDS);
+		verdictCache.invalidateMemory();
+		ForgeryVerdict fromDatabase = client.verify(fileName).get(5, TimeUnit.SECONDS);
+
+		assertThat(requests.get()).isEqualTo(1);
+		assertThat(fromMemory.getForgeryProbability()).isEqualTo(first.getForgeryProbability());
+		assertThat(fromDatabase.getAuthenticProbability()).isEqualTo(first.getAuthenticProbability());
+		assertThat(verdictCache.stats()).containsEntry("modelVersion", "production_model")
+				.extractingByKey("databaseHits").isEqualTo(1L);
+	}
+
+	@Test
+	void verdictsOfAnotherModelVersionAreNotReused() throws Exception {
+		String fileName = storeImage();
+		cachedVerdictRepository.save(new CachedVerdict(fileStorageService.contentHashOf(fileName),
+				"retired_model", true, 0.99, 0.01));
+
+		ForgeryVerdict verdict = client.verify(fileName).get(5, TimeUnit.SECONDS);
+
+		assertThat(requests.get()).isEqualTo(1);
+		assertThat(verdict.getForgeryProbability()).isEqualTo(0.1234);
+	}
+
+	@Test
+	void aVerdictStoredTwiceKeepsTheFirstRow() {
+		String contentHash = "race-" + System.nanoTime();
+		long stored = cachedVerdictRepository.countByModelVersion("production_model");
+
+		verdictCache.put(contentHash, new ForgeryVerdict(false, 0.2, 0.8));
+		verdictCache.put(contentHash, new ForgeryVerdict(true, 0.9, 0.1));
+
+		assertThat(cachedVerdictRepository.countByModelVersion("production_model")).isEqualTo(stored + 1);
+		assertThat(cachedVerdictRepository.findByContentHashAndModelVersion(contentHash, "production_model"))
+				.hasValueSatisfying(row -> assertThat(row.getForgeryProbability()).isEqualTo(0.2));
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	// Distinct content each time, so no verdict is cached for it yet.
+	private String storeImage() throws IOException {
+		byte[] image = ("not really a jpeg " + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+		return fileStorageService.storeContent(new ByteArrayInputStream(image), ".jpg");
+	}
+
+	// Mimics forgery_detection_api: the multipart "image" part in, a JSON verdict or error out.
+	private static void detectForgery(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		int current = inFlight.incrementAndGet();
+		maxInFlight.accumulateAndGet(current, Math::max);
+		try {
+			String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+			lastContentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+			byte[] body = exchange.getRequestBody().readAllBytes();
+			byte[] image = imagePart(body, contentType.substring(contentType.indexOf("boundary=") + 9));
+			if (image == null) {
+				respond(exchange, 400, "{\"error\": \"No image part in the request.\"}");
+				return;
+			}
+			lastImage = image;
+			if (delayMillis > 0) {
+				Thread.sleep(delayMillis);
+			}
+			respond(exchange, status, response);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	private static byte[] imagePart(byte[] body, String boundary) {
+		// ISO-8859-1 maps bytes to chars one to one, so string offsets are byte offsets.
+		String text = new String(body, StandardCharsets.ISO_8859_1);
+		int part = text.indexOf("--" + boundary + "\r\n");
+		int headersEnd = text.indexOf("\r\n\r\n", part);
+		int end = text.indexOf("\r\n--" + boundary + "--", headersEnd);
+		if (part < 0 || headersEnd < 0 || end < 0
+				|| !text.substring(part, headersEnd).contains("name=\"image\"; filename=")) {
+			return null;
+		}
+		return text.substring(headersEnd + 4, end).getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private static void respond(HttpExchange exchange, int code, String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(code, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
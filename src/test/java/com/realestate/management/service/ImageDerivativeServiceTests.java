@@ -0,0 +1,163 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+
+// One worker, so jobs finish in the order they were submitted.
+@SpringBootTest(properties = { "image.derivatives.threads=1", "image.derivatives.max-pixels=3000000" })
+class ImageDerivativeServiceTests {
+
+	@Autowired
+	private ImageDerivativeService derivativeService;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Test
+	void variantsAreWrittenAtTheirConfiguredSizes() throws Exception {
+		Property listing = listingWithImage(png(2000, 1000));
+
+		derivativeService.submit(listing.getId(), listing.getImageUrl());
+		Property processed = awaitVariants(listing.getId());
+
+		assertThat(dimensions(processed.getThumbnailUrl())).containsExactly(320, 160);
+		assertThat(dimensions(processed.getCardImageUrl())).containsExactly(640, 320);
+		assertThat(dimensions(processed.getDetailImageUrl())).containsExactly(1600, 800);
+	}
+
+	@Test
+	void smallImagesAreNotUpscaled() throws Exception {
+		Property listing = listingWithImage(png(400, 300));
+
+		derivativeService.submit(listing.getId(), listing.getImageUrl());
+		Property processed = awaitVariants(listing.getId());
+
+		assertThat(dimensions(processed.getThumbnailUrl())).containsExactly(320, 240);
+		assertThat(dimensions(processed.getDetailImageUrl())).containsExactly(400, 300);
+	}
+
+	@Test
+	void unreadableImagesKeepTheOriginal() throws Exception {
+		Property broken = listingWithImage(("not an image " + System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+		Property readable = listingWithImage(png(800, 600));
+
+		derivativeService.submit(broken.getId(), broken.getImageUrl());
+		derivativeService.submit(readable.getId(), readable.getImageUrl());
+		awaitVariants(readable.getId());
+
+		Property unchanged = propertyRepository.findById(broken.getId()).orElseThrow();
+		assertThat(unchanged.getThumbnailUrl()).isNull();
+		assertThat(unchanged.getThumbnailImage()).isEqualTo(broken.getImageUrl());
+		String fileName = fileStorageService.fileNameOf(broken.getImageUrl());
+		for (ImageVariant variant : ImageVariant.values()) {
+			assertThat(fileStorageService.resolve(variant.fileNameFor(fileName))).doesNotExist();
+		}
+	}
+
+	@Test
+	void imagesAboveThePixelLimitAreNotDecoded() throws Exception {
+		Property oversized = listingWithImage(png(2000, 2000));
+		Property readable = listingWithImage(png(800, 600));
+
+		derivativeService.submit(oversized.getId(), oversized.getImageUrl());
+		derivativeService.submit(readable.getId(), readable.getImageUrl());
+		awaitVariants(readable.getId());
+
+		Property unchanged = propertyRepository.findById(oversized.getId()).orElseThrow();
+		assertThat(unchanged.getThumbnailUrl()).isNull();
+		assertThat(unchanged.getThumbnailImage()).isEqualTo(oversized.getImageUrl());
+	}
+
+	@Test
+	void jobsBeyondTheQueueAreDroppedWithoutFailingTheCaller() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		FileStorageService storage = mock(FileStorageService.class);
+		when(storage.fileNameOf(anyString())).thenAnswer(call -> call.getArgument(0));
+		when(storage.resolve(anyString())).thenAnswer(call -> {
+			release.await(10, TimeUnit.SECONDS);
+			return Path.of("target", "no-such-upload", call.getArgument(0, String.class));
+		});
+		ImageDerivativeService service = new ImageDerivativeService(storage, mock(PropertyRepository.class),
+				mock(PropertyCache.class), mock(ApplicationEventPublisher.class), 1, 1, 40_000_000L);
+		try {
+			service.submit(1L, "running.jpg");
+			verify(storage, timeout(5_000)).resolve(ImageVariant.THUMBNAIL.fileNameFor("running.jpg"));
+			service.submit(2L, "queued.jpg");
+
+			assertThatCode(() -> service.submit(3L, "dropped.jpg")).doesNotThrowAnyException();
+			assertThat(service.queuedJobs()).isEqualTo(1);
+
+			release.countDown();
+			verify(storage, timeout(5_000)).resolve("queued.jpg");
+			verify(storage, never()).resolve(ImageVariant.THUMBNAIL.fileNameFor("dropped.jpg"));
+		} finally {
+			release.countDown();
+			service.shutdown();
+		}
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private Property listingWithImage(byte[] content) throws Exception {
+		String fileName = fileStorageService.storeContent(new ByteArrayInputStream(content), ".png");
+		return propertyRepository.save(new Property("Pictured listing", "Description", 300_000.0, "Imageville",
+				120.0, "House", fileStorageService.toPublicUrl(fileName)));
+	}
+
+	private Property awaitVariants(Long id) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (System.nanoTime() < deadline) {
+			Property property = propertyRepository.findById(id).orElseThrow();
+			if (property.getThumbnailUrl() != null) {
+				return property;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("No variants generated for property " + id);
+	}
+
+	private int[] dimensions(String url) throws Exception {
+		BufferedImage image = ImageIO.read(fileStorageService.resolve(fileStorageService.fileNameOf(url)).toFile());
+		return new int[] { image.getWidth(), image.getHeight() };
+	}
+
+	// Random noise, so every image has its own content hash.
+	private static byte[] png(int width, int height) throws Exception {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y += 10) {
+			for (int x = 0; x < width; x += 10) {
+				image.setRGB(x, y, (int) (Math.random() * 0xFFFFFF));
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,123 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+
+@DataJpaTest
+class LocationIndexTests {
+
+	private static final String[] CITIES = { "Austin, TX", "Miami Beach, FL", "Long Beach, CA", "San Francisco, CA",
+			"Nashville, TN", "Louisville, KY", "Jacksonville, FL", "New York, NY", "Newark, NJ" };
+
+	// Prefixes, suffixes and inner substrings, fragments shorter than a trigram, and one that matches nothing.
+	private static final List<String> FRAGMENTS = List.of("Austin", "New", "Beach", ", CA", "ville", "District 1",
+			"District 17, ", "Ne", "a", "nowhere");
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final LocationIndex index = new LocationIndex();
+	private final Random random = new Random(42);
+	private List<Property> properties;
+
+	@BeforeEach
+	void seed() {
+		properties = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			String location = i % 4 == 0 ? "District " + i % 40 + ", " + CITIES[i % CITIES.length]
+					: CITIES[random.nextInt(CITIES.length)];
+			properties.add(entityManager.persist(new Property("Listing " + i, "Description " + i, 200_000.0,
+					location, 900.0, "House", null)));
+		}
+		entityManager.flush();
+		properties.forEach(this::put);
+		index.markWarm();
+	}
+
+	@Test
+	void lookupsMatchLike() {
+		assertMatchesLike();
+	}
+
+	@Test
+	void matchingIgnoresCaseAndSurroundingBlanks() {
+		long[] expected = like("Austin");
+
+		assertThat(expected).isNotEmpty();
+		assertThat(index.lookup("AUSTIN")).containsExactly(expected);
+		assertThat(index.lookup("  austin ")).containsExactly(expected);
+	}
+
+	@Test
+	void pagesWalkTheMatchesInIdOrder() {
+		long[] expected = like("Beach");
+		long middle = expected[expected.length / 2];
+
+		assertThat(index.idsAfter("Beach", middle, 5))
+				.containsExactly(Arrays.copyOfRange(expected, expected.length / 2 + 1, expected.length / 2 + 6));
+		assertThat(index.idsBefore("Beach", middle, 3)).containsExactly(
+				expected[expected.length / 2 - 1], expected[expected.length / 2 - 2], expected[expected.length / 2 - 3]);
+	}
+
+	@Test
+	void updatesAndRemovalsMatchLike() {
+		for (int i = 0; i < properties.size(); i += 3) {
+			Property property = properties.get(i);
+			property.setLocation(i % 2 == 0 ? "Boulder, CO" : CITIES[(i + 1) % CITIES.length]);
+			put(property);
+		}
+		for (Property property : List.copyOf(properties)) {
+			if (property.getLocation().startsWith("Austin") || property.getId() % 7 == 0) {
+				index.remove(property.getId());
+				entityManager.remove(property);
+				properties.remove(property);
+			}
+		}
+		entityManager.flush();
+
+		assertThat(index.size()).isEqualTo((int) propertyRepository.count());
+		assertThat(index.lookup("Austin")).isEmpty();
+		assertThat(index.lookup("Boulder")).containsExactly(like("Boulder"));
+		assertMatchesLike();
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private void put(Property property) {
+		index.put(property.getId(), property.getLocation());
+	}
+
+	// MySQL's default collation makes LIKE case-insensitive; H2's does not, so both sides are lowered here.
+	private long[] like(String fragment) {
+		return entityManager.getEntityManager()
+				.createQuery("SELECT p.id FROM Property p WHERE LOWER(p.location) LIKE LOWER(:pattern) ORDER BY p.id",
+						Long.class)
+				.setParameter("pattern", "%" + fragment + "%")
+				.getResultStream().mapToLong(Long::longValue).toArray();
+	}
+
+	private void assertMatchesLike() {
+		for (String fragment : FRAGMENTS) {
+			long[] expected = like(fragment);
+
+			assertThat(index.lookup(fragment)).as(fragment).containsExactly(expected);
+			assertThat(index.count(fragment)).as(fragment).isEqualTo(expected.length);
+		}
+	}
+}
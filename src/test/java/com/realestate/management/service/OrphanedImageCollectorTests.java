@@ -0,0 +1,143 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.realestate.management.dto.OrphanSweepReport;
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import({ FileStorageService.class, FileStorageMetrics.class, SimpleMeterRegistry.class, OrphanedImageCollector.class })
+@TestPropertySource(properties = {
+		"file.upload-dir=target/test-uploads/orphan-sweep",
+		"uploads.gc.grace-period=PT0S",
+		"uploads.gc.max-files-per-second=0"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrphanedImageCollectorTests {
+
+	@Autowired
+	private OrphanedImageCollector collector;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@BeforeEach
+	void cleanUploadDirectory() throws Exception {
+		propertyRepository.deleteAll();
+		Path root = fileStorageService.getStorageLocation();
+		try (Stream<Path> files = Files.walk(root)) {
+			files.sorted(Comparator.reverseOrder()).filter(path -> !path.equals(root)).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	void onlyUnreferencedFilesAreSwept() throws Exception {
+		write("referenced.jpg");
+		write(ImageVariant.CARD.fileNameFor("referenced.jpg"));
+		write("orphan.png");
+		write(ImageVariant.THUMBNAIL.fileNameFor("orphan.png"));
+		String held = fileStorageService.storeFile(new MockMultipartFile("image", "held.jpg", "image/jpeg",
+				"in flight".getBytes(StandardCharsets.UTF_8)));
+		propertyRepository.save(new Property("Listing", "Description", 100_000.0, "City", 900.0, "House",
+				fileStorageService.toPublicUrl("referenced.jpg")));
+
+		OrphanSweepReport dryRun = collector.sweep(OrphanedImageCollector.Mode.DRY_RUN);
+		assertThat(dryRun.getScannedFiles()).isEqualTo(5);
+		assertThat(dryRun.getOrphanedFiles()).isEqualTo(2);
+		assertThat(dryRun.getHeldByReferenceCount()).isEqualTo(1);
+		assertThat(dryRun.getRemovedFiles()).isZero();
+		assertThat(dryRun.getSample()).containsExactlyInAnyOrder("orphan.png", "orphan-thumb.jpg");
+		assertThat(fileStorageService.resolve("orphan.png")).exists();
+
+		OrphanSweepReport quarantine = collector.sweep(OrphanedImageCollector.Mode.QUARANTINE);
+		assertThat(quarantine.getRemovedFiles()).isEqualTo(2);
+		assertThat(fileStorageService.resolve("orphan.png")).doesNotExist();
+		assertThat(fileStorageService.getStorageLocation().resolve(OrphanedImageCollector.QUARANTINE_DIR)
+				.resolve("orphan.png")).exists();
+		assertThat(fileStorageService.resolve("referenced.jpg")).exists();
+		assertThat(fileStorageService.resolve("referenced-card.jpg")).exists();
+		assertThat(fileStorageService.resolve(held)).exists();
+	}
+
+	@Test
+	void indexesOfDocumentsNoPropertyPointsAtAreDeleted() throws Exception {
+		String attached = fileStorageService.storeContent(new ByteArrayInputStream(
+				"%PDF-1.4 attached".getBytes(StandardCharsets.ISO_8859_1)), ".pdf");
+		write("legacy-deed.pdf");
+		Property listing = new Property("Listing", "Description", 100_000.0, "City", 900.0, "House", null);
+		listing.setDocumentUrl(fileStorageService.toPublicUrl(attached));
+		propertyRepository.save(listing);
+		Property legacy = new Property("Legacy", "Description", 100_000.0, "City", 900.0, "House", null);
+		legacy.setDocumentUrl(fileStorageService.toPublicUrl("legacy-deed.pdf"));
+		propertyRepository.save(legacy);
+
+		Path indexes = Files.createDirectories(
+				fileStorageService.getStorageLocation().resolve(DocumentRetrievalService.INDEX_DIR));
+		Path kept = indexes.resolve(fileStorageService.contentHashOf(attached) + ".bm25");
+		Path keptLegacy = indexes.resolve(fileStorageService.contentHashOf("legacy-deed.pdf") + ".bm25");
+		Path orphan = indexes.resolve("0".repeat(64) + ".bm25");
+		Path leftover = indexes.resolve(".index-123.tmp");
+		for (Path index : List.of(kept, keptLegacy, orphan, leftover)) {
+			Files.writeString(index, "index");
+		}
+
+		OrphanSweepReport quarantine = collector.sweep(OrphanedImageCollector.Mode.QUARANTINE);
+
+		assertThat(quarantine.getSample()).containsExactlyInAnyOrder(
+				DocumentRetrievalService.INDEX_DIR + "/" + orphan.getFileName(),
+				DocumentRetrievalService.INDEX_DIR + "/" + leftover.getFileName());
+		assertThat(kept).exists();
+		assertThat(keptLegacy).exists();
+		assertThat(orphan).doesNotExist();
+		assertThat(leftover).doesNotExist();
+		assertThat(fileStorageService.getStorageLocation().resolve(OrphanedImageCollector.QUARANTINE_DIR)).doesNotExist();
+	}
+
+	@Test
+	void quarantiningAFileAgainKeepsTheEarlierCopy() throws Exception {
+		Path quarantine = fileStorageService.getStorageLocation().resolve(OrphanedImageCollector.QUARANTINE_DIR);
+		write("orphan.png");
+		collector.sweep(OrphanedImageCollector.Mode.QUARANTINE);
+		Files.writeString(fileStorageService.resolve("orphan.png"), "second upload");
+
+		OrphanSweepReport second = collector.sweep(OrphanedImageCollector.Mode.QUARANTINE);
+
+		assertThat(second.getRemovedFiles()).isEqualTo(1);
+		assertThat(quarantine.resolve("orphan.png")).hasContent("orphan.png");
+		try (Stream<Path> files = Files.list(quarantine)) {
+			List<Path> renamed = files.filter(file -> !file.getFileName().toString().equals("orphan.png")).toList();
+			assertThat(renamed).singleElement().satisfies(file -> {
+				assertThat(file.getFileName().toString()).matches("orphan\\.png\\.\\d+");
+				assertThat(file).hasContent("second upload");
+			});
+		}
+	}
+
+	private void write(String fileName) throws Exception {
+		Files.write(fileStorageService.resolve(fileName), fileName.getBytes(StandardCharsets.UTF_8));
+	}
+}
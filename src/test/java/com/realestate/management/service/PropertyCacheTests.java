@@ -0,0 +1,67 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.realestate.management.entity.Property;
+
+class PropertyCacheTests {
+
+	private final PropertyCache cache = new PropertyCache(100, Duration.ofMinutes(10));
+
+	@Test
+	void callersGetTheirOwnCopies() {
+		Property loaded = listing(1L, 200_000.0);
+
+		Property first = cache.get(1L, id -> loaded);
+		first.setPrice(1.0);
+		loaded.setTitle("Changed after loading");
+		Property second = cache.get(1L, id -> listing(1L, 0.0));
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getPrice()).isEqualTo(200_000.0);
+		assertThat(second.getTitle()).isEqualTo("Listing 1");
+	}
+
+	@Test
+	void aWarmUpReadBeforeAnInvalidationIsDropped() {
+		long stamp = cache.stamp();
+		Property readBeforeTheWrite = listing(1L, 200_000.0);
+		cache.invalidate(1L);
+
+		cache.putIfUnchanged(readBeforeTheWrite, stamp);
+
+		assertThat(cache.get(1L, id -> listing(1L, 250_000.0)).getPrice()).isEqualTo(250_000.0);
+	}
+
+	@Test
+	void aWarmUpDoesNotReplaceAnEntryLoadedMeanwhile() {
+		long stamp = cache.stamp();
+		cache.get(1L, id -> listing(1L, 250_000.0));
+
+		cache.putIfUnchanged(listing(1L, 200_000.0), stamp);
+		cache.putIfUnchanged(listing(2L, 300_000.0), stamp);
+
+		AtomicInteger loads = new AtomicInteger();
+		assertThat(cache.get(1L, id -> count(loads, listing(1L, 0.0))).getPrice()).isEqualTo(250_000.0);
+		assertThat(cache.get(2L, id -> count(loads, listing(2L, 0.0))).getPrice()).isEqualTo(300_000.0);
+		assertThat(loads).hasValue(0);
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private static Property listing(Long id, double price) {
+		Property property = new Property("Listing " + id, "Description", price, "Cachetown", 80.0, "House", null);
+		property.setId(id);
+		return property;
+	}
+
+	private static Property count(AtomicInteger loads, Property property) {
+		loads.incrementAndGet();
+		return property;
+	}
+}
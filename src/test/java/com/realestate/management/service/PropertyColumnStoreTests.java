@@ -0,0 +1,125 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.realestate.management.dto.PropertySearchCriteria;
+import com.realestate.management.entity.Property;
+import com.realestate.management.repository.PropertyRepository;
+
+@DataJpaTest
+class PropertyColumnStoreTests {
+
+	private static final String[] TYPES = { "House", "Apartment", "Land" };
+
+	private static final List<PropertySearchCriteria> FILTERS = List.of(
+			new PropertySearchCriteria(null, null, null, null, null, null),
+			new PropertySearchCriteria("House", null, null, null, null, null),
+			new PropertySearchCriteria(null, null, 150_000.0, 160_000.0, null, null),
+			new PropertySearchCriteria("Apartment", null, 100_000.0, 300_000.0, 900.0, 1_400.0),
+			new PropertySearchCriteria("Land", null, null, null, 1_950.0, null));
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final PropertyColumnStore columnStore = new PropertyColumnStore();
+	private final Random random = new Random(42);
+	private List<Property> properties;
+
+	@BeforeEach
+	void seed() {
+		properties = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			properties.add(entityManager.persist(new Property("Listing " + i, "Description " + i,
+					100_000.0 + random.nextInt(200) * 1_000.0, "City " + i % 7,
+					500.0 + random.nextInt(1_500), TYPES[i % TYPES.length], null)));
+		}
+		entityManager.flush();
+		columnStore.markWarm();
+	}
+
+	@Test
+	void idsPutOutOfOrderAreReturnedInKeysetOrder() {
+		List<Property> shuffled = new ArrayList<>(properties);
+		Collections.shuffle(shuffled, random);
+		shuffled.forEach(this::put);
+
+		long[] ids = columnStore.idsAfter(new PropertySearchCriteria(), 0, properties.size());
+
+		assertThat(ids).containsExactly(properties.stream().mapToLong(Property::getId).toArray());
+		assertMatchesRepository();
+	}
+
+	@Test
+	void anIdCommittedLateLandsBetweenItsNeighbours() {
+		Property late = properties.get(150);
+		properties.stream().filter(p -> p != late).forEach(this::put);
+		put(late);
+
+		long[] around = columnStore.idsAfter(new PropertySearchCriteria(), properties.get(148).getId(), 3);
+
+		assertThat(around).containsExactly(properties.get(149).getId(), late.getId(), properties.get(151).getId());
+		assertThat(columnStore.matches(late.getId(),
+				new PropertySearchCriteria(late.getType(), null, late.getPrice(), late.getPrice(), null, null))).isTrue();
+		assertMatchesRepository();
+	}
+
+	@Test
+	void updatesAndRemovalsAfterOutOfOrderPutsMatchTheRepository() {
+		List<Property> shuffled = new ArrayList<>(properties);
+		Collections.shuffle(shuffled, random);
+		shuffled.forEach(this::put);
+
+		for (int i = 0; i < properties.size(); i += 5) {
+			Property property = properties.get(i);
+			property.setPrice(property.getPrice() + 55_000.0);
+			property.setSize(property.getSize() / 2);
+			property.setType(TYPES[(i + 1) % TYPES.length]);
+			put(property);
+		}
+		for (int i = 3; i < properties.size(); i += 7) {
+			columnStore.remove(properties.get(i).getId());
+			entityManager.remove(properties.get(i));
+		}
+		entityManager.flush();
+
+		assertThat(columnStore.size()).isEqualTo((int) propertyRepository.count());
+		assertMatchesRepository();
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private void put(Property property) {
+		columnStore.put(property.getId(), property.getType(), property.getPrice(), property.getSize());
+	}
+
+	private void assertMatchesRepository() {
+		for (PropertySearchCriteria criteria : FILTERS) {
+			long[] expected = propertyRepository.searchPageAfter(criteria.getType(), null,
+							criteria.getMinPrice(), criteria.getMaxPrice(), criteria.getMinSize(), criteria.getMaxSize(),
+							0L, PageRequest.ofSize(properties.size()))
+					.stream().mapToLong(Property::getId).toArray();
+			long[] descending = Arrays.stream(expected).boxed().sorted(Collections.reverseOrder())
+					.mapToLong(Long::longValue).toArray();
+
+			assertThat(columnStore.idsAfter(criteria, 0, properties.size())).containsExactly(expected);
+			assertThat(columnStore.idsBefore(criteria, Long.MAX_VALUE, properties.size())).containsExactly(descending);
+			assertThat(columnStore.count(criteria)).isEqualTo(expected.length);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.realestate.management.dto.PropertyImportProgress;
+import com.realestate.management.dto.PropertyImportProgress.RowError;
+
+@SpringBootTest
+@TestPropertySource(properties = "property.import.batch-size=2")
+class PropertyImportServiceTests {
+
+	@Autowired
+	private PropertyImportService importService;
+
+	@Autowired
+	private DashboardStatisticsService statistics;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void csvFeedIsUpsertedInBatchesAndBadRowsAreReported() {
+		long villas = statistics.propertiesByType().getOrDefault("Villa", 0L);
+		String csv = """
+				External Ref,Title,Description,Price,Location,Size,Type,Image URL
+				csv-1,Sea view villa,"Three floors, ""private"" pool
+				and a garden",950000,Nice,320,Villa,https://cdn.example.com/1.jpg
+				csv-2,Loft,Open plan,abc,Lyon,80,Apartment,
+				csv-3,Farmhouse,Stone walls,410000,Arles,210,House,/uploads/properties/x.jpg
+				csv-4,,No title,100000,Paris,40,Apartment,
+
+				csv-5,Studio,Compact,120000,Paris,25,Apartment,
+				csv-1,Sea view villa,Renovated,990000,Nice,320,Villa,
+				""";
+
+		PropertyImportProgress progress = run(DataFormat.CSV, csv);
+
+		assertThat(progress.getState()).isEqualTo(PropertyImportProgress.State.COMPLETED);
+		assertThat(progress.getRowsRead()).isEqualTo(6);
+		assertThat(progress.getInserted()).isEqualTo(2);
+		assertThat(progress.getUpdated()).isEqualTo(1);
+		assertThat(progress.getRejected()).isEqualTo(3);
+		assertThat(progress.getErrors()).extracting(RowError::getLine).containsExactly(4L, 5L, 6L);
+		assertThat(progress.getErrors()).extracting(RowError::getMessage).containsExactly(
+				"Price is not a number: abc",
+				"Image URL must be an absolute http(s) URL",
+				"Title is required");
+
+		Map<String, Object> villa = row("csv-1");
+		assertThat(villa.get("description")).isEqualTo("Renovated");
+		assertThat(villa.get("price")).isEqualTo(990000.0);
+		// The second row had no image, so the first one's is kept.
+		assertThat(villa.get("image_url")).isEqualTo("https://cdn.example.com/1.jpg");
+		assertThat(statistics.propertiesByType().get("Villa")).isEqualTo(villas + 1);
+	}
+
+	@Test
+	void jsonFeedUpdatesExistingListings() {
+		run(DataFormat.JSON, """
+				[{"externalRef": "json-1", "title": "Townhouse", "description": "Corner plot", "price": 500000,
+				  "location": "Bordeaux", "size": 140, "type": "House"}]
+				""");
+
+		PropertyImportProgress progress = run(DataFormat.JSON, """
+				{"external_ref": "json-1", "title": "Townhouse", "description": "Corner plot", "price": 480000,
+				 "location": "Bordeaux", "size": 140, "type": "House", "agent_email": "nobody@example.com"}
+				{"external_ref": "json-1", "title": "Townhouse", "description": "Corner plot", "price": 470000,
+				 "location": "Bordeaux", "size": 140, "type": "House", "tags": ["garden"]}
+				""");
+
+		assertThat(progress.getInserted()).isZero();
+		assertThat(progress.getUpdated()).isEqualTo(1);
+		assertThat(progress.getErrors()).extracting(RowError::getMessage)
+				.containsExactly("No agent with email nobody@example.com");
+		assertThat(row("json-1").get("price")).isEqualTo(470000.0);
+	}
+
+	@Test
+	void malformedFeedFailsTheImport() {
+		PropertyImportProgress progress = run(DataFormat.CSV, """
+				externalRef,title
+				bad-1,"never closed
+				""");
+
+		assertThat(progress.getState()).isEqualTo(PropertyImportProgress.State.FAILED);
+		assertThat(progress.getFailure()).contains("Unterminated");
+	}
+
+	private PropertyImportProgress run(DataFormat format, String feed) {
+		byte[] bytes = feed.getBytes(StandardCharsets.UTF_8);
+		PropertyImportProgress progress = new PropertyImportProgress("test", format.name(), bytes.length);
+		importService.importFeed(progress, format, new ByteArrayInputStream(bytes));
+		return progress;
+	}
+
+	private Map<String, Object> row(String externalRef) {
+		return jdbcTemplate.queryForMap("SELECT * FROM properties WHERE external_ref = ?", externalRef);
+	}
+}
@@ -0,0 +1,131 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.realestate.management.dto.CursorPage;
+import com.realestate.management.dto.PropertySearchCriteria;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.UserRepository;
+
+@SpringBootTest
+class PropertyPaginationTests {
+
+	private static final int PAGE_SIZE = 5;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private User agent;
+	private final List<Long> listings = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		agent = userRepository.save(new User("Paging Agent", "pager" + System.nanoTime() + "@example.com",
+				"secret", "AGENT"));
+		for (int i = 0; i < 23; i++) {
+			Property listing = new Property("Paged listing " + i, "Description " + i, 100_000.0 + i * 1_000,
+					"Pageville", 80.0, i % 3 == 0 ? "Paged Barn" : "Paged Loft", null);
+			listing.setAgent(agent);
+			listings.add(propertyService.createProperty(listing).getId());
+		}
+	}
+
+	@AfterEach
+	void removeListings() {
+		listings.forEach(propertyService::deleteProperty);
+		listings.clear();
+		userRepository.delete(agent);
+	}
+
+	@Test
+	void agentPagesWalkForwardAndBack() {
+		assertWalksForwardAndBack(listings,
+				(after, before) -> propertyService.getAgentPropertiesPage(agent.getId(), after, before, PAGE_SIZE));
+	}
+
+	@Test
+	void filteredSearchPagesWalkForwardAndBack() {
+		PropertySearchCriteria criteria = new PropertySearchCriteria(" Paged Loft ", "Pageville", 105_000.0, null,
+				null, null);
+		List<Long> expected = propertyRepository.findAllById(listings).stream()
+				.filter(p -> p.getType().equals("Paged Loft") && p.getPrice() >= 105_000.0)
+				.map(Property::getId).sorted().toList();
+
+		assertThat(expected).hasSizeGreaterThan(2 * PAGE_SIZE);
+		assertWalksForwardAndBack(expected,
+				(after, before) -> propertyService.searchPropertiesPage(criteria, after, before, PAGE_SIZE));
+	}
+
+	@Test
+	void aPageBeyondTheLastRowLinksBackToIt() {
+		Long last = listings.get(listings.size() - 1);
+
+		CursorPage<Property> beyond = propertyService.getAgentPropertiesPage(agent.getId(), last, null, PAGE_SIZE);
+
+		assertThat(beyond.isEmpty()).isTrue();
+		assertThat(beyond.hasNext()).isFalse();
+		assertThat(beyond.hasPrevious()).isTrue();
+		CursorPage<Property> back = propertyService.getAgentPropertiesPage(agent.getId(), null,
+				beyond.getPrevCursor(), PAGE_SIZE);
+		assertThat(ids(back)).containsExactlyElementsOf(listings.subList(listings.size() - PAGE_SIZE, listings.size()));
+	}
+
+	@Test
+	void theFirstPageHasNoPreviousLink() {
+		CursorPage<Property> first = propertyService.getPropertiesPage(null, null, PAGE_SIZE);
+
+		assertThat(first.hasPrevious()).isFalse();
+		assertThat(first.size()).isEqualTo(PAGE_SIZE);
+		assertThat(propertyService.getPropertiesPage(null, first.getContent().get(0).getId(), PAGE_SIZE).isEmpty())
+				.isTrue();
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	// Follows next links to the last page, then previous links back to the first, comparing each page.
+	private void assertWalksForwardAndBack(List<Long> expected, BiFunction<Long, Long, CursorPage<Property>> pages) {
+		List<List<Long>> forward = new ArrayList<>();
+		CursorPage<Property> page = pages.apply(null, null);
+		assertThat(page.hasPrevious()).isFalse();
+		forward.add(ids(page));
+		while (page.hasNext()) {
+			page = pages.apply(page.getNextCursor(), null);
+			assertThat(page.hasPrevious()).isTrue();
+			forward.add(ids(page));
+		}
+		assertThat(forward.stream().flatMap(List::stream).toList()).containsExactlyElementsOf(expected);
+		assertThat(forward.get(forward.size() - 1)).hasSize((expected.size() - 1) % PAGE_SIZE + 1);
+
+		List<List<Long>> backward = new ArrayList<>();
+		while (page.hasPrevious()) {
+			page = pages.apply(null, page.getPrevCursor());
+			assertThat(page.hasNext()).isTrue();
+			backward.add(ids(page));
+		}
+		Collections.reverse(backward);
+		assertThat(backward).containsExactlyElementsOf(forward.subList(0, forward.size() - 1));
+	}
+
+	private static List<Long> ids(CursorPage<Property> page) {
+		return page.getContent().stream().map(Property::getId).toList();
+	}
+}
@@ -0,0 +1,177 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.realestate.management.dto.PropertyImportProgress;
+import com.realestate.management.entity.Inquiry;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private InquiryService inquiryService;
+
+	@Autowired
+	private PropertyImportService importService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transaction;
+	private Statistics statistics;
+	private User customer;
+	private Property listing;
+
+	@BeforeEach
+	void seed() {
+		transaction = new TransactionTemplate(transactionManager);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+
+		String suffix = Long.toString(System.nanoTime());
+		customer = userService.createUser(
+				new User("Cache Customer", "cache-" + suffix + "@example.com", "secret", "CUSTOMER"));
+		listing = propertyService.createProperty(new Property("Cached listing", "Description",
+				250_000.0, "Cachetown " + suffix, 90.0, "Cottage", null));
+		inquiryService.createInquiry(customer.getId(), listing.getId(), "First question");
+		inquiryService.createInquiry(customer.getId(), listing.getId(), "Second question");
+		entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+	}
+
+	@Test
+	void cachedEntityAndCollectionReadsOnlyQueryTheListing() {
+		loadListingWithInquiries();
+		loadCustomer();
+
+		statistics.clear();
+		List<String> messages = loadListingWithInquiries();
+		User user = loadCustomer();
+
+		// Property is left to PropertyCache; its inquiries, the inquiries and the customer come from the cache
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(3);
+		assertThat(entityManagerFactory.getCache().contains(Property.class, listing.getId())).isFalse();
+		assertThat(messages).containsExactlyInAnyOrder("First question", "Second question");
+		assertThat(user.getName()).isEqualTo("Cache Customer");
+	}
+
+	@Test
+	void repeatedSearchesAreServedFromTheQueryCache() {
+		String location = listing.getLocation();
+		inTransaction(() -> propertyRepository.searchProperties("Cottage", location, null, 300_000.0));
+
+		statistics.clear();
+		List<Property> hits = inTransaction(
+				() -> propertyRepository.searchProperties("Cottage", location, null, 300_000.0));
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+		assertThat(hits).extracting(Property::getId).containsExactly(listing.getId());
+	}
+
+	@Test
+	void serviceWritesEvictStaleEntriesAndResults() {
+		String location = listing.getLocation();
+		inTransaction(() -> propertyRepository.searchProperties("Cottage", location, null, 300_000.0));
+		loadListingWithInquiries();
+		loadCustomer();
+
+		Property changes = new Property("Cached listing", "Description", 350_000.0, location, 90.0, "Cottage", null);
+		propertyService.updateProperty(listing.getId(), changes);
+		User rename = new User("Renamed Customer", customer.getEmail(), null, "CUSTOMER");
+		userService.updateUser(customer.getId(), rename);
+		inquiryService.createInquiry(customer.getId(), listing.getId(), "Third question");
+
+		statistics.clear();
+		List<Property> hits = inTransaction(
+				() -> propertyRepository.searchProperties("Cottage", location, null, 300_000.0));
+		assertThat(statistics.getQueryCacheHitCount()).isZero();
+		assertThat(hits).isEmpty();
+
+		assertThat(loadListingWithInquiries()).hasSize(3);
+		assertThat(inTransaction(() -> propertyRepository.findById(listing.getId()).orElseThrow().getPrice()))
+				.isEqualTo(350_000.0);
+		assertThat(loadCustomer().getName()).isEqualTo("Renamed Customer");
+	}
+
+	@Test
+	void jdbcImportsEvictWhatTheyOverwrite() {
+		String ref = "cache-" + listing.getId();
+		String location = "Importville " + listing.getId();
+		assertThat(searchImported(location)).isEmpty();
+
+		importCsv(ref, location, 400_000);
+		List<Property> inserted = searchImported(location);
+		assertThat(inserted).extracting(Property::getExternalRef).containsExactly(ref);
+		Long id = inserted.get(0).getId();
+		assertThat(inTransaction(() -> propertyRepository.findById(id).orElseThrow().getPrice())).isEqualTo(400_000.0);
+
+		importCsv(ref, location, 420_000);
+		assertThat(searchImported(location)).extracting(Property::getPrice).containsExactly(420_000.0);
+		assertThat(inTransaction(() -> propertyRepository.findById(id).orElseThrow().getPrice())).isEqualTo(420_000.0);
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private List<String> loadListingWithInquiries() {
+		return inTransaction(() -> propertyRepository.findById(listing.getId()).orElseThrow()
+				.getInquiries().stream().map(Inquiry::getMessage).toList());
+	}
+
+	private User loadCustomer() {
+		return inTransaction(() -> userRepository.findById(customer.getId()).orElseThrow());
+	}
+
+	private List<Property> searchImported(String location) {
+		return inTransaction(() -> propertyRepository.searchProperties("Cottage", location, null, null));
+	}
+
+	private void importCsv(String ref, String location, int price) {
+		byte[] csv = ("External Ref,Title,Description,Price,Location,Size,Type\n"
+				+ ref + ",Imported cottage,Stone walls," + price + "," + location + ",80,Cottage\n")
+				.getBytes(StandardCharsets.UTF_8);
+		PropertyImportProgress progress = new PropertyImportProgress("cache-test", "CSV", csv.length);
+		importService.importFeed(progress, DataFormat.CSV, new ByteArrayInputStream(csv));
+		assertThat(progress.getRejected()).isZero();
+	}
+
+	private <T> T inTransaction(Supplier<T> work) {
+		return transaction.execute(status -> work.get());
+	}
+}
@@ -0,0 +1,85 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.realestate.management.entity.User;
+import com.realestate.management.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserPrincipalCacheTests {
+
+	private static final String PASSWORD = "secret";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserPrincipalCache principalCache;
+
+	@Test
+	void aRoleChangeTakesEffectOnTheNextRequest() throws Exception {
+		User agent = userService.createUser(new User("Agent", uniqueEmail(), PASSWORD, "AGENT"));
+		MockHttpSession session = logIn(agent.getEmail());
+		mockMvc.perform(get("/agent/dashboard").session(session)).andExpect(status().isOk());
+
+		userService.updateUser(agent.getId(), new User("Agent", agent.getEmail(), null, "CUSTOMER"));
+
+		mockMvc.perform(get("/agent/dashboard").session(session)).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void aDeletedUserIsSignedOutOnTheNextRequest() throws Exception {
+		User agent = userService.createUser(new User("Agent", uniqueEmail(), PASSWORD, "AGENT"));
+		MockHttpSession session = logIn(agent.getEmail());
+		mockMvc.perform(get("/agent/dashboard").session(session)).andExpect(status().isOk());
+
+		userService.deleteUser(agent.getId());
+
+		mockMvc.perform(get("/agent/dashboard").session(session))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(redirectedUrl("http://localhost/login"));
+		assertThat(session.isInvalid()).isTrue();
+	}
+
+	@Test
+	void anUnknownEmailIsNotCached() {
+		String email = uniqueEmail();
+		assertThat(principalCache.get(email)).isEmpty();
+
+		// Saved behind the service's back, so nothing evicts the earlier miss.
+		userRepository.save(new User("Customer", email, PASSWORD, "CUSTOMER"));
+
+		assertThat(principalCache.get(email)).hasValueSatisfying(principal ->
+				assertThat(principal.getEmail()).isEqualTo(email));
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private MockHttpSession logIn(String email) throws Exception {
+		return (MockHttpSession) mockMvc.perform(formLogin("/login").user(email).password(PASSWORD))
+				.andExpect(redirectedUrl("/dashboard"))
+				.andReturn().getRequest().getSession(false);
+	}
+
+	private static String uniqueEmail() {
+		return "principal" + System.nanoTime() + "@example.com";
+	}
+}
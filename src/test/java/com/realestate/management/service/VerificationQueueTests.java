@@ -0,0 +1,220 @@
+package com.realestate.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.realestate.management.dto.ForgeryVerdict;
+import com.realestate.management.entity.Property;
+import com.realestate.management.entity.VerificationJob;
+import com.realestate.management.exception.ForgeryDetectionException;
+import com.realestate.management.repository.PropertyRepository;
+import com.realestate.management.repository.VerificationJobRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"verification.workers=2",
+		"verification.max-depth=3",
+		"verification.max-attempts=3",
+		"verification.backoff.initial=PT0.05S",
+		"verification.backoff.max=PT0.1S",
+		"verification.poll-interval=PT0.1S",
+		"verification.lease=PT1S"
+})
+class VerificationQueueTests {
+
+	@MockBean
+	private ForgeryDetectionClient detectionClient;
+
+	@Autowired
+	private VerificationQueue verificationQueue;
+
+	@Autowired
+	private VerificationJobRepository jobRepository;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private PropertyRepository propertyRepository;
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final List<CompletableFuture<ForgeryVerdict>> pending = new CopyOnWriteArrayList<>();
+
+	// The workers poll the shared test database, so they stop with this class. Closing the context instead
+	// would also close the JCache manager and drop the schema that the other cached contexts still use.
+	@AfterAll
+	static void stopWorkers(@Autowired VerificationQueue verificationQueue) {
+		verificationQueue.shutdown();
+	}
+
+	@BeforeEach
+	void clearJobs() {
+		jobRepository.deleteAll();
+	}
+
+	@AfterEach
+	void settleJobs() throws InterruptedException {
+		// Release workers still waiting on a check and leave nothing outstanding for the next test.
+		when(detectionClient.verify(anyString())).thenReturn(CompletableFuture.completedFuture(
+				new ForgeryVerdict(false, 0.0, 1.0)));
+		pending.forEach(check -> check.complete(new ForgeryVerdict(false, 0.0, 1.0)));
+		await(() -> jobRepository.countByStatusIn(List.of("QUEUED", "RUNNING")) == 0);
+		reset(detectionClient);
+		jobRepository.deleteAll();
+	}
+
+	@Test
+	void verdictIsAttachedToTheProperty() throws Exception {
+		String fileName = storeImage();
+		Property property = createProperty(fileName);
+		when(detectionClient.verify(fileName)).thenReturn(CompletableFuture.completedFuture(
+				new ForgeryVerdict(true, 0.91, 0.09)));
+
+		assertThat(verificationQueue.submit(property.getId(), fileName)).isTrue();
+
+		Property checked = awaitStatus(property.getId(), "FORGED");
+		assertThat(checked.getForgeryProbability()).isEqualTo(0.91);
+		assertThat(checked.getVerifiedAt()).isNotNull();
+		// Read through the service too: its cache was invalidated when the verdict was written.
+		assertThat(propertyService.getPropertyById(property.getId()).getVerificationStatus()).isEqualTo("FORGED");
+		assertThat(jobRepository.findAll()).extracting(VerificationJob::getStatus).containsExactly("SUCCEEDED");
+	}
+
+	@Test
+	void failingChecksAreRetriedThenDeadLettered() throws Exception {
+		String fileName = storeImage();
+		Property property = createProperty(fileName);
+		when(detectionClient.verify(fileName)).thenAnswer(call -> CompletableFuture.failedFuture(
+				new ForgeryDetectionException("Forgery detection failed: Model not loaded.", 500)));
+
+		verificationQueue.submit(property.getId(), fileName);
+
+		awaitStatus(property.getId(), "FAILED");
+		VerificationJob job = jobRepository.findAll().get(0);
+		assertThat(job.getStatus()).isEqualTo("DEAD");
+		assertThat(job.getAttempts()).isEqualTo(3);
+		assertThat(job.getLastError()).contains("Model not loaded.");
+		verify(detectionClient, times(3)).verify(fileName);
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> deadLetters = (List<Map<String, Object>>) verificationQueue.getStats().get("recentDeadLetters");
+		assertThat(deadLetters).extracting(entry -> entry.get("propertyId")).containsExactly(property.getId());
+	}
+
+	@Test
+	void clientErrorsAreNotRetried() throws Exception {
+		String fileName = storeImage();
+		Property property = createProperty(fileName);
+		when(detectionClient.verify(fileName)).thenAnswer(call -> CompletableFuture.failedFuture(
+				new ForgeryDetectionException("Forgery detection failed: Invalid image file.", 400)));
+
+		verificationQueue.submit(property.getId(), fileName);
+
+		awaitStatus(property.getId(), "FAILED");
+		assertThat(jobRepository.findAll().get(0).getAttempts()).isEqualTo(1);
+	}
+
+	@Test
+	void submissionsBeyondTheDepthLimitAreRejected() throws Exception {
+		// Checks that never finish keep every job outstanding.
+		when(detectionClient.verify(anyString())).thenAnswer(call -> {
+			CompletableFuture<ForgeryVerdict> check = new CompletableFuture<>();
+			pending.add(check);
+			return check;
+		});
+
+		for (int i = 0; i < 3; i++) {
+			String fileName = storeImage();
+			assertThat(verificationQueue.submit(createProperty(fileName).getId(), fileName)).isTrue();
+		}
+		String overflow = storeImage();
+		Property rejected = createProperty(overflow);
+
+		assertThat(verificationQueue.submit(rejected.getId(), overflow)).isFalse();
+		assertThat(propertyRepository.findById(rejected.getId()).orElseThrow().getVerificationStatus()).isNull();
+		// Each worker holds one job; the third waits, unclaimed by both.
+		await(() -> jobRepository.countByStatusIn(List.of("RUNNING")) == 2);
+		verify(detectionClient, atLeast(2)).verify(anyString());
+		assertThat(jobRepository.countByStatusIn(List.of("QUEUED"))).isEqualTo(1);
+	}
+
+	@Test
+	void aWorkerWhoseLeaseRanOutCannotOverwriteTheNewClaim() throws Exception {
+		String fileName = storeImage();
+		Property property = createProperty(fileName);
+		when(detectionClient.verify(fileName)).thenAnswer(call -> {
+			CompletableFuture<ForgeryVerdict> check = new CompletableFuture<>();
+			pending.add(check);
+			return check;
+		});
+		double staleBefore = meterRegistry.counter("verification.jobs", "outcome", "stale").count();
+
+		verificationQueue.submit(property.getId(), fileName);
+		// The first check outlives its one second lease and the other worker claims the job again.
+		await(() -> pending.size() == 2);
+		assertThat(jobRepository.findAll().get(0).getAttempts()).isEqualTo(2);
+
+		pending.get(0).complete(new ForgeryVerdict(true, 0.97, 0.03));
+		await(() -> meterRegistry.counter("verification.jobs", "outcome", "stale").count() > staleBefore);
+		VerificationJob job = jobRepository.findAll().get(0);
+		assertThat(job.getStatus()).isEqualTo("RUNNING");
+		assertThat(propertyRepository.findById(property.getId()).orElseThrow().getVerificationStatus()).isEqualTo("PENDING");
+
+		pending.get(1).complete(new ForgeryVerdict(false, 0.02, 0.98));
+		awaitStatus(property.getId(), "AUTHENTIC");
+		assertThat(jobRepository.findAll()).extracting(VerificationJob::getStatus).containsExactly("SUCCEEDED");
+	}
+
+	// ---------------- Helpers ---------------- //
+
+	private String storeImage() throws IOException {
+		byte[] image = ("image " + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+		return fileStorageService.storeContent(new ByteArrayInputStream(image), ".jpg");
+	}
+
+	private Property createProperty(String fileName) {
+		Property property = new Property("Verified listing", "Description", 300_000.0, "Checkville", 100.0,
+				"House", fileStorageService.toPublicUrl(fileName));
+		return propertyService.createProperty(property);
+	}
+
+	private Property awaitStatus(Long propertyId, String status) throws InterruptedException {
+		await(() -> status.equals(propertyRepository.findById(propertyId).orElseThrow().getVerificationStatus()));
+		return propertyRepository.findById(propertyId).orElseThrow();
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+			Thread.sleep(50);
+		}
+		assertThat(condition.getAsBoolean()).isTrue();
+	}
+}